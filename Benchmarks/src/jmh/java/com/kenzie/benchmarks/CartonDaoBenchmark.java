@@ -0,0 +1,47 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.threadsafety.icecream.dao.CartonDao;
+import com.kenzie.threadsafety.icecream.model.Carton;
+import com.kenzie.threadsafety.icecream.model.Flavor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of stocking cartons with CartonDao.addCarton and pulling them back out with getCartons.
+ * Each invocation adds exactly as many cartons as it removes, so the inventory stays the same size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CartonDaoBenchmark {
+    private static final List<Flavor> SUNDAE_FLAVORS = Arrays.asList(Flavor.VANILLA, Flavor.CHOCOLATE,
+            Flavor.STRAWBERRY);
+
+    private CartonDao cartonDao;
+
+    @Setup
+    public void setup() {
+        cartonDao = new CartonDao();
+        for (Flavor flavor : Flavor.values()) {
+            cartonDao.addCarton(Carton.makeCarton(flavor));
+        }
+    }
+
+    @Benchmark
+    public List<Carton> addThenGetCartons() {
+        for (Flavor flavor : SUNDAE_FLAVORS) {
+            cartonDao.addCarton(Carton.makeCarton(flavor));
+        }
+        return cartonDao.getCartons(SUNDAE_FLAVORS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+import com.kenzie.groupwork.complianceenforcer.ComplianceEnforcer;
+import com.kenzie.groupwork.complianceenforcer.ComplianceReport;
+import com.kenzie.groupwork.complianceenforcer.DeviceEnforcementOutcome;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * End-to-end ComplianceEnforcer cost against a zero-latency device simulator, which isolates the
+ * enforcer's own scheduling, model and comparison overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ComplianceEnforcerBenchmark {
+    private static final String CUSTOMER_ID = "1";
+    private static final int BATCH_CUSTOMERS = 100;
+
+    private ComplianceEnforcer enforcer;
+    private List<String> deviceIds;
+
+    @Setup
+    public void setup() {
+        enforcer = new ComplianceEnforcer(CustomerService.getClient(), new ZeroLatencyRingDeviceCommunicatorService());
+        deviceIds = CustomerService.getClient()
+                .getCustomerDevices(GetCustomerDevicesRequest.builder().withCustomerId(CUSTOMER_ID).build())
+                .getDeviceIds();
+    }
+
+    @TearDown
+    public void tearDown() {
+        enforcer.shutdown();
+    }
+
+    @Benchmark
+    public List<String> findUpdatesForCustomer() {
+        return enforcer.findUpdatesForCustomer(CUSTOMER_ID, KnownRingDeviceFirmwareVersions.PINKY);
+    }
+
+    @Benchmark
+    public List<String> updateDevices() {
+        return enforcer.updateDevices(deviceIds, KnownRingDeviceFirmwareVersions.PINKY);
+    }
+
+    @Benchmark
+    public List<DeviceEnforcementOutcome> enforceCompliance() {
+        return enforcer.enforceCompliance(CUSTOMER_ID, KnownRingDeviceFirmwareVersions.PINKY,
+                KnownRingDeviceFirmwareVersions.PINKY).getCompletion().join();
+    }
+
+    @Benchmark
+    public ComplianceReport findUpdatesForCustomers() {
+        return enforcer.findUpdatesForCustomers(IntStream.range(0, BATCH_CUSTOMERS).mapToObj(Integer::toString),
+                KnownRingDeviceFirmwareVersions.PINKY);
+    }
+}
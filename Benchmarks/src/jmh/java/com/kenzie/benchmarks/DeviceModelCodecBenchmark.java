@@ -0,0 +1,113 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelDecoder;
+import com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelEncoder;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a sweep's worth of update results with the binary codec versus Jackson JSON.
+ * The sweep encodes to about 10 KB in binary against about 108 KB of JSON; DeviceModelCodecTest checks the
+ * binary size for the same sweep, so the benchmark only reports times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class DeviceModelCodecBenchmark {
+    private static final int RESULTS = 1000;
+    private static final int DEVICES_PER_CUSTOMER = 18;
+    private static final TypeReference<List<UpdateDeviceFirmwareResponse>> RESULT_LIST =
+            new TypeReference<List<UpdateDeviceFirmwareResponse>>() { };
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .addMixIn(UpdateDeviceFirmwareResponse.class, UpdateResponseMixIn.class)
+            .addMixIn(UpdateDeviceFirmwareResponse.Builder.class, BuilderMixIn.class)
+            .addMixIn(RingDeviceFirmwareVersion.class, VersionMixIn.class)
+            .addMixIn(RingDeviceFirmwareVersion.Builder.class, BuilderMixIn.class);
+
+    private final List<UpdateDeviceFirmwareResponse> results = new ArrayList<>(RESULTS);
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer encoded;
+    private byte[] json;
+
+    @JsonDeserialize(builder = UpdateDeviceFirmwareResponse.Builder.class)
+    abstract static class UpdateResponseMixIn { }
+
+    @JsonDeserialize(builder = RingDeviceFirmwareVersion.Builder.class)
+    abstract static class VersionMixIn { }
+
+    @JsonPOJOBuilder(withPrefix = "with")
+    abstract static class BuilderMixIn { }
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        RingDeviceFirmwareVersion[] versions = {
+            KnownRingDeviceFirmwareVersions.PINKY,
+            KnownRingDeviceFirmwareVersions.INKY,
+            KnownRingDeviceFirmwareVersions.BLINKY
+        };
+        for (int i = 0; i < RESULTS; i++) {
+            results.add(UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId((1_000_000_000 + i / DEVICES_PER_CUSTOMER) + "-" + i % DEVICES_PER_CUSTOMER)
+                    .withVersion(versions[i % versions.length])
+                    .withWasSuccessful(i % 10 > 2)
+                    .build());
+        }
+        encodeBinary();
+        encoded = ByteBuffer.allocate(buffer.position());
+        buffer.flip();
+        encoded.put(buffer).flip();
+        json = encodeJson();
+    }
+
+    @Benchmark
+    public int encodeBinary() {
+        DeviceModelEncoder encoder = new DeviceModelEncoder();
+        buffer.clear();
+        for (UpdateDeviceFirmwareResponse result : results) {
+            encoder.encode(result, buffer);
+        }
+        return buffer.position();
+    }
+
+    @Benchmark
+    public List<UpdateDeviceFirmwareResponse> decodeBinary() {
+        DeviceModelDecoder decoder = new DeviceModelDecoder();
+        ByteBuffer input = encoded.duplicate();
+        List<UpdateDeviceFirmwareResponse> decoded = new ArrayList<>(RESULTS);
+        while (input.hasRemaining()) {
+            decoded.add(decoder.decodeUpdateResponse(input));
+        }
+        return decoded;
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(results);
+    }
+
+    @Benchmark
+    public List<UpdateDeviceFirmwareResponse> decodeJson() throws IOException {
+        return mapper.readValue(json, RESULT_LIST);
+    }
+}
@@ -0,0 +1,94 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.ata.concurrent.ExecutorProviders;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs many concurrent simulated device calls, each blocking for a fixed latency, on the executor
+ * from each ExecutorProviders mode, and reports how long the whole batch takes.
+ *
+ * The peakThreads counter shows how many platform threads each mode needed. Add -prof gc to the JMH
+ * arguments to also compare allocation per batch.
+ *
+ * The VIRTUAL run fails on runtimes older than Java 21 rather than quietly measuring the platform
+ * threads ExecutorProviders falls back to; pass -p mode=PLATFORM there.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ExecutorModeBenchmark {
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ExecutorProviders.Mode mode;
+
+    @Param({"10000"})
+    private int calls;
+
+    @Param({"10"})
+    private long latencyMillis;
+
+    /**
+     * Platform threads alive at the same time during the iteration.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ThreadCounters {
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        public int peakThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            THREADS.resetPeakThreadCount();
+            peakThreads = 0;
+        }
+
+        void record() {
+            peakThreads = Math.max(peakThreads, THREADS.getPeakThreadCount());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void checkMode() {
+        if (mode == ExecutorProviders.Mode.VIRTUAL && !ExecutorProviders.isVirtualThreadsSupported()) {
+            throw new IllegalStateException(String.format(
+                    "Virtual threads need Java 21 or later, but this is Java [%s]; run with -p mode=PLATFORM",
+                    System.getProperty("java.version")));
+        }
+    }
+
+    @Benchmark
+    public void simulatedDeviceCalls(ThreadCounters counters) throws InterruptedException {
+        ExecutorService executor = ExecutorProviders.forMode(mode, ExecutorProviders.platformThreads()).newExecutor();
+        CountDownLatch done = new CountDownLatch(calls);
+        for (int i = 0; i < calls; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        counters.record();
+        executor.shutdown();
+    }
+}
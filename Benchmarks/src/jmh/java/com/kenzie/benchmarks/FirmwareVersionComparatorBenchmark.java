@@ -0,0 +1,46 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+import com.kenzie.executorservices.ringupdatescheck.util.RingDeviceFirmwareVersionComparator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single firmware version comparison, the hottest CPU path of a compliance sweep.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class FirmwareVersionComparatorBenchmark {
+    private final RingDeviceFirmwareVersionComparator comparator = new RingDeviceFirmwareVersionComparator();
+    private final RingDeviceFirmwareVersion longVersion = RingDeviceFirmwareVersion.builder()
+            .withVersionNumber("12.1.43.22")
+            .build();
+    private final RingDeviceFirmwareVersion longVersionSibling = RingDeviceFirmwareVersion.builder()
+            .withVersionNumber("12.1.43.23")
+            .build();
+
+    @Benchmark
+    public int compareKnownVersions() {
+        return comparator.compare(KnownRingDeviceFirmwareVersions.INKY, KnownRingDeviceFirmwareVersions.PINKY);
+    }
+
+    @Benchmark
+    public int compareLongVersions() {
+        return comparator.compare(longVersion, longVersionSibling);
+    }
+
+    @Benchmark
+    public boolean needsUpdate() {
+        return KnownRingDeviceFirmwareVersions.needsUpdate(KnownRingDeviceFirmwareVersions.BLINKY,
+                KnownRingDeviceFirmwareVersions.PINKY);
+    }
+}
@@ -0,0 +1,53 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.threadsafety.icecream.FlavorRequestQueue;
+import com.kenzie.threadsafety.icecream.model.Flavor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Put/take cost of FlavorRequestQueue, from one thread and with several threads sharing a queue.
+ * Every take follows the same thread's put, so the queue is never empty when taken from and
+ * nextNeededFlavor never reaches its sleep.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlavorRequestQueueBenchmark {
+
+    /**
+     * Queue used by a single thread.
+     */
+    @State(Scope.Thread)
+    public static class PrivateQueue {
+        private final FlavorRequestQueue queue = new FlavorRequestQueue();
+    }
+
+    /**
+     * Queue shared by every benchmark thread.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedQueue {
+        private final FlavorRequestQueue queue = new FlavorRequestQueue();
+    }
+
+    @Benchmark
+    public Flavor putThenTake(PrivateQueue state) {
+        state.queue.needFlavor(Flavor.CHOCOLATE);
+        return state.queue.nextNeededFlavor();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Flavor putThenTakeContended(SharedQueue state) {
+        state.queue.needFlavor(Flavor.VANILLA);
+        return state.queue.nextNeededFlavor();
+    }
+}
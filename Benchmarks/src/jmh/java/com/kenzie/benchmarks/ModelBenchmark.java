@@ -0,0 +1,60 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder, hashCode and equals costs of the device-communication models.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ModelBenchmark {
+    private final String deviceId = "1234567-12";
+    private final RingDeviceSystemInfo systemInfo = buildSystemInfo();
+    private final RingDeviceSystemInfo equalSystemInfo = buildSystemInfo();
+    private final UpdateDeviceFirmwareResponse updateResponse = UpdateDeviceFirmwareResponse.builder()
+            .withDeviceId(deviceId)
+            .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+            .withWasSuccessful(true)
+            .build();
+
+    @Benchmark
+    public GetDeviceSystemInfoRequest buildRequest() {
+        return GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build();
+    }
+
+    @Benchmark
+    public RingDeviceSystemInfo buildSystemInfo() {
+        return RingDeviceSystemInfo.builder()
+                .withDeviceId(deviceId)
+                .withDeviceFirmwareVersion(KnownRingDeviceFirmwareVersions.INKY)
+                .build();
+    }
+
+    @Benchmark
+    public int systemInfoHashCode() {
+        return systemInfo.hashCode();
+    }
+
+    @Benchmark
+    public int updateResponseHashCode() {
+        return updateResponse.hashCode();
+    }
+
+    @Benchmark
+    public boolean systemInfoEquals() {
+        return systemInfo.equals(equalSystemInfo);
+    }
+}
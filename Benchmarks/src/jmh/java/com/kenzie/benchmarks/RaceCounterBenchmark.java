@@ -0,0 +1,50 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.ata.concurrent.ExecutorProvider;
+import com.kenzie.ata.concurrent.ExecutorProviders;
+import com.kenzie.threadsafety.counter.RaceCounter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a full RaceCounter run: submitting one task per count to a fresh thread pool, running them all
+ * and waiting for the pool to terminate. Waiting inside the measured method means no pool from one
+ * invocation is still running during the next.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RaceCounterBenchmark {
+    private static final long TERMINATION_TIMEOUT_SECONDS = 30;
+
+    @Param({"100", "10000"})
+    private int countTo;
+
+    private final ExecutorProvider configured = ExecutorProviders.fromConfiguration();
+    private ExecutorService lastExecutor;
+
+    @Benchmark
+    public int startCounter() throws InterruptedException {
+        RaceCounter counter = new RaceCounter(() -> lastExecutor = configured.newExecutor());
+        counter.startCounter(countTo);
+        // startCounter has already called shutdown(), so this waits for the submitted tasks to finish.
+        if (!lastExecutor.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(String.format("Counting to %d didn't finish in %d seconds",
+                    countTo, TERMINATION_TIMEOUT_SECONDS));
+        }
+        if (counter.getCounter() != countTo) {
+            throw new IllegalStateException(String.format("Counted to %d instead of %d",
+                    counter.getCounter(), countTo));
+        }
+        return counter.getCounter();
+    }
+}
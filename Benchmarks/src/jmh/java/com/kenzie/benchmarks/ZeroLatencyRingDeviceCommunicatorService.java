@@ -0,0 +1,42 @@
+package com.kenzie.benchmarks;
+
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+/**
+ * Device simulator that answers immediately and without logging, so benchmarks measure the
+ * caller's own overhead rather than simulated sleeps and console output.
+ */
+class ZeroLatencyRingDeviceCommunicatorService extends RingDeviceCommunicatorService {
+    private static final RingDeviceFirmwareVersion[] VERSIONS = {
+        KnownRingDeviceFirmwareVersions.PINKY,
+        KnownRingDeviceFirmwareVersions.INKY,
+        KnownRingDeviceFirmwareVersions.BLINKY
+    };
+
+    @Override
+    public GetDeviceSystemInfoResponse getDeviceSystemInfo(final GetDeviceSystemInfoRequest request) {
+        RingDeviceFirmwareVersion version = VERSIONS[Math.abs(request.getDeviceId().hashCode() % VERSIONS.length)];
+        return GetDeviceSystemInfoResponse.builder()
+                .withSystemInfo(RingDeviceSystemInfo.builder()
+                        .withDeviceId(request.getDeviceId())
+                        .withDeviceFirmwareVersion(version)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public UpdateDeviceFirmwareResponse updateDeviceFirmware(final UpdateDeviceFirmwareRequest request) {
+        return UpdateDeviceFirmwareResponse.builder()
+                .withDeviceId(request.getDeviceId())
+                .withVersion(request.getVersion())
+                .withWasSuccessful(request.getDeviceId().hashCode() % 10 > 2)
+                .build();
+    }
+}
@@ -1,10 +1,28 @@
 package com.kenzie.executorservices.notificationmanager;
 
+import com.kenzie.ata.concurrent.ExecutorProvider;
+import com.kenzie.ata.concurrent.ExecutorProviders;
+
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class NotificationManager {
+    private final ExecutorProvider executorProvider;
+
+    /**
+     * Creates a NotificationManager that runs tasks on the configured threading mode.
+     */
+    public NotificationManager() {
+        this(ExecutorProviders.fromConfiguration());
+    }
+
+    /**
+     * Creates a NotificationManager that runs tasks on executors from the given provider.
+     * @param executorProvider Supplies the executor for each batch of notifications
+     */
+    public NotificationManager(ExecutorProvider executorProvider) {
+        this.executorProvider = executorProvider;
+    }
 
     /**
      * Method called to send notifications out.
@@ -12,7 +30,7 @@ public class NotificationManager {
      */
     public void sendSaleNotificationsOut(List<NotificationTask> tasks) {
         //Implement this method
-        ExecutorService executor = Executors.newCachedThreadPool();
+        ExecutorService executor = executorProvider.newExecutor();
         tasks.stream().forEach(executor::submit);
         executor.shutdown();
     }
@@ -0,0 +1,94 @@
+package com.kenzie.executorservices.ringupdatescheck.checker;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a bounded, tracked DeviceChecker run over one customer's devices.
+ */
+public final class DeviceCheckSummary {
+    private final String customerId;
+    private final int deviceCount;
+    private final boolean listingComplete;
+    private final int checkedCount;
+    private final int updatedCount;
+    private final int failedCount;
+    private final int cancelledCount;
+    private final Map<String, Duration> latencies;
+
+    DeviceCheckSummary(String customerId, int deviceCount, boolean listingComplete, int checkedCount,
+                       int updatedCount, int failedCount, int cancelledCount, Map<String, Duration> latencies) {
+        this.customerId = customerId;
+        this.deviceCount = deviceCount;
+        this.listingComplete = listingComplete;
+        this.checkedCount = checkedCount;
+        this.updatedCount = updatedCount;
+        this.failedCount = failedCount;
+        this.cancelledCount = cancelledCount;
+        this.latencies = Collections.unmodifiableMap(latencies);
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * @return the number of the customer's devices that were listed, which is all of them only if
+     *         {@link #isListingComplete()}
+     */
+    public int getDeviceCount() {
+        return deviceCount;
+    }
+
+    /**
+     * @return true if every device the customer owns was listed, false if the deadline passed first and
+     *         the rest are unknown
+     */
+    public boolean isListingComplete() {
+        return listingComplete;
+    }
+
+    /**
+     * @return the number of devices whose check finished, whether or not they needed an update
+     */
+    public int getCheckedCount() {
+        return checkedCount;
+    }
+
+    /**
+     * @return the number of checked devices that were behind and whose firmware update succeeded before
+     *         the deadline
+     */
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+
+    /**
+     * @return the number of devices whose check threw an exception
+     */
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return the number of listed devices not checked because the deadline passed first
+     */
+    public int getCancelledCount() {
+        return cancelledCount;
+    }
+
+    /**
+     * @return how long each checked or failed device took, keyed by device ID
+     */
+    public Map<String, Duration> getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DeviceCheckSummary(customerId=%s, deviceCount=%d, listingComplete=%b, checked=%d, "
+                + "updated=%d, failed=%d, cancelled=%d)", customerId, deviceCount, listingComplete, checkedCount,
+                updatedCount, failedCount, cancelledCount);
+    }
+}
@@ -1,11 +1,14 @@
 package com.kenzie.executorservices.ringupdatescheck.checker;
 
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.FirmwareUpdateOutcome;
 import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
 import com.kenzie.executorservices.ringupdatescheck.util.RingDeviceFirmwareVersionComparator;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * A task to check a single device's version against a desired latest
  * version, requesting a firmware update if appropriate.
@@ -36,10 +39,19 @@ public class DeviceCheckTask implements Runnable{
 
     @Override
     public void run() {
+        check();
+    }
+
+    /**
+     * Checks the device's version, requesting a firmware update if it is behind.
+     * @return the requested update's outcome, or null if the device was already up to date
+     */
+    public CompletableFuture<FirmwareUpdateOutcome> check() {
         GetDeviceSystemInfoRequest request = GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build();
         GetDeviceSystemInfoResponse response = ringDeviceCommunicatorService.getDeviceSystemInfo(request);
        if(comparator.compare(response.getSystemInfo().getDeviceFirmwareVersion(), version) < 0){
-           deviceChecker.updateDevice(deviceId, version);
+           return deviceChecker.updateDevice(deviceId, version);
        }
+       return null;
     }
 }
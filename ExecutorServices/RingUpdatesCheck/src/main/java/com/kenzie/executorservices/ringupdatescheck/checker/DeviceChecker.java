@@ -1,15 +1,36 @@
 package com.kenzie.executorservices.ringupdatescheck.checker;
 
+import com.kenzie.ata.concurrent.ExecutorProvider;
+import com.kenzie.ata.concurrent.ExecutorProviders;
 import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
 import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerDeviceCache;
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerDevicePages;
 import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.FirmwareUpdateOutcome;
 import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
-import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Utility object for checking version status of devices, and updating
@@ -18,9 +39,15 @@ import java.util.concurrent.Executors;
  * For instructional purposes, two implementations of the same logic
  * will be created: checkDevicesIteratively, and checkDevicesConcurrently.
  */
-public class DeviceChecker {
+public class DeviceChecker implements AutoCloseable {
+    private static final Logger LOG = LogManager.getLogger(DeviceChecker.class);
+
     private final CustomerService customerService;
+    private final CustomerDeviceCache customerDevices;
     private final RingDeviceCommunicatorService ringDeviceCommunicatorService;
+    private final FirmwareUpdateDispatcher updateDispatcher;
+    private final ExecutorProvider executorProvider;
+    private final ExecutorService checkExecutor;
 
     /**
      * Constructs a DeviceChecker with the provided dependencies.
@@ -31,8 +58,45 @@ public class DeviceChecker {
      *                                      device communication operations
      */
     public DeviceChecker(CustomerService customerService, RingDeviceCommunicatorService ringDeviceCommunicatorService) {
+        this(customerService, ringDeviceCommunicatorService,
+                ExecutorProviders.fromConfiguration(ExecutorProviders.platformThreads(runnable -> {
+                    Thread thread = new Thread(runnable, "device-checker");
+                    thread.setDaemon(true);
+                    return thread;
+                })));
+    }
+
+    /**
+     * Constructs a DeviceChecker that runs its device checks on executors from the given provider.
+     * @param customerService The CustomerService client to use for Customer operations
+     * @param ringDeviceCommunicatorService The RingDeviceCommunicatorService client to use for
+     *                                      device communication operations
+     * @param executorProvider Supplies the executors device checks run on, e.g. platform or virtual threads
+     */
+    public DeviceChecker(CustomerService customerService, RingDeviceCommunicatorService ringDeviceCommunicatorService,
+                         ExecutorProvider executorProvider) {
+        this(customerService, ringDeviceCommunicatorService, executorProvider, null);
+    }
+
+    /**
+     * Constructs a DeviceChecker that looks customers' devices up through a cache.
+     * @param customerService The CustomerService client to use for Customer operations
+     * @param ringDeviceCommunicatorService The RingDeviceCommunicatorService client to use for
+     *                                      device communication operations
+     * @param executorProvider Supplies the executors device checks run on, e.g. platform or virtual threads
+     * @param customerDevices The cache of customers' devices, or null to call the CustomerService every time.
+     *                        With a cache, checkDevicesConcurrently with a bound reads the cached list instead
+     *                        of paging through the CustomerService.
+     */
+    public DeviceChecker(CustomerService customerService, RingDeviceCommunicatorService ringDeviceCommunicatorService,
+                         ExecutorProvider executorProvider, CustomerDeviceCache customerDevices) {
         this.customerService = customerService;
+        this.customerDevices = customerDevices;
         this.ringDeviceCommunicatorService = ringDeviceCommunicatorService;
+        this.executorProvider = executorProvider;
+        this.checkExecutor = executorProvider.newExecutor();
+        this.updateDispatcher = new FirmwareUpdateDispatcher(ringDeviceCommunicatorService,
+                FirmwareUpdateDispatcher.DEFAULT_MAX_CONCURRENT_UPDATES);
     }
 
     /**
@@ -43,9 +107,7 @@ public class DeviceChecker {
      */
     public int checkDevicesIteratively(final String customerId, RingDeviceFirmwareVersion version) {
         // PARTICIPANTS: implement in Phase 2
-        GetCustomerDevicesRequest request = GetCustomerDevicesRequest.builder().withCustomerId(customerId).build();
-        GetCustomerDevicesResponse response = customerService.getCustomerDevices(request);
-        List<String> devices = response.getDeviceIds();
+        List<String> devices = getCustomerDevices(customerId);
         int devicesChecked = 0;
         for(String deviceId: devices){
             DeviceCheckTask deviceCheckTask = new DeviceCheckTask(this, deviceId, version);
@@ -63,10 +125,8 @@ public class DeviceChecker {
      */
     public int checkDevicesConcurrently(final String customerId, RingDeviceFirmwareVersion version) {
         // PARTICIPANTS: implement in Phase 3
-        ExecutorService service = Executors.newCachedThreadPool();
-        GetCustomerDevicesRequest request = GetCustomerDevicesRequest.builder().withCustomerId(customerId).build();
-        GetCustomerDevicesResponse response = customerService.getCustomerDevices(request);
-        List<String> devices = response.getDeviceIds();
+        ExecutorService service = executorProvider.newExecutor();
+        List<String> devices = getCustomerDevices(customerId);
         int devicesChecked = 0;
         for(String deviceId: devices){
             DeviceCheckTask deviceCheckTask = new DeviceCheckTask(this, deviceId, version);
@@ -78,21 +138,189 @@ public class DeviceChecker {
 
     }
 
+    /**
+     * Concurrently checks all devices for the given customer, with at most maxInFlight checks running
+     * at once, and waits for them and any updates they request to finish. Devices are listed a page at
+     * a time, so checks start as soon as the first page arrives.
+     * @param customerId The customer to check devices for
+     * @param version The firmware version that we want all devices updated to
+     * @param maxInFlight The maximum number of device checks running at the same time
+     * @param deadline How long to wait for all checks, or null to wait as long as it takes. Checks still
+     *                 running or not yet started when it passes are cancelled, and no more devices are
+     *                 listed, so the customer's remaining devices are left unknown.
+     * @return A summary of how many devices were checked, updated, failed or cancelled, with per-device latencies
+     */
+    public DeviceCheckSummary checkDevicesConcurrently(final String customerId, RingDeviceFirmwareVersion version,
+                                                       int maxInFlight, Duration deadline) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(String.format("maxInFlight [%d] must be positive", maxInFlight));
+        }
+        Iterator<String> devices = customerDevices != null
+                ? customerDevices.getDevices(customerId).iterator()
+                : CustomerDevicePages.iterator(customerService, customerId, CustomerDevicePages.DEFAULT_PAGE_SIZE);
+
+        long deadlineNanos = deadline == null ? Long.MAX_VALUE : System.nanoTime() + deadline.toNanos();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicInteger checked = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Map<String, Duration> latencies = new ConcurrentHashMap<>();
+        List<TrackedCheck> checks = new ArrayList<>();
+        int listed = 0;
+        boolean listingComplete = false;
+
+        try {
+            while (true) {
+                if (!devices.hasNext()) {
+                    listingComplete = true;
+                    break;
+                }
+                String deviceId = devices.next();
+                listed++;
+                if (!acquireBefore(inFlight, deadlineNanos)) {
+                    break;
+                }
+                TrackedCheck check = new TrackedCheck();
+                try {
+                    check.future = checkExecutor.submit(() -> {
+                        long start = System.nanoTime();
+                        try {
+                            CompletableFuture<FirmwareUpdateOutcome> update =
+                                    new DeviceCheckTask(this, deviceId, version).check();
+                            if (check.settle()) {
+                                latencies.put(deviceId, Duration.ofNanos(System.nanoTime() - start));
+                                checked.incrementAndGet();
+                                check.update = update;
+                            }
+                        } catch (RuntimeException e) {
+                            if (check.settle()) {
+                                latencies.put(deviceId, Duration.ofNanos(System.nanoTime() - start));
+                                failed.incrementAndGet();
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // The check never started, so its permit is ours to give back; the device counts as cancelled.
+                    inFlight.release();
+                    LOG.warn("Device check for {} was rejected, no more devices will be checked", deviceId, e);
+                    break;
+                }
+                checks.add(check);
+            }
+
+            for (TrackedCheck check : checks) {
+                awaitBefore(check.future, deadlineNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Listed devices that were never started count as cancelled; unlisted ones are never fetched.
+        int cancelled = listed - checks.size();
+        for (TrackedCheck check : checks) {
+            if (check.settle()) {
+                check.future.cancel(true);
+                cancelled++;
+            }
+        }
+
+        int updated = 0;
+        for (TrackedCheck check : checks) {
+            CompletableFuture<FirmwareUpdateOutcome> update = check.update;
+            if (update == null || Thread.currentThread().isInterrupted()) {
+                continue;
+            }
+            try {
+                awaitBefore(update, deadlineNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (update.isDone() && !update.isCompletedExceptionally() && update.join().isSuccessful()) {
+                updated++;
+            }
+        }
+
+        return new DeviceCheckSummary(customerId, listed, listingComplete, checked.get(), updated, failed.get(),
+                cancelled, latencies);
+    }
+
+    /**
+     * Stops the threads this checker runs device checks and firmware updates on. Checks still running are
+     * interrupted and updates not yet sent fail.
+     */
+    @Override
+    public void close() {
+        checkExecutor.shutdownNow();
+        updateDispatcher.close();
+    }
+
+    /**
+     * Retrieves all the devices for a single customer, from the cache if this checker has one.
+     */
+    private List<String> getCustomerDevices(String customerId) {
+        if (customerDevices != null) {
+            return customerDevices.getDevices(customerId);
+        }
+        GetCustomerDevicesRequest request = GetCustomerDevicesRequest.builder().withCustomerId(customerId).build();
+        GetCustomerDevicesResponse response = customerService.getCustomerDevices(request);
+        return response.getDeviceIds();
+    }
+
+    private static boolean acquireBefore(Semaphore semaphore, long deadlineNanos) throws InterruptedException {
+        if (deadlineNanos == Long.MAX_VALUE) {
+            semaphore.acquire();
+            return true;
+        }
+        return semaphore.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void awaitBefore(Future<?> future, long deadlineNanos) throws InterruptedException {
+        try {
+            if (deadlineNanos == Long.MAX_VALUE) {
+                future.get();
+            } else {
+                future.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            // Checks record their own outcome and updates are inspected by the caller; anything unsettled
+            // when the deadline passes is cancelled or left uncounted.
+        }
+    }
+
+    /**
+     * One submitted device check. Exactly one of the check itself or the deadline gets to settle it,
+     * so a check that finishes just as it is being cancelled isn't counted twice.
+     */
+    private static final class TrackedCheck {
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private volatile Future<?> future;
+        private volatile CompletableFuture<FirmwareUpdateOutcome> update;
+
+        private boolean settle() {
+            return settled.compareAndSet(false, true);
+        }
+    }
+
     /**
      * Updates the device to the specified version.
      * @param deviceId The device identifier of the device to update
      * @param version The version the device should be updated to
+     * @return A future completed with the update's final outcome
      */
-    public void updateDevice(final String deviceId, final RingDeviceFirmwareVersion version) {
-        System.out.println(String.format("[DeviceChecker] Updating device %s to version %s", deviceId, version));
+    public CompletableFuture<FirmwareUpdateOutcome> updateDevice(final String deviceId,
+                                                                 final RingDeviceFirmwareVersion version) {
+        LOG.info("Updating device {} to version {}", deviceId, version);
 
         // PARTICIPANTS: add remaining implementation here in Phase 4
-        ExecutorService service = Executors.newCachedThreadPool();
-        service.submit(() -> {
-            ringDeviceCommunicatorService.updateDeviceFirmware(
-                    UpdateDeviceFirmwareRequest.builder().withDeviceId(deviceId).withVersion(version).build());
-        });
-        service.shutdown();
+        return updateDispatcher.update(deviceId, version);
+    }
+
+    /**
+     * @return the dispatcher that sends this checker's firmware updates, for tracking their results
+     */
+    public FirmwareUpdateDispatcher getUpdateDispatcher() {
+        return updateDispatcher;
     }
 
     public CustomerService getCustomerService() {
@@ -0,0 +1,254 @@
+package com.kenzie.executorservices.ringupdatescheck.checker;
+
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.FirmwareUpdateOutcome;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RetryPolicy;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RetryingFirmwareUpdater;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-lived dispatcher for device firmware updates.
+ *
+ * Only one update per device is ever in flight. A request for a device that is already being updated
+ * to the same version joins the existing update and gets the same future back; a request for a
+ * different version is queued behind it. New updates are queued and sent in the order they arrived
+ * the next time the queue is drained, on a fixed pool of worker threads that lives as long as the
+ * dispatcher, so no threads are created per update. Failed updates are retried with backoff by a
+ * RetryingFirmwareUpdater, and a device stays in flight until its retries are done.
+ */
+public class FirmwareUpdateDispatcher implements AutoCloseable {
+    public static final int DEFAULT_MAX_CONCURRENT_UPDATES = 32;
+
+    private final ExecutorService workers;
+    private final RetryingFirmwareUpdater updater;
+
+    private final Map<String, InFlightUpdate> inFlight = new ConcurrentHashMap<>();
+    private final Object pendingLock = new Object();
+    private List<InFlightUpdate> pending = new ArrayList<>();
+    private boolean drainScheduled;
+
+    private final AtomicLong requestedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong succeededCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final Map<String, FirmwareUpdateOutcome> lastResults = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a dispatcher that sends at most maxConcurrentUpdates firmware calls at a time, and
+     * retries failed updates with the default retry policy.
+     * @param ringDeviceCommunicatorService The client used to update devices
+     * @param maxConcurrentUpdates The number of worker threads
+     */
+    public FirmwareUpdateDispatcher(RingDeviceCommunicatorService ringDeviceCommunicatorService,
+                                    int maxConcurrentUpdates) {
+        this(ringDeviceCommunicatorService, maxConcurrentUpdates, RetryPolicy.defaults());
+    }
+
+    /**
+     * Creates a dispatcher that sends at most maxConcurrentUpdates firmware calls at a time.
+     * @param ringDeviceCommunicatorService The client used to update devices
+     * @param maxConcurrentUpdates The number of worker threads
+     * @param retryPolicy How failed updates are retried
+     */
+    public FirmwareUpdateDispatcher(RingDeviceCommunicatorService ringDeviceCommunicatorService,
+                                    int maxConcurrentUpdates, RetryPolicy retryPolicy) {
+        if (maxConcurrentUpdates < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "maxConcurrentUpdates [%d] must be positive", maxConcurrentUpdates));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentUpdates, maxConcurrentUpdates,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "firmware-update-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.workers = executor;
+        this.updater = new RetryingFirmwareUpdater(ringDeviceCommunicatorService, executor, retryPolicy);
+    }
+
+    /**
+     * Requests that a device be updated to a version.
+     * @param deviceId The device to update
+     * @param version The version the device should be updated to
+     * @return A future completed with the update's final outcome, shared with any other caller
+     *         requesting the same update while it is in flight
+     */
+    public CompletableFuture<FirmwareUpdateOutcome> update(String deviceId, RingDeviceFirmwareVersion version) {
+        requestedCount.incrementAndGet();
+        InFlightUpdate[] previous = new InFlightUpdate[1];
+        InFlightUpdate created = new InFlightUpdate(deviceId, version);
+        InFlightUpdate update = inFlight.compute(deviceId, (id, current) -> {
+            if (current != null && current.version.equals(version)) {
+                return current;
+            }
+            previous[0] = current;
+            return created;
+        });
+        if (update != created) {
+            coalescedCount.incrementAndGet();
+        } else if (previous[0] == null) {
+            enqueue(created);
+        } else {
+            previous[0].result.whenComplete((response, error) -> enqueue(created));
+        }
+        return update.result;
+    }
+
+    /**
+     * @return the number of devices with an update queued or in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * @return the number of update requests received, including ones that joined an existing update
+     */
+    public long getRequestedCount() {
+        return requestedCount.get();
+    }
+
+    /**
+     * @return the number of update requests that joined an update already in flight
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * @return the number of updates that eventually succeeded
+     */
+    public long getSucceededCount() {
+        return succeededCount.get();
+    }
+
+    /**
+     * @return the number of updates that still failed after using up their retries
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return the number of retries made across all updates
+     */
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * @param deviceId The device to look up
+     * @return the outcome of the device's most recent completed update, or null if it has none
+     */
+    public FirmwareUpdateOutcome getLastResult(String deviceId) {
+        return lastResults.get(deviceId);
+    }
+
+    /**
+     * Stops the worker threads. Queued updates that haven't been sent yet fail.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        inFlight.values().forEach(update -> update.result.completeExceptionally(
+                new RejectedExecutionException("FirmwareUpdateDispatcher has been closed")));
+    }
+
+    private void enqueue(InFlightUpdate update) {
+        boolean scheduleDrain;
+        synchronized (pendingLock) {
+            pending.add(update);
+            scheduleDrain = !drainScheduled;
+            drainScheduled = true;
+        }
+        if (scheduleDrain) {
+            execute(this::drain, update);
+        }
+    }
+
+    /**
+     * Sends every queued update.
+     */
+    private void drain() {
+        List<InFlightUpdate> updates;
+        synchronized (pendingLock) {
+            updates = pending;
+            pending = new ArrayList<>();
+            drainScheduled = false;
+        }
+        updates.forEach(this::send);
+    }
+
+    /**
+     * Sends one update. However the send ends, whether with an outcome, an exceptional future or a
+     * synchronous throw, the device leaves the in-flight map and its callers' future is completed.
+     */
+    private void send(InFlightUpdate update) {
+        CompletableFuture<FirmwareUpdateOutcome> sent;
+        try {
+            sent = updater.update(UpdateDeviceFirmwareRequest.builder()
+                    .withDeviceId(update.deviceId)
+                    .withVersion(update.version)
+                    .build());
+        } catch (RuntimeException e) {
+            sent = new CompletableFuture<>();
+            sent.completeExceptionally(e);
+        }
+        sent.whenComplete((outcome, error) -> {
+            finish(update);
+            if (error != null) {
+                failedCount.incrementAndGet();
+                update.result.completeExceptionally(error);
+                return;
+            }
+            (outcome.isSuccessful() ? succeededCount : failedCount).incrementAndGet();
+            retryCount.addAndGet(Math.max(0, outcome.getRetryCount()));
+            lastResults.put(update.deviceId, outcome);
+            update.result.complete(outcome);
+        });
+    }
+
+    private void execute(Runnable task, InFlightUpdate update) {
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            finish(update);
+            update.result.completeExceptionally(e);
+        }
+    }
+
+    private void finish(InFlightUpdate update) {
+        inFlight.remove(update.deviceId, update);
+    }
+
+    /**
+     * One device's queued or running update, shared by every caller that requested it.
+     */
+    private static final class InFlightUpdate {
+        private final String deviceId;
+        private final RingDeviceFirmwareVersion version;
+        private final CompletableFuture<FirmwareUpdateOutcome> result = new CompletableFuture<>();
+
+        private InFlightUpdate(String deviceId, RingDeviceFirmwareVersion version) {
+            this.deviceId = deviceId;
+            this.version = version;
+        }
+    }
+}
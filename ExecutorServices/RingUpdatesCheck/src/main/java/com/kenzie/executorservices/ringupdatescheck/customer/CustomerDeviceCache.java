@@ -0,0 +1,240 @@
+package com.kenzie.executorservices.ringupdatescheck.customer;
+
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Remembers which devices each customer owns.
+ *
+ * Device ownership rarely changes during a sweep, so lookups are answered from the cache, and the
+ * customers missing from it are fetched together with one getDevicesForCustomers call. Once an
+ * entry is older than the refresh interval, the next lookup still gets the cached devices
+ * immediately while fresh ones are fetched in the background (refresh-ahead). Stale customers are
+ * refreshed together: every customer that goes stale while a refresh is waiting or running joins the
+ * next getDevicesForCustomers call, so a sweep over many customers costs a few bulk calls rather than
+ * one call per customer. Entries older than the expiry are never returned, and the least recently used
+ * entries are evicted once the cache is full.
+ *
+ * Refreshes run on the executor passed in, or by default on one daemon thread shared by every cache.
+ */
+public class CustomerDeviceCache {
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final long DEFAULT_REFRESH_SECONDS = 60;
+    public static final long DEFAULT_EXPIRE_SECONDS = 600;
+
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "customer-device-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CustomerService customerService;
+    private final Executor refreshExecutor;
+    private final LoadingCache<String, List<String>> devicesByCustomer;
+    private final Map<String, SettableFuture<List<String>>> pendingRefreshes = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    /**
+     * Creates a cache in front of the given client, with the default size, refresh interval and expiry.
+     * @param customerService The client that answers cache misses and refreshes
+     */
+    public CustomerDeviceCache(CustomerService customerService) {
+        this(customerService, DEFAULT_MAXIMUM_SIZE, DEFAULT_REFRESH_SECONDS, DEFAULT_EXPIRE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a cache.
+     * @param customerService The client that answers cache misses and refreshes
+     * @param maximumSize The maximum number of customers kept in the cache
+     * @param refreshAfter How old an entry may get before a lookup triggers a background refresh
+     * @param expireAfter How old an entry may get before it is no longer returned; at least refreshAfter
+     * @param unit The unit of refreshAfter and expireAfter
+     */
+    public CustomerDeviceCache(CustomerService customerService, long maximumSize, long refreshAfter,
+                               long expireAfter, TimeUnit unit) {
+        this(customerService, maximumSize, refreshAfter, expireAfter, unit, REFRESH_EXECUTOR);
+    }
+
+    /**
+     * Creates a cache that refreshes on the given executor.
+     * @param customerService The client that answers cache misses and refreshes
+     * @param maximumSize The maximum number of customers kept in the cache
+     * @param refreshAfter How old an entry may get before a lookup triggers a background refresh
+     * @param expireAfter How old an entry may get before it is no longer returned; at least refreshAfter
+     * @param unit The unit of refreshAfter and expireAfter
+     * @param refreshExecutor Runs the bulk refreshes. Each cache has at most one refresh waiting on it at a time.
+     */
+    public CustomerDeviceCache(CustomerService customerService, long maximumSize, long refreshAfter,
+                               long expireAfter, TimeUnit unit, Executor refreshExecutor) {
+        this(customerService, maximumSize, refreshAfter, expireAfter, unit, refreshExecutor, Ticker.systemTicker());
+    }
+
+    CustomerDeviceCache(CustomerService customerService, long maximumSize, long refreshAfter, long expireAfter,
+                        TimeUnit unit, Executor refreshExecutor, Ticker ticker) {
+        if (maximumSize < 1 || refreshAfter < 1 || expireAfter < refreshAfter) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid customer device cache: maximumSize [%d], refreshAfter [%d], expireAfter [%d]",
+                    maximumSize, refreshAfter, expireAfter));
+        }
+        this.customerService = customerService;
+        this.refreshExecutor = refreshExecutor;
+        CacheLoader<String, List<String>> loader = new CacheLoader<String, List<String>>() {
+            @Override
+            public List<String> load(String customerId) {
+                // Response device lists are immutable, so they can be cached without a copy
+                return customerService.getCustomerDevices(GetCustomerDevicesRequest.builder()
+                        .withCustomerId(customerId)
+                        .build())
+                        .getDeviceIds();
+            }
+
+            @Override
+            public Map<String, List<String>> loadAll(Iterable<? extends String> customerIds) {
+                Map<String, List<String>> devices = new HashMap<>();
+                customerService.getDevicesForCustomers(ImmutableList.copyOf(customerIds))
+                        .forEach((customerId, deviceIds) -> devices.put(customerId, ImmutableList.copyOf(deviceIds)));
+                return devices;
+            }
+
+            @Override
+            public ListenableFuture<List<String>> reload(String customerId, List<String> oldDeviceIds) {
+                return scheduleRefresh(customerId);
+            }
+        };
+        this.devicesByCustomer = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter, unit)
+                .expireAfterWrite(expireAfter, unit)
+                .ticker(ticker)
+                .recordStats()
+                .build(loader);
+    }
+
+    /**
+     * @param customerId The customer to look up
+     * @return the IDs of the devices the customer owns
+     */
+    public List<String> getDevices(String customerId) {
+        try {
+            return devicesByCustomer.getUnchecked(customerId);
+        } catch (UncheckedExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * Looks up many customers, fetching every one not in the cache with a single bulk call.
+     * @param customerIds The customers to look up
+     * @return every requested customer mapped to the IDs of the devices it owns, in the order given
+     */
+    public Map<String, List<String>> getDevices(Collection<String> customerIds) {
+        try {
+            return devicesByCustomer.getAll(customerIds);
+        } catch (UncheckedExecutionException e) {
+            throw unwrap(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not look up customer devices", e.getCause());
+        }
+    }
+
+    /**
+     * Forgets a customer, so the next lookup fetches its devices again.
+     * @param customerId The customer to forget
+     */
+    public void invalidate(String customerId) {
+        devicesByCustomer.invalidate(customerId);
+    }
+
+    /**
+     * @return hit, miss, load and eviction counts since this cache was created
+     */
+    public CacheStats getStats() {
+        return devicesByCustomer.stats();
+    }
+
+    /**
+     * @return the approximate number of customers currently cached
+     */
+    public long size() {
+        return devicesByCustomer.size();
+    }
+
+    /**
+     * Adds a stale customer to the next bulk refresh, scheduling one if none is waiting.
+     */
+    private ListenableFuture<List<String>> scheduleRefresh(String customerId) {
+        SettableFuture<List<String>> refresh =
+                pendingRefreshes.computeIfAbsent(customerId, id -> SettableFuture.create());
+        if (refreshScheduled.compareAndSet(false, true)) {
+            try {
+                refreshExecutor.execute(this::refreshPending);
+            } catch (RejectedExecutionException e) {
+                refreshScheduled.set(false);
+                pendingRefreshes.remove(customerId, refresh);
+                refresh.setException(e);
+            }
+        }
+        return refresh;
+    }
+
+    /**
+     * Refreshes every customer waiting for one with a single bulk call. A failed refresh keeps the
+     * customers' cached devices until they expire or the next refresh succeeds.
+     */
+    private void refreshPending() {
+        // Cleared first, so a customer that goes stale while this batch is in flight schedules the next one.
+        refreshScheduled.set(false);
+        Map<String, SettableFuture<List<String>>> batch = new LinkedHashMap<>();
+        for (String customerId : pendingRefreshes.keySet()) {
+            SettableFuture<List<String>> refresh = pendingRefreshes.remove(customerId);
+            if (refresh != null) {
+                batch.put(customerId, refresh);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, List<String>> devices =
+                    customerService.getDevicesForCustomers(ImmutableList.copyOf(batch.keySet()));
+            batch.forEach((customerId, refresh) -> {
+                List<String> deviceIds = devices.get(customerId);
+                if (deviceIds == null) {
+                    refresh.setException(new IllegalStateException(String.format(
+                            "Bulk lookup returned no devices for customer [%s]", customerId)));
+                } else {
+                    refresh.set(ImmutableList.copyOf(deviceIds));
+                }
+            });
+        } catch (RuntimeException e) {
+            batch.values().forEach(refresh -> refresh.setException(e));
+        }
+    }
+
+    private static RuntimeException unwrap(UncheckedExecutionException e) {
+        return e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+}
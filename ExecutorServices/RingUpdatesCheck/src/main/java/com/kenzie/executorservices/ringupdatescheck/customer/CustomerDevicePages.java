@@ -0,0 +1,91 @@
+package com.kenzie.executorservices.ringupdatescheck.customer;
+
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks a customer's devices one page at a time.
+ *
+ * The next page is only requested from the CustomerService once every device ID on the current page
+ * has been handed out, so callers can start work on the first devices while the rest are still to be
+ * listed, and only one page of IDs is held at a time however many devices the customer owns.
+ */
+public final class CustomerDevicePages {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private CustomerDevicePages() {
+    }
+
+    /**
+     * @param customerService The client used to list devices
+     * @param customerId The customer whose devices to list
+     * @param pageSize The maximum number of device IDs to request at a time
+     * @return an iterator over the customer's device IDs that fetches pages as it goes
+     */
+    public static Iterator<String> iterator(CustomerService customerService, String customerId, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException(String.format("pageSize [%d] must be positive", pageSize));
+        }
+        return new PageIterator(customerService, customerId, pageSize);
+    }
+
+    /**
+     * @param customerService The client used to list devices
+     * @param customerId The customer whose devices to list
+     * @param pageSize The maximum number of device IDs to request at a time
+     * @return a sequential stream of the customer's device IDs that fetches pages as it is consumed
+     */
+    public static Stream<String> stream(CustomerService customerService, String customerId, int pageSize) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                iterator(customerService, customerId, pageSize), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static final class PageIterator implements Iterator<String> {
+        private final CustomerService customerService;
+        private final String customerId;
+        private final int pageSize;
+
+        private Iterator<String> page = Collections.emptyIterator();
+        private String nextToken;
+        private boolean lastPageFetched;
+
+        private PageIterator(CustomerService customerService, String customerId, int pageSize) {
+            this.customerService = customerService;
+            this.customerId = customerId;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // A page may legitimately be empty, so keep fetching until one has devices or there are no more.
+            while (!page.hasNext() && !lastPageFetched) {
+                GetCustomerDevicesResponse response = customerService.getCustomerDevices(
+                        GetCustomerDevicesRequest.builder()
+                                .withCustomerId(customerId)
+                                .withMaxResults(pageSize)
+                                .withNextToken(nextToken)
+                                .build());
+                page = response.getDeviceIds().iterator();
+                nextToken = response.getNextToken();
+                lastPageFetched = nextToken == null;
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+    }
+}
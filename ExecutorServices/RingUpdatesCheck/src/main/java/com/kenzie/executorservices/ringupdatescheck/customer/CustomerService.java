@@ -2,10 +2,16 @@ package com.kenzie.executorservices.ringupdatescheck.customer;
 
 import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
 import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.DeviceId;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 /**
  * Mocks the RingCustomerService, allowing access to customer
@@ -30,18 +36,121 @@ public class CustomerService {
         return SINGLETON;
     }
 
+    /**
+     * Returns the IDs of the devices the customer owns. If the request sets maxResults, only that
+     * many are returned, starting where the request's nextToken says, and the response's nextToken
+     * is set while there are more to fetch. Without maxResults every device is returned at once.
+     * CustomerDevicePages fetches the pages lazily one after another.
+     * @param request The request containing the customer ID and optional page settings
+     * @return The response containing the device IDs
+     * @throws IllegalArgumentException if maxResults isn't positive or nextToken wasn't returned by this service
+     */
     public GetCustomerDevicesResponse getCustomerDevices(final GetCustomerDevicesRequest request) {
-        int rootDeviceId = Math.abs(Objects.hash(request.getCustomerId()));
-        int numDevices = MIN_DEVICES + rootDeviceId % MAX_INCREMENTAL_DEVICES;
-        List<String> deviceIds = new ArrayList<>(numDevices);
+        int rootDeviceId = rootDeviceId(request.getCustomerId());
+        int numDevices = deviceCount(rootDeviceId);
 
-        for (int i = 0; i < numDevices; i++) {
-            deviceIds.add(String.format("%d-%d", rootDeviceId, i));
+        int start = parseNextToken(request.getNextToken(), numDevices);
+        int end = numDevices;
+        if (request.getMaxResults() != null) {
+            if (request.getMaxResults() < 1) {
+                throw new IllegalArgumentException(String.format("maxResults [%d] must be positive",
+                        request.getMaxResults()));
+            }
+            end = (int) Math.min(numDevices, (long) start + request.getMaxResults());
         }
 
         return GetCustomerDevicesResponse.builder()
                 .withCustomerId(request.getCustomerId())
-                .withDeviceIds(deviceIds)
+                .withOwnedDeviceIds(deviceIds(rootDeviceId, start, end))
+                .withNextToken(end < numDevices ? Integer.toString(end) : null)
                 .build();
     }
+
+    /**
+     * Returns the device IDs of many customers in a single round trip.
+     * @param customerIds The customers to look up
+     * @return Every requested customer mapped to the IDs of the devices it owns, in the order the
+     *         customers were given. Duplicate customer IDs appear once.
+     */
+    public Map<String, List<String>> getDevicesForCustomers(final Collection<String> customerIds) {
+        Map<String, List<String>> devicesByCustomer = new LinkedHashMap<>();
+        for (String customerId : customerIds) {
+            int rootDeviceId = rootDeviceId(customerId);
+            devicesByCustomer.computeIfAbsent(customerId,
+                    id -> deviceIds(rootDeviceId, 0, deviceCount(rootDeviceId)));
+        }
+        return devicesByCustomer;
+    }
+
+    /**
+     * Returns the customer's devices as compact IDs, without building a string per device. The list
+     * computes each DeviceId when it is read, so it takes the same small amount of memory however many
+     * devices the customer owns.
+     * @param customerId The customer to look up
+     * @return the customer's device IDs, in the same order as getCustomerDevices returns them
+     */
+    public List<DeviceId> getCompactDeviceIds(final String customerId) {
+        int rootDeviceId = rootDeviceId(customerId);
+        int numDevices = deviceCount(rootDeviceId);
+        return new DeviceIdRange(rootDeviceId, numDevices);
+    }
+
+    private static int rootDeviceId(String customerId) {
+        // Math.abs leaves Integer.MIN_VALUE negative; the mask maps that one hash to 0 and no other.
+        return Math.abs(Objects.hash(customerId)) & Integer.MAX_VALUE;
+    }
+
+    private static int deviceCount(int rootDeviceId) {
+        return MIN_DEVICES + rootDeviceId % MAX_INCREMENTAL_DEVICES;
+    }
+
+    private static List<String> deviceIds(int rootDeviceId, int start, int end) {
+        List<String> deviceIds = new ArrayList<>(end - start);
+        String devicePrefix = rootDeviceId + "-";
+        for (int i = start; i < end; i++) {
+            deviceIds.add(devicePrefix + i);
+        }
+        return deviceIds;
+    }
+
+    private static int parseNextToken(String nextToken, int numDevices) {
+        if (nextToken == null) {
+            return 0;
+        }
+        try {
+            int start = Integer.parseInt(nextToken);
+            if (start >= 0 && start <= numDevices) {
+                return start;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the other invalid tokens.
+        }
+        throw new IllegalArgumentException(String.format("Invalid nextToken [%s]", nextToken));
+    }
+
+    /**
+     * The devices 0 to size - 1 under one root device ID.
+     */
+    private static final class DeviceIdRange extends AbstractList<DeviceId> implements RandomAccess {
+        private final int rootDeviceId;
+        private final int size;
+
+        private DeviceIdRange(int rootDeviceId, int size) {
+            this.rootDeviceId = rootDeviceId;
+            this.size = size;
+        }
+
+        @Override
+        public DeviceId get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(String.format("Index [%d], size [%d]", index, size));
+            }
+            return DeviceId.of(rootDeviceId, index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+/**
+ * Concurrency limit that adapts to how the service is coping, using additive increase and
+ * multiplicative decrease (AIMD).
+ *
+ * Callers take a slot before each call and give it back afterwards, saying whether the call showed
+ * signs of overload (it was slower than its latency threshold, or failed). Each healthy call while
+ * the limit is in use raises the limit by 1/limit, so it grows by about one per limit's worth of
+ * calls; each overloaded call cuts it by the decrease factor. The limit therefore settles just
+ * below the concurrency at which the service starts to slow down.
+ */
+public class AdaptiveConcurrencyLimiter {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final double DEFAULT_DECREASE_FACTOR = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double decreaseFactor;
+
+    private double limit;
+    private int inFlight;
+
+    /**
+     * Creates a limiter with the default limits.
+     */
+    public AdaptiveConcurrencyLimiter() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_DECREASE_FACTOR);
+    }
+
+    /**
+     * Creates a limiter.
+     * @param initialLimit The limit to start with
+     * @param minLimit The lowest the limit can be cut to
+     * @param maxLimit The highest the limit can grow to
+     * @param decreaseFactor What the limit is multiplied by after an overloaded call, between 0 and 1
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double decreaseFactor) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit
+                || !(decreaseFactor > 0 && decreaseFactor < 1)) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid limits: initialLimit [%d], minLimit [%d], maxLimit [%d], decreaseFactor [%s]",
+                    initialLimit, minLimit, maxLimit, decreaseFactor));
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.decreaseFactor = decreaseFactor;
+    }
+
+    /**
+     * Takes a slot, waiting until the number of calls in flight is below the current limit.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (inFlight >= (int) limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * Gives back a slot and adjusts the limit.
+     * @param overloaded Whether the call was slower than expected or failed
+     */
+    public synchronized void release(boolean overloaded) {
+        inFlight--;
+        if (overloaded) {
+            limit = Math.max(minLimit, limit * decreaseFactor);
+        } else if (inFlight + 1 >= limit / 2) {
+            // Only grow when the limit is actually being used, so idle periods don't inflate it.
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        notifyAll();
+    }
+
+    /**
+     * @return the current limit, rounded down to whole calls
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,165 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking client for the RingDeviceCommunicatorService.
+ *
+ * Returns the same responses, after the same simulated latency, as the blocking client. Instead of
+ * parking a thread in Thread.sleep for every call, each response is scheduled to complete its future
+ * once the latency has elapsed, so a handful of scheduler threads can serve any number of calls in flight.
+ *
+ * Use the static method, getClient(), to obtain a shared instance, or construct one with its own
+ * scheduler and close() it when done. The shared instance can't be closed.
+ *
+ * Futures are completed on the scheduler threads, so dependent stages added with thenApply, thenAccept
+ * and the like run there too. Those stages must not block: a blocked scheduler thread delays every
+ * other simulated response. Use the *Async variants with your own executor for blocking work.
+ */
+public class AsyncRingDeviceCommunicatorService implements AutoCloseable {
+    private static final int DEFAULT_SCHEDULER_THREADS = 2;
+
+    private static final AsyncRingDeviceCommunicatorService SINGLETON =
+            new AsyncRingDeviceCommunicatorService(RingDeviceCommunicatorService.getClient(),
+                    DEFAULT_SCHEDULER_THREADS, true);
+
+    private final RingDeviceCommunicatorService simulator;
+    private final ScheduledExecutorService scheduler;
+    private final boolean shared;
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Creates a client with its own scheduler.
+     * @param schedulerThreads The number of threads used to complete responses.
+     */
+    public AsyncRingDeviceCommunicatorService(int schedulerThreads) {
+        this(RingDeviceCommunicatorService.getClient(), schedulerThreads);
+    }
+
+    /**
+     * Creates a client with its own scheduler that simulates devices the same way as the given client.
+     * @param simulator The blocking client whose latencies and responses to reproduce
+     * @param schedulerThreads The number of threads used to complete responses.
+     */
+    public AsyncRingDeviceCommunicatorService(RingDeviceCommunicatorService simulator, int schedulerThreads) {
+        this(simulator, schedulerThreads, false);
+    }
+
+    private AsyncRingDeviceCommunicatorService(RingDeviceCommunicatorService simulator, int schedulerThreads,
+                                               boolean shared) {
+        this.simulator = simulator;
+        this.shared = shared;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(schedulerThreads, daemonThreadFactory());
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+    }
+
+    /**
+     * Returns a shared client to use against the RingDeviceCommunicatorService.
+     * @return a service client
+     */
+    public static AsyncRingDeviceCommunicatorService getClient() {
+        return SINGLETON;
+    }
+
+    /**
+     * Requests the system info for a device.
+     * @param request The request containing the device identifier
+     * @return A future completed with the device's system info once the device answers
+     */
+    public CompletableFuture<GetDeviceSystemInfoResponse> getDeviceSystemInfo(
+            final GetDeviceSystemInfoRequest request) {
+        simulator.log("Received system info request for device {}", request.getDeviceId());
+        return completeAfter(simulator.systemInfoLatencyMillis(request), () -> {
+            simulator.log("Returned system info response for device {}", request.getDeviceId());
+            return simulator.systemInfoResponse(request);
+        });
+    }
+
+    /**
+     * Requests a firmware update for a device.
+     * @param request The request specifying device and firmware version
+     * @return A future completed with the update's success status once the device answers
+     */
+    public CompletableFuture<UpdateDeviceFirmwareResponse> updateDeviceFirmware(
+            final UpdateDeviceFirmwareRequest request) {
+        simulator.log("Received request to upgrade device {} to version {}",
+                request.getDeviceId(), request.getVersion());
+        return completeAfter(simulator.updateLatencyMillis(request), () -> {
+            UpdateDeviceFirmwareResponse response = simulator.updateResponse(request);
+            simulator.log("{} request to upgrade device {} to version {}",
+                    response.isWasSuccessful() ? "Completed" : "Failed",
+                    request.getDeviceId(),
+                    request.getVersion());
+            return response;
+        });
+    }
+
+    /**
+     * Stops the scheduler. Futures that haven't completed yet are completed exceptionally with a
+     * RejectedExecutionException, and calls made afterwards return futures that already failed that way.
+     * @throws UnsupportedOperationException if this is the shared client returned by getClient()
+     */
+    @Override
+    public void close() {
+        if (shared) {
+            throw new UnsupportedOperationException("The shared client can't be closed");
+        }
+        closed = true;
+        scheduler.shutdownNow();
+        RejectedExecutionException closedError = new RejectedExecutionException("Client closed");
+        for (CompletableFuture<?> future : pending) {
+            future.completeExceptionally(closedError);
+        }
+        pending.clear();
+    }
+
+    private <T> CompletableFuture<T> completeAfter(long delayMillis, Supplier<T> response) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new RejectedExecutionException("Client closed"));
+            return future;
+        }
+        // Registered before scheduling, so close() either fails it or the scheduler rejects it below.
+        pending.add(future);
+        try {
+            scheduler.schedule(() -> {
+                try {
+                    future.complete(response.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    pending.remove(future);
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.remove(future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "ring-device-async-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
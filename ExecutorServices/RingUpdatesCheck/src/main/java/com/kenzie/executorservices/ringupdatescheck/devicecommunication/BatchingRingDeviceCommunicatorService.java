@@ -0,0 +1,174 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drop-in RingDeviceCommunicatorService that merges concurrent getDeviceSystemInfo calls into
+ * getDeviceSystemInfoBatch calls.
+ *
+ * The first caller to arrive opens a batch window and becomes its leader. Every caller arriving
+ * before the window closes joins that batch, and callers asking for the same device share one slot.
+ * The leader sends the batch when the window elapses or the batch is full, on its own thread, and
+ * each caller gets back its own GetDeviceSystemInfoResponse as if it had made a single call.
+ * Firmware updates are passed straight through to the delegate.
+ *
+ * Hand an instance of this to DeviceChecker or ComplianceEnforcer in place of the plain client.
+ */
+public class BatchingRingDeviceCommunicatorService extends RingDeviceCommunicatorService {
+    public static final long DEFAULT_WINDOW_MILLIS = 5;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final RingDeviceCommunicatorService delegate;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private PendingBatch openBatch;
+
+    /**
+     * Creates a batching client in front of the shared service client, with the default window and batch size.
+     */
+    public BatchingRingDeviceCommunicatorService() {
+        this(RingDeviceCommunicatorService.getClient(), DEFAULT_WINDOW_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a batching client.
+     * @param delegate The client that receives the merged batch calls
+     * @param windowMillis How long a batch stays open for more callers after the first one arrives
+     * @param maxBatchSize The number of distinct devices at which a batch is sent without waiting
+     */
+    public BatchingRingDeviceCommunicatorService(RingDeviceCommunicatorService delegate, long windowMillis,
+                                                 int maxBatchSize) {
+        if (windowMillis < 0 || maxBatchSize < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "windowMillis [%d] must not be negative and maxBatchSize [%d] must be positive",
+                    windowMillis, maxBatchSize));
+        }
+        this.delegate = delegate;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public GetDeviceSystemInfoResponse getDeviceSystemInfo(final GetDeviceSystemInfoRequest request) {
+        PendingBatch batch;
+        CompletableFuture<RingDeviceSystemInfo> result;
+        boolean leader;
+        synchronized (lock) {
+            leader = openBatch == null;
+            if (leader) {
+                openBatch = new PendingBatch();
+            }
+            batch = openBatch;
+            result = batch.join(request.getDeviceId());
+            if (batch.size() >= maxBatchSize) {
+                openBatch = null;
+                batch.full.countDown();
+            }
+        }
+
+        if (leader) {
+            awaitWindow(batch);
+            synchronized (lock) {
+                if (openBatch == batch) {
+                    openBatch = null;
+                }
+            }
+            send(batch);
+        }
+
+        try {
+            return GetDeviceSystemInfoResponse.builder()
+                    .withSystemInfo(result.join())
+                    .build();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public GetDeviceSystemInfoBatchResponse getDeviceSystemInfoBatch(final GetDeviceSystemInfoBatchRequest request) {
+        return delegate.getDeviceSystemInfoBatch(request);
+    }
+
+    @Override
+    public UpdateDeviceFirmwareResponse updateDeviceFirmware(final UpdateDeviceFirmwareRequest request) {
+        return delegate.updateDeviceFirmware(request);
+    }
+
+    /**
+     * @return the delegate's simulation, since the delegate answers every call
+     */
+    @Override
+    public DeviceSimulation getSimulation() {
+        return delegate.getSimulation();
+    }
+
+    private void awaitWindow(PendingBatch batch) {
+        try {
+            batch.full.await(windowMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(PendingBatch batch) {
+        try {
+            GetDeviceSystemInfoBatchResponse response = delegate.getDeviceSystemInfoBatch(
+                    GetDeviceSystemInfoBatchRequest.builder()
+                            .withDeviceIds(new ArrayList<>(batch.results.keySet()))
+                            .build());
+            for (RingDeviceSystemInfo info : response.getSystemInfos()) {
+                CompletableFuture<RingDeviceSystemInfo> result = batch.results.get(info.getDeviceId());
+                if (result != null) {
+                    result.complete(info);
+                }
+            }
+            response.getErrors().forEach((deviceId, error) -> {
+                CompletableFuture<RingDeviceSystemInfo> result = batch.results.get(deviceId);
+                if (result != null) {
+                    result.completeExceptionally(new IllegalStateException(error));
+                }
+            });
+            batch.results.forEach((deviceId, result) -> result.completeExceptionally(new IllegalStateException(
+                    String.format("Batch response did not include device %s", deviceId))));
+        } catch (RuntimeException e) {
+            batch.results.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * The devices requested during one batch window. Only modified while holding the client's lock,
+     * and only read by the leader after the batch has been closed.
+     */
+    private static final class PendingBatch {
+        private final Map<String, CompletableFuture<RingDeviceSystemInfo>> results = new LinkedHashMap<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        private CompletableFuture<RingDeviceSystemInfo> join(String deviceId) {
+            return results.computeIfAbsent(deviceId, id -> new CompletableFuture<>());
+        }
+
+        private int size() {
+            return results.size();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drop-in RingDeviceCommunicatorService that remembers each device's system info.
+ *
+ * A device's firmware only changes when we update it, so getDeviceSystemInfo is answered from the
+ * cache when the device was seen recently, and only goes to the delegate on a miss. Entries expire
+ * after a time-to-live and the least recently used entries are evicted once the cache is full.
+ * A successful firmware update overwrites the device's entry with the new version; an unsuccessful
+ * one, or one that throws, removes it, since the device's state is then unknown.
+ *
+ * Hand an instance of this to DeviceChecker or ComplianceEnforcer in place of the plain client.
+ */
+public class CachingRingDeviceCommunicatorService extends RingDeviceCommunicatorService {
+    public static final long DEFAULT_MAXIMUM_SIZE = 100_000;
+    public static final long DEFAULT_TTL_SECONDS = 300;
+
+    private final RingDeviceCommunicatorService delegate;
+    private final LoadingCache<String, RingDeviceSystemInfo> systemInfoCache;
+
+    /**
+     * Creates a caching client in front of the shared service client, with the default size and time-to-live.
+     */
+    public CachingRingDeviceCommunicatorService() {
+        this(RingDeviceCommunicatorService.getClient(), DEFAULT_MAXIMUM_SIZE, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a caching client.
+     * @param delegate The client that answers cache misses and firmware updates
+     * @param maximumSize The maximum number of devices kept in the cache
+     * @param ttl How long an entry stays valid after it was written
+     * @param ttlUnit The unit of ttl
+     */
+    public CachingRingDeviceCommunicatorService(RingDeviceCommunicatorService delegate, long maximumSize,
+                                                long ttl, TimeUnit ttlUnit) {
+        this(delegate, maximumSize, ttl, ttlUnit, Ticker.systemTicker());
+    }
+
+    CachingRingDeviceCommunicatorService(RingDeviceCommunicatorService delegate, long maximumSize,
+                                         long ttl, TimeUnit ttlUnit, Ticker ticker) {
+        this.delegate = delegate;
+        this.systemInfoCache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl, ttlUnit)
+                .ticker(ticker)
+                .recordStats()
+                .build(new CacheLoader<String, RingDeviceSystemInfo>() {
+                    @Override
+                    public RingDeviceSystemInfo load(String deviceId) {
+                        return delegate.getDeviceSystemInfo(GetDeviceSystemInfoRequest.builder()
+                                .withDeviceId(deviceId)
+                                .build()).getSystemInfo();
+                    }
+                });
+    }
+
+    @Override
+    public GetDeviceSystemInfoResponse getDeviceSystemInfo(final GetDeviceSystemInfoRequest request) {
+        try {
+            return GetDeviceSystemInfoResponse.builder()
+                    .withSystemInfo(systemInfoCache.getUnchecked(request.getDeviceId()))
+                    .build();
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public GetDeviceSystemInfoBatchResponse getDeviceSystemInfoBatch(final GetDeviceSystemInfoBatchRequest request) {
+        GetDeviceSystemInfoBatchResponse response = delegate.getDeviceSystemInfoBatch(request);
+        response.getSystemInfos().forEach(info -> systemInfoCache.put(info.getDeviceId(), info));
+        return response;
+    }
+
+    @Override
+    public UpdateDeviceFirmwareResponse updateDeviceFirmware(final UpdateDeviceFirmwareRequest request) {
+        UpdateDeviceFirmwareResponse response = null;
+        try {
+            response = delegate.updateDeviceFirmware(request);
+            return response;
+        } finally {
+            // A call that threw leaves the device's state as unknown as an unsuccessful one.
+            if (response != null && response.isWasSuccessful()) {
+                systemInfoCache.put(response.getDeviceId(), RingDeviceSystemInfo.builder()
+                        .withDeviceId(response.getDeviceId())
+                        .withDeviceFirmwareVersion(response.getVersion())
+                        .build());
+            } else {
+                systemInfoCache.invalidate(response == null ? request.getDeviceId() : response.getDeviceId());
+            }
+        }
+    }
+
+    /**
+     * @return the delegate's simulation, since the delegate answers every call
+     */
+    @Override
+    public DeviceSimulation getSimulation() {
+        return delegate.getSimulation();
+    }
+
+    /**
+     * Removes a device from the cache, so its next system info request goes to the device.
+     * @param deviceId The device to forget
+     */
+    public void invalidate(String deviceId) {
+        systemInfoCache.invalidate(deviceId);
+    }
+
+    /**
+     * @return hit, miss and eviction counts since this client was created
+     */
+    public CacheStats getStats() {
+        return systemInfoCache.stats();
+    }
+
+    /**
+     * @return the approximate number of devices currently cached
+     */
+    public long size() {
+        return systemInfoCache.size();
+    }
+}
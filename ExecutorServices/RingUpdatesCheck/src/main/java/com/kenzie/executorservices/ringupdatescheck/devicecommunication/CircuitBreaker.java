@@ -0,0 +1,200 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * While CLOSED, the outcome of the most recent calls is kept in a sliding window. Once the window
+ * holds at least the minimum number of calls and the share that failed reaches the threshold, the
+ * breaker OPENs and every call is refused for the open duration. After that it goes HALF_OPEN and
+ * lets a few trial calls through: if they all succeed the breaker closes again with an empty window,
+ * and if any fails it re-opens.
+ *
+ * Every state change starts a new generation, and each permission carries the generation that granted
+ * it. An outcome is only recorded if its permission is from the current generation, so a slow call that
+ * started before the breaker opened can't count as a half-open trial or land in the fresh window.
+ */
+public class CircuitBreaker {
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final int DEFAULT_WINDOW_SIZE = 20;
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(5);
+    public static final int DEFAULT_HALF_OPEN_TRIAL_CALLS = 3;
+    /** Returned by tryAcquirePermission when the breaker is refusing calls. */
+    public static final long NO_PERMISSION = -1;
+
+    /**
+     * Whether calls are currently allowed through.
+     */
+    public enum State {
+        /** Calls go through and their outcomes are recorded. */
+        CLOSED,
+        /** Calls are refused until the open duration has passed. */
+        OPEN,
+        /** A limited number of trial calls go through to probe whether the service has recovered. */
+        HALF_OPEN
+    }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenTrialCalls;
+    private final LongSupplier nanoTime;
+
+    private final boolean[] window;
+    private int windowCount;
+    private int windowNext;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAtNanos;
+    private int trialCallsStarted;
+    private int trialCallsSucceeded;
+
+    /**
+     * Creates a breaker with the default thresholds.
+     */
+    public CircuitBreaker() {
+        this(DEFAULT_FAILURE_RATE_THRESHOLD, DEFAULT_WINDOW_SIZE, DEFAULT_MINIMUM_CALLS, DEFAULT_OPEN_DURATION,
+                DEFAULT_HALF_OPEN_TRIAL_CALLS);
+    }
+
+    /**
+     * Creates a breaker.
+     * @param failureRateThreshold The share of failed calls in the window, between 0 and 1, that opens the breaker
+     * @param windowSize The number of most recent calls considered
+     * @param minimumCalls The number of calls the window must hold before the breaker can open
+     * @param openDuration How long the breaker refuses calls once it opens
+     * @param halfOpenTrialCalls The number of trial calls allowed while half open
+     */
+    public CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls, Duration openDuration,
+                          int halfOpenTrialCalls) {
+        this(failureRateThreshold, windowSize, minimumCalls, openDuration, halfOpenTrialCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls, Duration openDuration,
+                   int halfOpenTrialCalls, LongSupplier nanoTime) {
+        if (!(failureRateThreshold > 0 && failureRateThreshold <= 1) || windowSize < 1
+                || minimumCalls < 1 || minimumCalls > windowSize || openDuration.isNegative()
+                || halfOpenTrialCalls < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid circuit breaker: failureRateThreshold [%s], windowSize [%d], minimumCalls [%d], "
+                            + "openDuration [%s], halfOpenTrialCalls [%d]",
+                    failureRateThreshold, windowSize, minimumCalls, openDuration, halfOpenTrialCalls));
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenTrialCalls = halfOpenTrialCalls;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Asks to make a call. Every call that is allowed must be followed by onSuccess, onFailure
+     * or releasePermission, passing the permission back.
+     * @return the permission for the call, or NO_PERMISSION if the breaker is refusing calls
+     */
+    public synchronized long tryAcquirePermission() {
+        if (state == State.OPEN && nanoTime.getAsLong() - openedAtNanos >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            generation++;
+            trialCallsStarted = 0;
+            trialCallsSucceeded = 0;
+        }
+        switch (state) {
+            case CLOSED:
+                return generation;
+            case HALF_OPEN:
+                if (trialCallsStarted < halfOpenTrialCalls) {
+                    trialCallsStarted++;
+                    return generation;
+                }
+                return NO_PERMISSION;
+            default:
+                return NO_PERMISSION;
+        }
+    }
+
+    /**
+     * Records that a permitted call succeeded.
+     * @param permission The permission the call was made with
+     */
+    public synchronized void onSuccess(long permission) {
+        if (permission != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            trialCallsSucceeded++;
+            if (trialCallsSucceeded >= halfOpenTrialCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Records that a permitted call failed.
+     * @param permission The permission the call was made with
+     */
+    public synchronized void onFailure(long permission) {
+        if (permission != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+        }
+    }
+
+    /**
+     * Gives back a permission whose call never ran, without recording an outcome.
+     * @param permission The permission to give back
+     */
+    public synchronized void releasePermission(long permission) {
+        if (permission == generation && state == State.HALF_OPEN && trialCallsStarted > 0) {
+            trialCallsStarted--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+        if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        generation++;
+        openedAtNanos = nanoTime.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        generation++;
+        windowCount = 0;
+        windowNext = 0;
+        windowFailures = 0;
+    }
+}
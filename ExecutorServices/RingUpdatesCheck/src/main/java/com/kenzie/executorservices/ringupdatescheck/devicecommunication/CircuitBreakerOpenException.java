@@ -0,0 +1,17 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+/**
+ * Thrown instead of calling the device service while its circuit breaker is open.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs an exception with the given message.
+     * @param message The detail message
+     */
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
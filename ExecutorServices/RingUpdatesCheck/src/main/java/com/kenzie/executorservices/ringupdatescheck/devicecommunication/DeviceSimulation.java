@@ -0,0 +1,209 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.DeviceId;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * How a simulated RingDeviceCommunicatorService behaves: how long its calls take, how often firmware
+ * updates fail, how often calls throw, and whether it logs every call.
+ *
+ * Each call draws from a random source seeded by the simulation's seed, the device ID and how many
+ * times that device has been called before. Repeated calls to the same device therefore get fresh
+ * latencies and outcomes, while the same seed still gives every device the same sequence on every run,
+ * whatever order different devices are called in and however many threads call them. The call counts
+ * belong to the simulation, so clients built from one simulation share them. A setting left unset keeps
+ * the simulator's original hash-based behaviour, which draws nothing and so counts nothing.
+ *
+ * Call counts are kept for the {@value #MAX_COUNTED_DEVICES} most recently drawn devices. A device
+ * evicted from the counts starts its sequence again the next time it is called, so sweeps over more
+ * devices than that still vary from call to call but no longer repeat exactly across runs.
+ *
+ * Logging can also be silenced for the shared client by setting the {@value #QUIET_PROPERTY} system
+ * property to true.
+ */
+public final class DeviceSimulation {
+    public static final String QUIET_PROPERTY = "ata.simulator.quiet";
+    public static final long DEFAULT_SEED = 42L;
+
+    static final long SYSTEM_INFO_LATENCY_STREAM = 1;
+    static final long SYSTEM_INFO_ERROR_STREAM = 2;
+    static final long UPDATE_LATENCY_STREAM = 3;
+    static final long UPDATE_OUTCOME_STREAM = 4;
+    private static final int STREAM_COUNT = 5;
+    static final int MAX_COUNTED_DEVICES = 100_000;
+
+    private final long seed;
+    private final LatencyDistribution systemInfoLatency;
+    private final LatencyDistribution updateLatency;
+    private final double updateFailureRate;
+    private final double callErrorRate;
+    private final boolean quietLogging;
+    // Keyed by the packed DeviceId when the device ID has the "root-index" form, so a device counts
+    // its calls once whichever form it was named by, and by the string otherwise.
+    private final LoadingCache<Object, AtomicLongArray> callCounts = CacheBuilder.newBuilder()
+            .maximumSize(MAX_COUNTED_DEVICES)
+            .build(CacheLoader.from(key -> new AtomicLongArray(STREAM_COUNT)));
+
+    private DeviceSimulation(Builder builder) {
+        this.seed = builder.seed;
+        this.systemInfoLatency = builder.systemInfoLatency;
+        this.updateLatency = builder.updateLatency;
+        this.updateFailureRate = builder.updateFailureRate;
+        this.callErrorRate = builder.callErrorRate;
+        this.quietLogging = builder.quietLogging;
+    }
+
+    /**
+     * Statically creates a builder instance for DeviceSimulation.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the original hash-based simulation, logging unless the {@value #QUIET_PROPERTY} property is set
+     */
+    public static DeviceSimulation defaults() {
+        return builder().build();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the system info latency distribution, or null for the original hash-based latency
+     */
+    public LatencyDistribution getSystemInfoLatency() {
+        return systemInfoLatency;
+    }
+
+    /**
+     * @return the firmware update latency distribution, or null for the original hash-based latency
+     */
+    public LatencyDistribution getUpdateLatency() {
+        return updateLatency;
+    }
+
+    /**
+     * @return the share of firmware updates the device reports as unsuccessful, or a negative value
+     *         for the original hash-based outcome
+     */
+    public double getUpdateFailureRate() {
+        return updateFailureRate;
+    }
+
+    /**
+     * @return the share of calls that throw instead of answering
+     */
+    public double getCallErrorRate() {
+        return callErrorRate;
+    }
+
+    public boolean isQuietLogging() {
+        return quietLogging;
+    }
+
+    /**
+     * A random source for the next draw of one kind for the given device. Each kind of draw uses its
+     * own stream and call count, so e.g. changing the latency distribution doesn't change which
+     * updates fail.
+     */
+    SplittableRandom random(String deviceId, long stream) {
+        long packed = DeviceId.tryPack(deviceId);
+        return random(packed < 0 ? deviceId : Long.valueOf(packed), deviceId.hashCode(), stream);
+    }
+
+    /**
+     * The same random source as random(deviceId.toString(), stream), without rendering the string.
+     */
+    SplittableRandom random(DeviceId deviceId, long stream) {
+        return random(Long.valueOf(deviceId.asLong()), deviceId.stringHashCode(), stream);
+    }
+
+    private SplittableRandom random(Object deviceKey, int deviceIdHash, long stream) {
+        long call = callCounts.getUnchecked(deviceKey).getAndIncrement((int) stream);
+        // SplittableRandom mixes its seed, so nearby seeds still give unrelated sequences.
+        return new SplittableRandom(seed * 31 + deviceIdHash * 0x9E3779B97F4A7C15L + stream
+                + call * 0xBF58476D1CE4E5B9L);
+    }
+
+    /**
+     * @return how many devices currently have call counts
+     */
+    long countedDevices() {
+        return callCounts.size();
+    }
+
+    /**
+     * Fluent builder for instances of DeviceSimulation.
+     */
+    public static class Builder {
+        private long seed = DEFAULT_SEED;
+        private LatencyDistribution systemInfoLatency;
+        private LatencyDistribution updateLatency;
+        private double updateFailureRate = -1;
+        private double callErrorRate;
+        private boolean quietLogging = Boolean.getBoolean(QUIET_PROPERTY);
+
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder withSystemInfoLatency(LatencyDistribution systemInfoLatency) {
+            this.systemInfoLatency = systemInfoLatency;
+            return this;
+        }
+
+        public Builder withUpdateLatency(LatencyDistribution updateLatency) {
+            this.updateLatency = updateLatency;
+            return this;
+        }
+
+        /**
+         * Sets the latency distribution of every kind of call.
+         */
+        public Builder withLatency(LatencyDistribution latency) {
+            this.systemInfoLatency = latency;
+            this.updateLatency = latency;
+            return this;
+        }
+
+        public Builder withUpdateFailureRate(double updateFailureRate) {
+            this.updateFailureRate = updateFailureRate;
+            return this;
+        }
+
+        public Builder withCallErrorRate(double callErrorRate) {
+            this.callErrorRate = callErrorRate;
+            return this;
+        }
+
+        public Builder withQuietLogging(boolean quietLogging) {
+            this.quietLogging = quietLogging;
+            return this;
+        }
+
+        /**
+         * Builds an instance of DeviceSimulation.
+         * @throws IllegalArgumentException if a rate is outside 0 to 1
+         */
+        public DeviceSimulation build() {
+            boolean hashedFailures = updateFailureRate == -1;
+            if (!hashedFailures && !(updateFailureRate >= 0 && updateFailureRate <= 1)
+                    || !(callErrorRate >= 0 && callErrorRate <= 1)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid device simulation: updateFailureRate [%s], callErrorRate [%s]",
+                        updateFailureRate, callErrorRate));
+            }
+            return new DeviceSimulation(this);
+        }
+    }
+}
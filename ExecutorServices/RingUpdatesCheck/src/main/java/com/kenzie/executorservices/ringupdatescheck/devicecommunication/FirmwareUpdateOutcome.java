@@ -0,0 +1,74 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+/**
+ * The final result of updating one device, after any retries.
+ */
+public final class FirmwareUpdateOutcome {
+    private final String deviceId;
+    private final RingDeviceFirmwareVersion version;
+    private final int attempts;
+    private final UpdateDeviceFirmwareResponse lastResponse;
+    private final String failureReason;
+
+    FirmwareUpdateOutcome(String deviceId, RingDeviceFirmwareVersion version, int attempts,
+                          UpdateDeviceFirmwareResponse lastResponse, String failureReason) {
+        this.deviceId = deviceId;
+        this.version = version;
+        this.attempts = attempts;
+        this.lastResponse = lastResponse;
+        this.failureReason = failureReason;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public RingDeviceFirmwareVersion getVersion() {
+        return version;
+    }
+
+    /**
+     * @return true if the last attempt reported success
+     */
+    public boolean isSuccessful() {
+        return failureReason == null;
+    }
+
+    /**
+     * @return the number of calls made to the device, including the first. 0 if the first call was
+     *         rejected before it ran.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the number of calls made after the first one failed, never negative
+     */
+    public int getRetryCount() {
+        return Math.max(0, attempts - 1);
+    }
+
+    /**
+     * @return the device's response to the last attempt, or null if that attempt threw
+     */
+    public UpdateDeviceFirmwareResponse getLastResponse() {
+        return lastResponse;
+    }
+
+    /**
+     * @return why the last attempt failed, or null if the update succeeded
+     */
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FirmwareUpdateOutcome(deviceId=%s, version=%s, attempts=%d, failureReason=%s)",
+                deviceId, version, attempts, failureReason);
+    }
+}
@@ -0,0 +1,77 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.DeviceVersionIndex;
+
+/**
+ * Drop-in RingDeviceCommunicatorService that feeds every answer it passes on into a DeviceVersionIndex.
+ *
+ * System info responses record the device's version, successful updates move the device to the new
+ * version, and unsuccessful updates leave its entry as it was. Once a sweep has run through this client,
+ * compliance questions can be answered from the index without calling the devices again.
+ *
+ * Hand an instance of this to DeviceChecker or ComplianceEnforcer in place of the plain client. Neither
+ * reads the index back; query it through getIndex().
+ */
+public class IndexingRingDeviceCommunicatorService extends RingDeviceCommunicatorService {
+    private final RingDeviceCommunicatorService delegate;
+    private final DeviceVersionIndex index;
+
+    /**
+     * Creates an indexing client in front of the shared service client.
+     * @param index The index to feed
+     */
+    public IndexingRingDeviceCommunicatorService(DeviceVersionIndex index) {
+        this(RingDeviceCommunicatorService.getClient(), index);
+    }
+
+    /**
+     * Creates an indexing client.
+     * @param delegate The client that answers every call
+     * @param index The index to feed
+     */
+    public IndexingRingDeviceCommunicatorService(RingDeviceCommunicatorService delegate, DeviceVersionIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    @Override
+    public GetDeviceSystemInfoResponse getDeviceSystemInfo(final GetDeviceSystemInfoRequest request) {
+        GetDeviceSystemInfoResponse response = delegate.getDeviceSystemInfo(request);
+        if (response.getSystemInfo() != null) {
+            index.record(response.getSystemInfo());
+        }
+        return response;
+    }
+
+    @Override
+    public GetDeviceSystemInfoBatchResponse getDeviceSystemInfoBatch(final GetDeviceSystemInfoBatchRequest request) {
+        GetDeviceSystemInfoBatchResponse response = delegate.getDeviceSystemInfoBatch(request);
+        response.getSystemInfos().forEach(index::record);
+        return response;
+    }
+
+    @Override
+    public UpdateDeviceFirmwareResponse updateDeviceFirmware(final UpdateDeviceFirmwareRequest request) {
+        UpdateDeviceFirmwareResponse response = delegate.updateDeviceFirmware(request);
+        index.record(response);
+        return response;
+    }
+
+    /**
+     * @return the delegate's simulation, since the delegate answers every call
+     */
+    @Override
+    public DeviceSimulation getSimulation() {
+        return delegate.getSimulation();
+    }
+
+    public DeviceVersionIndex getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,94 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * The shape of the simulated latency of a device call.
+ *
+ * Samples are drawn from the random source passed in, so a seeded source gives the same latency
+ * every run. Every sample is a whole, non-negative number of milliseconds.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+    /**
+     * Draws one latency.
+     * @param random The random source to draw from
+     * @return the latency, in milliseconds
+     */
+    long sampleMillis(SplittableRandom random);
+
+    /**
+     * @param latency The latency of every call
+     * @return a distribution that always gives the same latency
+     */
+    static LatencyDistribution fixed(Duration latency) {
+        if (latency.isNegative()) {
+            throw new IllegalArgumentException(String.format("Invalid fixed latency [%s]", latency));
+        }
+        long millis = latency.toMillis();
+        return random -> millis;
+    }
+
+    /**
+     * @param min The shortest latency
+     * @param max The longest latency
+     * @return a distribution with every latency between min and max, inclusive, equally likely
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        if (min.isNegative() || max.compareTo(min) < 0) {
+            throw new IllegalArgumentException(String.format("Invalid uniform latency: min [%s], max [%s]",
+                    min, max));
+        }
+        long minMillis = min.toMillis();
+        long maxMillis = max.toMillis();
+        return random -> minMillis + random.nextLong(maxMillis - minMillis + 1);
+    }
+
+    /**
+     * Log-normal latency, the usual shape of a healthy service: most calls close to the median and a
+     * long, thin tail of slow ones. Samples are capped so a single call can't stall a test.
+     * @param median The median latency, at least 1 ms
+     * @param sigma The standard deviation of the latency's natural log; around 0.5 is typical, and
+     *              larger values give a longer tail
+     * @param max The cap on any single latency
+     * @return a log-normal distribution
+     */
+    static LatencyDistribution logNormal(Duration median, double sigma, Duration max) {
+        if (median.toMillis() < 1 || !(sigma >= 0) || max.compareTo(median) < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid log-normal latency: median [%s], sigma [%s], max [%s]", median, sigma, max));
+        }
+        double mu = Math.log(median.toMillis());
+        long maxMillis = max.toMillis();
+        return random -> Math.min(maxMillis, Math.round(Math.exp(mu + sigma * nextGaussian(random))));
+    }
+
+    /**
+     * Pareto latency, for services whose slowest calls are far slower than the median, e.g. because of
+     * garbage collection pauses or queueing. Samples are capped so a single call can't stall a test.
+     * @param min The shortest latency, and the scale of the distribution
+     * @param shape The Pareto shape; smaller values give a heavier tail, and below 2 the variance is infinite
+     * @param max The cap on any single latency
+     * @return a heavy-tailed distribution
+     */
+    static LatencyDistribution heavyTail(Duration min, double shape, Duration max) {
+        if (min.isNegative() || min.isZero() || !(shape > 0) || max.compareTo(min) < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid heavy-tail latency: min [%s], shape [%s], max [%s]", min, shape, max));
+        }
+        double minMillis = min.toMillis();
+        long maxMillis = max.toMillis();
+        return random -> Math.min(maxMillis, Math.round(minMillis / Math.pow(1.0 - random.nextDouble(), 1.0 / shape)));
+    }
+
+    /**
+     * Draws a standard normal value with the Box-Muller transform, since SplittableRandom has no
+     * nextGaussian of its own.
+     */
+    private static double nextGaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
@@ -0,0 +1,123 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Drop-in RingDeviceCommunicatorService that protects the device backend from overload.
+ *
+ * Every call first asks a CircuitBreaker for permission, and fails fast with a
+ * CircuitBreakerOpenException while the backend is failing. Calls that get through then take a slot
+ * from an AdaptiveConcurrencyLimiter, waiting if the limit is reached. A call counts as overloaded
+ * for the limiter if it takes longer than its latency threshold or throws; only exceptions count as
+ * failures for the breaker, since an unsuccessful firmware update is the device's answer, not a
+ * backend failure.
+ *
+ * Hand an instance of this to DeviceChecker or ComplianceEnforcer in place of the plain client.
+ */
+public class ProtectedRingDeviceCommunicatorService extends RingDeviceCommunicatorService {
+    public static final Duration DEFAULT_SYSTEM_INFO_LATENCY_THRESHOLD = Duration.ofMillis(250);
+    public static final Duration DEFAULT_UPDATE_LATENCY_THRESHOLD = Duration.ofMillis(500);
+
+    private final RingDeviceCommunicatorService delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final long systemInfoThresholdNanos;
+    private final long updateThresholdNanos;
+
+    /**
+     * Creates a protected client in front of the shared service client, with the default limiter,
+     * breaker and latency thresholds.
+     */
+    public ProtectedRingDeviceCommunicatorService() {
+        this(RingDeviceCommunicatorService.getClient(), new AdaptiveConcurrencyLimiter(), new CircuitBreaker(),
+                DEFAULT_SYSTEM_INFO_LATENCY_THRESHOLD, DEFAULT_UPDATE_LATENCY_THRESHOLD);
+    }
+
+    /**
+     * Creates a protected client.
+     * @param delegate The client that makes the actual calls
+     * @param limiter The concurrency limiter shared by all calls
+     * @param circuitBreaker The circuit breaker shared by all calls
+     * @param systemInfoLatencyThreshold How long a system info call may take before it counts as overloaded
+     * @param updateLatencyThreshold How long a firmware update may take before it counts as overloaded
+     */
+    public ProtectedRingDeviceCommunicatorService(RingDeviceCommunicatorService delegate,
+                                                  AdaptiveConcurrencyLimiter limiter,
+                                                  CircuitBreaker circuitBreaker,
+                                                  Duration systemInfoLatencyThreshold,
+                                                  Duration updateLatencyThreshold) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.systemInfoThresholdNanos = systemInfoLatencyThreshold.toNanos();
+        this.updateThresholdNanos = updateLatencyThreshold.toNanos();
+    }
+
+    @Override
+    public GetDeviceSystemInfoResponse getDeviceSystemInfo(final GetDeviceSystemInfoRequest request) {
+        return call(() -> delegate.getDeviceSystemInfo(request), systemInfoThresholdNanos);
+    }
+
+    @Override
+    public GetDeviceSystemInfoBatchResponse getDeviceSystemInfoBatch(final GetDeviceSystemInfoBatchRequest request) {
+        return call(() -> delegate.getDeviceSystemInfoBatch(request), systemInfoThresholdNanos);
+    }
+
+    @Override
+    public UpdateDeviceFirmwareResponse updateDeviceFirmware(final UpdateDeviceFirmwareRequest request) {
+        return call(() -> delegate.updateDeviceFirmware(request), updateThresholdNanos);
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * @return the delegate's simulation, since the delegate answers every call
+     */
+    @Override
+    public DeviceSimulation getSimulation() {
+        return delegate.getSimulation();
+    }
+
+    private <T> T call(Supplier<T> work, long latencyThresholdNanos) {
+        long permission = circuitBreaker.tryAcquirePermission();
+        if (permission == CircuitBreaker.NO_PERMISSION) {
+            throw new CircuitBreakerOpenException("Device service circuit breaker is open; call refused");
+        }
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.releasePermission(permission);
+            throw new IllegalStateException("Interrupted while waiting for a device call slot", e);
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = work.get();
+            failed = false;
+            return result;
+        } finally {
+            limiter.release(failed || System.nanoTime() - start > latencyThresholdNanos);
+            if (failed) {
+                circuitBreaker.onFailure(permission);
+            } else {
+                circuitBreaker.onSuccess(permission);
+            }
+        }
+    }
+}
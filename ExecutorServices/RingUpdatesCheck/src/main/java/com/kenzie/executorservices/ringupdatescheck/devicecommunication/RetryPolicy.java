@@ -0,0 +1,147 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import java.time.Duration;
+
+/**
+ * How failed firmware updates are retried: how many attempts each device gets, how long to back off
+ * between them, and how many retries may be started per second across all devices.
+ */
+public final class RetryPolicy {
+    public static final int DEFAULT_MAX_ATTEMPTS = 4;
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(5);
+    public static final double DEFAULT_BACKOFF_MULTIPLIER = 2.0;
+    public static final double DEFAULT_MAX_RETRIES_PER_SECOND = 50.0;
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double backoffMultiplier;
+    private final double maxRetriesPerSecond;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.backoffMultiplier = builder.backoffMultiplier;
+        this.maxRetriesPerSecond = builder.maxRetriesPerSecond;
+    }
+
+    /**
+     * Statically creates a builder instance for RetryPolicy.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a policy with every setting at its default
+     */
+    public static RetryPolicy defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return a policy that makes a single attempt and never retries
+     */
+    public static RetryPolicy noRetries() {
+        return builder().withMaxAttempts(1).build();
+    }
+
+    /**
+     * @return the maximum number of attempts per device, including the first
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return the backoff ceiling before the first retry
+     */
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * @return the largest backoff ceiling any retry can have
+     */
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * @return the factor the backoff ceiling grows by after each failed attempt
+     */
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    /**
+     * @return the maximum rate at which retries are started, across every device
+     */
+    public double getMaxRetriesPerSecond() {
+        return maxRetriesPerSecond;
+    }
+
+    /**
+     * The backoff ceiling before the given retry. The actual delay is drawn uniformly between zero
+     * and this ceiling ("full jitter"), so devices that failed together don't retry together.
+     * @param retry The retry number, starting at 1 for the second attempt
+     * @return the ceiling, in nanoseconds
+     */
+    long backoffCeilingNanos(int retry) {
+        double ceiling = initialBackoff.toNanos() * Math.pow(backoffMultiplier, retry - 1);
+        return (long) Math.min(ceiling, maxBackoff.toNanos());
+    }
+
+    /**
+     * Fluent builder for instances of RetryPolicy.
+     */
+    public static class Builder {
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+        private double backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
+        private double maxRetriesPerSecond = DEFAULT_MAX_RETRIES_PER_SECOND;
+
+        public Builder withMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder withInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        public Builder withMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public Builder withBackoffMultiplier(double backoffMultiplier) {
+            this.backoffMultiplier = backoffMultiplier;
+            return this;
+        }
+
+        public Builder withMaxRetriesPerSecond(double maxRetriesPerSecond) {
+            this.maxRetriesPerSecond = maxRetriesPerSecond;
+            return this;
+        }
+
+        /**
+         * Builds an instance of RetryPolicy.
+         * @throws IllegalArgumentException if any setting is out of range
+         */
+        public RetryPolicy build() {
+            if (maxAttempts < 1 || initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0
+                    || backoffMultiplier < 1.0 || !(maxRetriesPerSecond > 0)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid retry policy: maxAttempts [%d], initialBackoff [%s], maxBackoff [%s], "
+                                + "backoffMultiplier [%s], maxRetriesPerSecond [%s]",
+                        maxAttempts, initialBackoff, maxBackoff, backoffMultiplier, maxRetriesPerSecond));
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
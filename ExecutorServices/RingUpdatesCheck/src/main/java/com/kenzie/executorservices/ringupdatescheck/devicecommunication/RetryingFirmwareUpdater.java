@@ -0,0 +1,132 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends firmware updates and retries the ones that fail.
+ *
+ * An attempt fails if the device reports wasSuccessful=false or the call throws. A failed device is
+ * re-queued on a ScheduledExecutorService after an exponentially growing, fully jittered backoff,
+ * until it succeeds or uses up the policy's attempt budget. When its backoff ends, a retry must also
+ * take a token from a bucket shared by all devices, refilled at the policy's retry rate. A retry that
+ * finds the bucket empty waits only until the next token is due and then competes for it again, so a
+ * wave of failures turns into a steady trickle of retries rather than a retry storm, and no retry is
+ * held behind slots reserved in advance for retries that are not due yet.
+ *
+ * The scheduler only keeps time; the calls themselves run on the executor passed in.
+ */
+public class RetryingFirmwareUpdater {
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    private final RingDeviceCommunicatorService ringClient;
+    private final Executor executor;
+    private final RetryPolicy policy;
+    private final ScheduledExecutorService scheduler;
+
+    private final TokenBucket retryTokens;
+
+    /**
+     * Creates an updater.
+     * @param ringClient The client used to update devices
+     * @param executor The executor every attempt runs on
+     * @param policy How failed updates are retried
+     */
+    public RetryingFirmwareUpdater(RingDeviceCommunicatorService ringClient, Executor executor, RetryPolicy policy) {
+        this(ringClient, executor, policy, SCHEDULER);
+    }
+
+    RetryingFirmwareUpdater(RingDeviceCommunicatorService ringClient, Executor executor, RetryPolicy policy,
+                            ScheduledExecutorService scheduler) {
+        this.ringClient = ringClient;
+        this.executor = executor;
+        this.policy = policy;
+        this.scheduler = scheduler;
+        this.retryTokens = new TokenBucket(policy.getMaxRetriesPerSecond(), 1);
+    }
+
+    /**
+     * Updates a device, retrying failed attempts according to the policy.
+     * @param request The request specifying device and firmware version
+     * @return A future completed once the device succeeds or its attempt budget is spent. It never
+     *         completes exceptionally; failures are described by the outcome.
+     */
+    public CompletableFuture<FirmwareUpdateOutcome> update(UpdateDeviceFirmwareRequest request) {
+        CompletableFuture<FirmwareUpdateOutcome> outcome = new CompletableFuture<>();
+        attempt(request, 1, outcome);
+        return outcome;
+    }
+
+    public RetryPolicy getPolicy() {
+        return policy;
+    }
+
+    private void attempt(UpdateDeviceFirmwareRequest request, int attemptNumber,
+                         CompletableFuture<FirmwareUpdateOutcome> outcome) {
+        try {
+            executor.execute(() -> {
+                UpdateDeviceFirmwareResponse response = null;
+                String failureReason;
+                try {
+                    response = ringClient.updateDeviceFirmware(request);
+                    failureReason = response.isWasSuccessful() ? null : "Device reported an unsuccessful update";
+                } catch (RuntimeException e) {
+                    failureReason = String.valueOf(e);
+                }
+                if (failureReason == null || attemptNumber >= policy.getMaxAttempts()) {
+                    outcome.complete(new FirmwareUpdateOutcome(request.getDeviceId(), request.getVersion(),
+                            attemptNumber, response, failureReason));
+                } else {
+                    scheduleRetry(request, attemptNumber, response, failureReason, outcome);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            outcome.complete(new FirmwareUpdateOutcome(request.getDeviceId(), request.getVersion(),
+                    attemptNumber - 1, null, String.valueOf(e)));
+        }
+    }
+
+    private void scheduleRetry(UpdateDeviceFirmwareRequest request, int attemptNumber,
+                               UpdateDeviceFirmwareResponse lastResponse, String lastFailureReason,
+                               CompletableFuture<FirmwareUpdateOutcome> outcome) {
+        long ceiling = policy.backoffCeilingNanos(attemptNumber);
+        long backoff = ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+        fireRetryAfter(backoff, request, attemptNumber, lastResponse, lastFailureReason, outcome);
+    }
+
+    private void fireRetryAfter(long delayNanos, UpdateDeviceFirmwareRequest request, int attemptNumber,
+                                UpdateDeviceFirmwareResponse lastResponse, String lastFailureReason,
+                                CompletableFuture<FirmwareUpdateOutcome> outcome) {
+        try {
+            scheduler.schedule(() -> {
+                long wait = retryTokens.tryAcquire();
+                if (wait == 0) {
+                    attempt(request, attemptNumber + 1, outcome);
+                } else {
+                    fireRetryAfter(wait, request, attemptNumber, lastResponse, lastFailureReason, outcome);
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            outcome.complete(new FirmwareUpdateOutcome(request.getDeviceId(), request.getVersion(),
+                    attemptNumber, lastResponse, lastFailureReason));
+        }
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "firmware-update-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+}
@@ -1,5 +1,8 @@
 package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
 
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.DeviceId;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchResponse;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
@@ -9,16 +12,23 @@ import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.Up
 import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
 
 import com.google.common.collect.ImmutableMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.SplittableRandom;
 
 /**
  * Mocks service to access individual Ring devices, including querying
  * diagnostic/system info, and initiating firmware updates.
  *
  * Use the static method, getClient(), to obtain an instance to communicate
- * with the service.
+ * with the service, or construct one with a DeviceSimulation to control its
+ * latency, failures and logging.
  */
 public class RingDeviceCommunicatorService {
     private static final Map<Integer, RingDeviceFirmwareVersion> versionMapping =
@@ -31,8 +41,27 @@ public class RingDeviceCommunicatorService {
             .put(5, KnownRingDeviceFirmwareVersions.INKY)
             .build();
 
+    private static final Logger LOG = LogManager.getLogger(RingDeviceCommunicatorService.class);
+
     private static final RingDeviceCommunicatorService SINGLETON = new RingDeviceCommunicatorService();
 
+    private final DeviceSimulation simulation;
+
+    /**
+     * Creates a client with the original hash-based simulation.
+     */
+    public RingDeviceCommunicatorService() {
+        this(DeviceSimulation.defaults());
+    }
+
+    /**
+     * Creates a client.
+     * @param simulation How the simulated devices behave
+     */
+    public RingDeviceCommunicatorService(DeviceSimulation simulation) {
+        this.simulation = simulation;
+    }
+
     /**
      * Returns a client to use against the RingDeviceCommunicatorService.
      * @return a service client
@@ -47,23 +76,76 @@ public class RingDeviceCommunicatorService {
      * @return The response containing the device's system info
      */
     public GetDeviceSystemInfoResponse getDeviceSystemInfo(final GetDeviceSystemInfoRequest request) {
-        log(String.format("Received system info request for device %s", request.getDeviceId()));
+        log("Received system info request for device {}", loggedDeviceId(request));
 
         try {
-            Thread.sleep(Math.abs(Objects.hash(request.getDeviceId())) % 200);
+            Thread.sleep(systemInfoLatencyMillis(request));
         } catch (InterruptedException e) {
-            System.out.println("Pardon the interruption!");
+            LOG.warn("Pardon the interruption!");
+            Thread.currentThread().interrupt();
         }
 
-        log(String.format("Returned system info response for device %s", request.getDeviceId()));
+        log("Returned system info response for device {}", loggedDeviceId(request));
 
-        RingDeviceFirmwareVersion version =
-            versionMapping.get(Math.abs(Objects.hash(request.getDeviceId())) % versionMapping.size());
-        return GetDeviceSystemInfoResponse.builder()
-                .withSystemInfo(RingDeviceSystemInfo.builder()
-                                                    .withDeviceId(request.getDeviceId())
-                                                    .withDeviceFirmwareVersion(version)
-                                                    .build())
+        return systemInfoResponse(request);
+    }
+
+    /**
+     * Returns the system info for the device with the given compact ID. The request keeps the DeviceId,
+     * so the device ID string is only rendered if something asks for it, e.g. a log line.
+     * @param deviceId The device identifier
+     * @return The response containing the device's system info
+     */
+    public GetDeviceSystemInfoResponse getDeviceSystemInfo(final DeviceId deviceId) {
+        return getDeviceSystemInfo(GetDeviceSystemInfoRequest.builder()
+                .withDeviceId(deviceId)
+                .build());
+    }
+
+    /**
+     * Returns the system info for many devices in a single round trip. The call takes as long as the
+     * slowest device in the batch plus a small overhead that grows with the square root of the batch size.
+     * A device whose call fails doesn't fail the batch; its error is reported alongside the other devices' info.
+     * @param request The request containing the device identifiers
+     * @return The response containing the system info of each device that answered, in the order the devices
+     *         were requested, and the error of each device that didn't
+     */
+    public GetDeviceSystemInfoBatchResponse getDeviceSystemInfoBatch(final GetDeviceSystemInfoBatchRequest request) {
+        List<String> deviceIds = request.getDeviceIds();
+        log("Received system info batch request for {} devices", Unbox.box(deviceIds.size()));
+
+        long slowestDeviceMillis = 0;
+        List<GetDeviceSystemInfoRequest> deviceRequests = new ArrayList<>(deviceIds.size());
+        for (String deviceId : deviceIds) {
+            GetDeviceSystemInfoRequest deviceRequest = GetDeviceSystemInfoRequest.builder()
+                    .withDeviceId(deviceId)
+                    .build();
+            deviceRequests.add(deviceRequest);
+            slowestDeviceMillis = Math.max(slowestDeviceMillis, systemInfoLatencyMillis(deviceRequest));
+        }
+
+        try {
+            Thread.sleep(slowestDeviceMillis + (long) Math.sqrt(deviceIds.size()));
+        } catch (InterruptedException e) {
+            LOG.warn("Pardon the interruption!");
+            Thread.currentThread().interrupt();
+        }
+
+        List<RingDeviceSystemInfo> systemInfos = new ArrayList<>(deviceRequests.size());
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (GetDeviceSystemInfoRequest deviceRequest : deviceRequests) {
+            try {
+                systemInfos.add(systemInfoResponse(deviceRequest).getSystemInfo());
+            } catch (IllegalStateException e) {
+                errors.put(deviceRequest.getDeviceId(), e.getMessage());
+            }
+        }
+
+        log("Returned system info batch response for {} devices", Unbox.box(deviceIds.size()));
+
+        return GetDeviceSystemInfoBatchResponse.builder()
+                .withSystemInfos(systemInfos)
+                .withErrors(errors)
                 .build();
     }
 
@@ -74,33 +156,196 @@ public class RingDeviceCommunicatorService {
      * @return The response object indicating the success status
      */
     public UpdateDeviceFirmwareResponse updateDeviceFirmware(final UpdateDeviceFirmwareRequest request) {
-        log(String.format("Received request to upgrade device %s to version %s",
-            request.getDeviceId(),
-            request.getVersion())
-        );
+        log("Received request to upgrade device {} to version {}", loggedDeviceId(request), request.getVersion());
 
         try {
-            Thread.sleep(200 + Math.abs(Objects.hash(request.getDeviceId())) % 200);
+            Thread.sleep(updateLatencyMillis(request));
         } catch (InterruptedException e) {
-            System.out.println("Pardon the interruption!");
+            LOG.warn("Pardon the interruption!");
+            Thread.currentThread().interrupt();
         }
 
-        boolean success = (Objects.hash(request.getDeviceId()) % 10) > 2;
+        UpdateDeviceFirmwareResponse response = updateResponse(request);
+
+        log("{} request to upgrade device {} to version {}",
+            response.isWasSuccessful() ? "Completed" : "Failed",
+            loggedDeviceId(request),
+            request.getVersion());
+
+        return response;
+    }
+
+    /**
+     * Attempts to update the firmware on the device with the given compact ID. The request keeps the
+     * DeviceId, so the device ID string is only rendered if something asks for it.
+     * @param deviceId The device identifier
+     * @param version The firmware version to update to
+     * @return The response object indicating the success status
+     */
+    public UpdateDeviceFirmwareResponse updateDeviceFirmware(final DeviceId deviceId,
+                                                             final RingDeviceFirmwareVersion version) {
+        return updateDeviceFirmware(UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(deviceId)
+                .withVersion(version)
+                .build());
+    }
 
-        log(String.format("%s request to upgrade device %s to version %s",
-            success ? "Completed" : "Failed",
-            request.getDeviceId(),
-            request.getVersion())
-        );
+    /**
+     * Simulated time the device takes to answer a system info request.
+     */
+    long systemInfoLatencyMillis(final GetDeviceSystemInfoRequest request) {
+        LatencyDistribution latency = simulation.getSystemInfoLatency();
+        if (latency != null) {
+            return latency.sampleMillis(random(request, DeviceSimulation.SYSTEM_INFO_LATENCY_STREAM));
+        }
+        return Math.abs(deviceHash(request)) % 200;
+    }
 
-        return UpdateDeviceFirmwareResponse.builder()
-                .withDeviceId(request.getDeviceId())
-                .withVersion(request.getVersion())
-                .withWasSuccessful(success)
+    /**
+     * Simulated system info reported by the device, once the latency has elapsed.
+     * @throws IllegalStateException if the simulation makes this call fail
+     */
+    GetDeviceSystemInfoResponse systemInfoResponse(final GetDeviceSystemInfoRequest request) {
+        if (simulation.getCallErrorRate() > 0 && random(request,
+                DeviceSimulation.SYSTEM_INFO_ERROR_STREAM).nextDouble() < simulation.getCallErrorRate()) {
+            throw new IllegalStateException(String.format(
+                "Simulated failure of system info request for device %s", request.getDeviceId()));
+        }
+        RingDeviceFirmwareVersion version =
+            versionMapping.get(Math.abs(deviceHash(request)) % versionMapping.size());
+        RingDeviceSystemInfo.Builder systemInfo = RingDeviceSystemInfo.builder()
+                .withDeviceFirmwareVersion(version);
+        if (request.getCompactDeviceId() != null) {
+            systemInfo.withDeviceId(request.getCompactDeviceId());
+        } else {
+            systemInfo.withDeviceId(request.getDeviceId());
+        }
+        return GetDeviceSystemInfoResponse.builder()
+                .withSystemInfo(systemInfo.build())
                 .build();
     }
 
-    private void log(String message) {
-        System.out.println("[RingDeviceCommunicatorService] " + message);
+    /**
+     * Simulated time the device takes to apply a firmware update.
+     */
+    long updateLatencyMillis(final UpdateDeviceFirmwareRequest request) {
+        LatencyDistribution latency = simulation.getUpdateLatency();
+        if (latency != null) {
+            return latency.sampleMillis(random(request, DeviceSimulation.UPDATE_LATENCY_STREAM));
+        }
+        return 200 + Math.abs(deviceHash(request)) % 200;
+    }
+
+    /**
+     * Simulated outcome of a firmware update, once the latency has elapsed.
+     * @throws IllegalStateException if the simulation makes this call fail
+     */
+    UpdateDeviceFirmwareResponse updateResponse(final UpdateDeviceFirmwareRequest request) {
+        // The hash-based defaults need no draw, so the shared client keeps no state per device.
+        SplittableRandom random = simulation.getCallErrorRate() > 0 || simulation.getUpdateFailureRate() >= 0
+            ? random(request, DeviceSimulation.UPDATE_OUTCOME_STREAM)
+            : null;
+        if (simulation.getCallErrorRate() > 0 && random.nextDouble() < simulation.getCallErrorRate()) {
+            throw new IllegalStateException(String.format(
+                "Simulated failure of request to upgrade device %s", request.getDeviceId()));
+        }
+        boolean success = simulation.getUpdateFailureRate() < 0
+            ? (deviceHash(request) % 10) > 2
+            : random.nextDouble() >= simulation.getUpdateFailureRate();
+
+        UpdateDeviceFirmwareResponse.Builder response = UpdateDeviceFirmwareResponse.builder()
+                .withVersion(RingDeviceFirmwareVersion.intern(request.getVersion()))
+                .withWasSuccessful(success);
+        if (request.getCompactDeviceId() != null) {
+            response.withDeviceId(request.getCompactDeviceId());
+        } else {
+            response.withDeviceId(request.getDeviceId());
+        }
+        return response.build();
+    }
+
+    /**
+     * The same value as Objects.hash(deviceId), without allocating a varargs array on every call.
+     */
+    private static int deviceHash(String deviceId) {
+        return 31 + (deviceId == null ? 0 : deviceId.hashCode());
+    }
+
+    /**
+     * The same value as deviceHash(deviceId.toString()), without rendering the string.
+     */
+    private static int deviceHash(DeviceId deviceId) {
+        return 31 + deviceId.stringHashCode();
+    }
+
+    /*
+     * The simulation of a request uses its compact device ID when it was built with one, so requests
+     * built from a DeviceId never render the device ID string. Either form gives the same results.
+     */
+    private static int deviceHash(GetDeviceSystemInfoRequest request) {
+        return request.getCompactDeviceId() != null
+            ? deviceHash(request.getCompactDeviceId())
+            : deviceHash(request.getDeviceId());
+    }
+
+    private static int deviceHash(UpdateDeviceFirmwareRequest request) {
+        return request.getCompactDeviceId() != null
+            ? deviceHash(request.getCompactDeviceId())
+            : deviceHash(request.getDeviceId());
+    }
+
+    private SplittableRandom random(GetDeviceSystemInfoRequest request, long stream) {
+        return request.getCompactDeviceId() != null
+            ? simulation.random(request.getCompactDeviceId(), stream)
+            : simulation.random(request.getDeviceId(), stream);
+    }
+
+    private SplittableRandom random(UpdateDeviceFirmwareRequest request, long stream) {
+        return request.getCompactDeviceId() != null
+            ? simulation.random(request.getCompactDeviceId(), stream)
+            : simulation.random(request.getDeviceId(), stream);
+    }
+
+    /**
+     * The device ID to pass to log(), which only renders a DeviceId if the message is formatted.
+     */
+    private static Object loggedDeviceId(GetDeviceSystemInfoRequest request) {
+        return request.getCompactDeviceId() != null ? request.getCompactDeviceId() : request.getDeviceId();
+    }
+
+    private static Object loggedDeviceId(UpdateDeviceFirmwareRequest request) {
+        return request.getCompactDeviceId() != null ? request.getCompactDeviceId() : request.getDeviceId();
+    }
+
+    public DeviceSimulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Logs a message about a call at INFO, unless the simulation is quiet. Nothing is formatted if INFO
+     * is disabled. When it is enabled, log4j formats the message on the calling thread as it copies the
+     * event for an async appender, so only the write itself happens on the background thread. The
+     * fixed-arity overloads avoid allocating a varargs array on every call.
+     */
+    void log(String message, Object arg) {
+        if (isLogging()) {
+            LOG.info(message, arg);
+        }
+    }
+
+    void log(String message, Object arg1, Object arg2) {
+        if (isLogging()) {
+            LOG.info(message, arg1, arg2);
+        }
+    }
+
+    void log(String message, Object arg1, Object arg2, Object arg3) {
+        if (isLogging()) {
+            LOG.info(message, arg1, arg2, arg3);
+        }
+    }
+
+    private boolean isLogging() {
+        return !simulation.isQuietLogging() && LOG.isInfoEnabled();
     }
 }
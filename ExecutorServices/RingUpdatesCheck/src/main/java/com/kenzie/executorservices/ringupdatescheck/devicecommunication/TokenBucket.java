@@ -0,0 +1,69 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiter. Tokens refill at a steady rate up to the bucket's capacity, so short
+ * bursts up to the capacity go through at once and anything beyond that is paced at the refill rate.
+ *
+ * acquire() waits for its token, reserving it ahead of later callers. tryAcquire() never waits and
+ * never reserves, for callers that schedule themselves for when the next token is due.
+ */
+public class TokenBucket {
+    private final double capacity;
+    private final double nanosPerToken;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Creates a full bucket.
+     * @param tokensPerSecond The refill rate
+     * @param capacity The maximum number of tokens the bucket holds
+     */
+    public TokenBucket(double tokensPerSecond, int capacity) {
+        if (!(tokensPerSecond > 0) || capacity < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid token bucket: tokensPerSecond [%s], capacity [%d]", tokensPerSecond, capacity));
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / tokensPerSecond;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes one token, waiting until it is available. Callers are served in the order they arrive.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            refill();
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens * nanosPerToken);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes one token if one is available, without waiting.
+     * @return 0 if a token was taken, otherwise how long until the next one is due, in nanoseconds
+     */
+    public synchronized long tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) * nanosPerToken));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,156 @@
+package com.kenzie.executorservices.ringupdatescheck.model.codec;
+
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelFormat.checkType;
+import static com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelFormat.readString;
+import static com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelFormat.readUtf8;
+import static com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelFormat.readVarint;
+
+/**
+ * Reads device-communication models written by a DeviceModelEncoder.
+ *
+ * A decoder rebuilds the stream's version dictionary as it reads, so it must read the records of one
+ * stream in the order they were written. Decoded firmware versions are the shared interned instances.
+ * Decoders are not thread-safe.
+ */
+public final class DeviceModelDecoder {
+    private final List<RingDeviceFirmwareVersion> entries = new ArrayList<>();
+    private int previousRoot;
+
+    /**
+     * Reads a system info record from the buffer's position.
+     * @param buffer The buffer to read from
+     * @return the record
+     * @throws BufferUnderflowException if the buffer ends before the record does. Nothing is consumed and
+     *         the decoder is unchanged, so the caller can refill the buffer and read the record again.
+     * @throws IllegalArgumentException if the next record isn't a system info record or is corrupt
+     */
+    public RingDeviceSystemInfo decodeSystemInfo(ByteBuffer buffer) {
+        int start = buffer.position();
+        int dictionarySize = entries.size();
+        try {
+            checkType(buffer, DeviceModelFormat.SYSTEM_INFO);
+            return RingDeviceSystemInfo.builder()
+                    .withDeviceId(readDeviceId(buffer))
+                    .withDeviceFirmwareVersion(readVersion(buffer))
+                    .build();
+        } catch (BufferUnderflowException e) {
+            rollback(buffer, start, dictionarySize);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads an update response record from the buffer's position.
+     * @param buffer The buffer to read from
+     * @return the record
+     * @throws BufferUnderflowException if the buffer ends before the record does. Nothing is consumed and
+     *         the decoder is unchanged, so the caller can refill the buffer and read the record again.
+     * @throws IllegalArgumentException if the next record isn't an update response record or is corrupt
+     */
+    public UpdateDeviceFirmwareResponse decodeUpdateResponse(ByteBuffer buffer) {
+        int start = buffer.position();
+        int dictionarySize = entries.size();
+        try {
+            checkType(buffer, DeviceModelFormat.UPDATE_RESPONSE);
+            return UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId(readDeviceId(buffer))
+                    .withVersion(readVersion(buffer))
+                    .withWasSuccessful(buffer.get() != 0)
+                    .build();
+        } catch (BufferUnderflowException e) {
+            rollback(buffer, start, dictionarySize);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads a customer devices record from the buffer's position.
+     * @param buffer The buffer to read from
+     * @return the record
+     * @throws BufferUnderflowException if the buffer ends before the record does. Nothing is consumed and
+     *         the decoder is unchanged, so the caller can refill the buffer and read the record again.
+     * @throws IllegalArgumentException if the next record isn't a customer devices record or is corrupt
+     */
+    public GetCustomerDevicesResponse decodeCustomerDevices(ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            checkType(buffer, DeviceModelFormat.CUSTOMER_DEVICES);
+            String customerId = readString(buffer);
+            List<String> deviceIds = null;
+            int count = readVarint(buffer);
+            if (count != DeviceModelFormat.NULL) {
+                // Every device ID takes at least one byte, which bounds the size of a corrupt count.
+                if (count - 1 > buffer.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                deviceIds = new ArrayList<>(count - 1);
+                for (int i = 1; i < count; i++) {
+                    deviceIds.add(readDeviceId(buffer));
+                }
+            }
+            return GetCustomerDevicesResponse.builder()
+                    .withCustomerId(customerId)
+                    .withOwnedDeviceIds(deviceIds)
+                    .withNextToken(readString(buffer))
+                    .build();
+        } catch (BufferUnderflowException e) {
+            rollback(buffer, start, entries.size());
+            throw e;
+        }
+    }
+
+    private String readDeviceId(ByteBuffer buffer) {
+        int code = readVarint(buffer);
+        switch (code) {
+            case DeviceModelFormat.NULL:
+                return null;
+            case DeviceModelFormat.DEVICE_ID_NEW_ROOT:
+                previousRoot = readVarint(buffer);
+                return previousRoot + "-" + readVarint(buffer);
+            case DeviceModelFormat.DEVICE_ID_SAME_ROOT:
+                return previousRoot + "-" + readVarint(buffer);
+            default:
+                return readUtf8(buffer, code - DeviceModelFormat.DEVICE_ID_STRING);
+        }
+    }
+
+    private RingDeviceFirmwareVersion readVersion(ByteBuffer buffer) {
+        int code = readVarint(buffer);
+        if (code == DeviceModelFormat.NULL) {
+            return null;
+        }
+        if (code == DeviceModelFormat.VERSION_LITERAL) {
+            return RingDeviceFirmwareVersion.builder().withVersionNumber(readString(buffer)).build();
+        }
+        int index = code - DeviceModelFormat.VERSION_ENTRY;
+        if (index >= 0 && index < entries.size()) {
+            return entries.get(index);
+        }
+        if (index == entries.size() && index < DeviceModelFormat.MAX_DICTIONARY_SIZE) {
+            RingDeviceFirmwareVersion version = RingDeviceFirmwareVersion.builder()
+                    .withVersionNumber(readString(buffer))
+                    .build();
+            entries.add(version);
+            return version;
+        }
+        throw new IllegalArgumentException(String.format("Unknown firmware version code [%d] at position [%d]",
+                code, buffer.position()));
+    }
+
+    private void rollback(ByteBuffer buffer, int start, int dictionarySize) {
+        buffer.position(start);
+        while (entries.size() > dictionarySize) {
+            entries.remove(entries.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.kenzie.executorservices.ringupdatescheck.model.codec;
+
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.DeviceId;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelFormat.writeBytes;
+import static com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelFormat.writeString;
+import static com.kenzie.executorservices.ringupdatescheck.model.codec.DeviceModelFormat.writeVarint;
+
+/**
+ * Writes device-communication models to a ByteBuffer in a compact binary form, for persisting sweep
+ * results or sending them between workers. DeviceModelDecoder reads them back.
+ *
+ * Records are written one after another into the same stream. Each firmware version is written in full
+ * the first time it appears and as a small dictionary code after that, and "root-index" device IDs are
+ * written as two varints instead of text, so a typical record takes a few bytes. See DeviceModelFormat
+ * for the layout.
+ *
+ * An encoder holds the stream's version dictionary, so a stream must be read by a single decoder in
+ * the order it was written. Encoders are not thread-safe.
+ */
+public final class DeviceModelEncoder {
+    private final Map<RingDeviceFirmwareVersion, Integer> dictionary = new HashMap<>();
+    private final List<RingDeviceFirmwareVersion> entries = new ArrayList<>();
+    private int previousRoot;
+
+    /**
+     * Writes a system info record at the buffer's position.
+     * @param systemInfo The record to write
+     * @param buffer The buffer to write to
+     * @throws BufferOverflowException if the record doesn't fit. Nothing is written and the encoder is
+     *         unchanged, so the caller can drain the buffer and write the record again.
+     */
+    public void encode(RingDeviceSystemInfo systemInfo, ByteBuffer buffer) {
+        int start = buffer.position();
+        int dictionarySize = entries.size();
+        try {
+            buffer.put(DeviceModelFormat.SYSTEM_INFO);
+            startRecord();
+            writeDeviceId(buffer, systemInfo.getDeviceId());
+            writeVersion(buffer, systemInfo.getDeviceFirmwareVersion());
+        } catch (BufferOverflowException e) {
+            rollback(buffer, start, dictionarySize);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes an update response record at the buffer's position.
+     * @param response The record to write
+     * @param buffer The buffer to write to
+     * @throws BufferOverflowException if the record doesn't fit. Nothing is written and the encoder is
+     *         unchanged, so the caller can drain the buffer and write the record again.
+     */
+    public void encode(UpdateDeviceFirmwareResponse response, ByteBuffer buffer) {
+        int start = buffer.position();
+        int dictionarySize = entries.size();
+        try {
+            buffer.put(DeviceModelFormat.UPDATE_RESPONSE);
+            startRecord();
+            writeDeviceId(buffer, response.getDeviceId());
+            writeVersion(buffer, response.getVersion());
+            buffer.put((byte) (response.isWasSuccessful() ? 1 : 0));
+        } catch (BufferOverflowException e) {
+            rollback(buffer, start, dictionarySize);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a customer devices record at the buffer's position.
+     * @param response The record to write
+     * @param buffer The buffer to write to
+     * @throws BufferOverflowException if the record doesn't fit. Nothing is written and the encoder is
+     *         unchanged, so the caller can drain the buffer and write the record again.
+     */
+    public void encode(GetCustomerDevicesResponse response, ByteBuffer buffer) {
+        int start = buffer.position();
+        try {
+            buffer.put(DeviceModelFormat.CUSTOMER_DEVICES);
+            startRecord();
+            writeString(buffer, response.getCustomerId());
+            List<String> deviceIds = response.getDeviceIds();
+            if (deviceIds == null) {
+                writeVarint(buffer, DeviceModelFormat.NULL);
+            } else {
+                writeVarint(buffer, deviceIds.size() + 1);
+                for (String deviceId : deviceIds) {
+                    writeDeviceId(buffer, deviceId);
+                }
+            }
+            writeString(buffer, response.getNextToken());
+        } catch (BufferOverflowException e) {
+            rollback(buffer, start, entries.size());
+            throw e;
+        }
+    }
+
+    private void startRecord() {
+        previousRoot = -1;
+    }
+
+    private void writeDeviceId(ByteBuffer buffer, String deviceId) {
+        if (deviceId == null) {
+            writeVarint(buffer, DeviceModelFormat.NULL);
+            return;
+        }
+        long packed = DeviceId.tryPack(deviceId);
+        if (packed < 0) {
+            writeBytes(buffer, deviceId.getBytes(StandardCharsets.UTF_8), DeviceModelFormat.DEVICE_ID_STRING);
+            return;
+        }
+        int root = (int) (packed >>> 32);
+        if (root == previousRoot) {
+            writeVarint(buffer, DeviceModelFormat.DEVICE_ID_SAME_ROOT);
+        } else {
+            writeVarint(buffer, DeviceModelFormat.DEVICE_ID_NEW_ROOT);
+            writeVarint(buffer, root);
+            previousRoot = root;
+        }
+        writeVarint(buffer, (int) packed);
+    }
+
+    private void writeVersion(ByteBuffer buffer, RingDeviceFirmwareVersion version) {
+        if (version == null) {
+            writeVarint(buffer, DeviceModelFormat.NULL);
+            return;
+        }
+        Integer code = dictionary.get(version);
+        if (code != null) {
+            writeVarint(buffer, code);
+        } else if (entries.size() < DeviceModelFormat.MAX_DICTIONARY_SIZE) {
+            code = DeviceModelFormat.VERSION_ENTRY + entries.size();
+            dictionary.put(version, code);
+            entries.add(version);
+            writeVarint(buffer, code);
+            writeString(buffer, version.getVersionNumber());
+        } else {
+            writeVarint(buffer, DeviceModelFormat.VERSION_LITERAL);
+            writeString(buffer, version.getVersionNumber());
+        }
+    }
+
+    private void rollback(ByteBuffer buffer, int start, int dictionarySize) {
+        buffer.position(start);
+        while (entries.size() > dictionarySize) {
+            dictionary.remove(entries.remove(entries.size() - 1));
+        }
+    }
+}
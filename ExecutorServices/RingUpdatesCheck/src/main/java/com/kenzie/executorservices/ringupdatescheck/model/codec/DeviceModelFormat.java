@@ -0,0 +1,108 @@
+package com.kenzie.executorservices.ringupdatescheck.model.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary layout shared by DeviceModelEncoder and DeviceModelDecoder.
+ *
+ * Every record starts with a one-byte type tag. All lengths, counts and codes are unsigned varints:
+ * seven bits per byte, low bits first, the top bit set on every byte but the last.
+ * <ul>
+ *   <li>String: 0 for null, otherwise the UTF-8 length plus one, then the bytes.</li>
+ *   <li>Device ID: 0 for null; 1, the root and the index for a "root-index" ID; 2 and the index for a
+ *   "root-index" ID under the same root as the previous one in the record; otherwise the UTF-8 length
+ *   plus three, then the bytes.</li>
+ *   <li>Firmware version: 0 for null; 1 and a string for a version that isn't in the dictionary;
+ *   otherwise the dictionary index plus two. The code one past the last entry adds a new entry and is
+ *   followed by its version number string.</li>
+ *   <li>List: 0 for null, otherwise the size plus one, then the elements.</li>
+ * </ul>
+ */
+final class DeviceModelFormat {
+    static final byte SYSTEM_INFO = 1;
+    static final byte UPDATE_RESPONSE = 2;
+    static final byte CUSTOMER_DEVICES = 3;
+
+    static final int NULL = 0;
+    static final int DEVICE_ID_NEW_ROOT = 1;
+    static final int DEVICE_ID_SAME_ROOT = 2;
+    static final int DEVICE_ID_STRING = 3;
+    static final int VERSION_LITERAL = 1;
+    static final int VERSION_ENTRY = 2;
+
+    /**
+     * Streams only carry a handful of versions. The limit only protects against unbounded garbage input;
+     * past it, versions are written out in full every time.
+     */
+    static final int MAX_DICTIONARY_SIZE = 256;
+
+    private DeviceModelFormat() {}
+
+    static void writeVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Malformed varint ending at position [%d]",
+                buffer.position()));
+    }
+
+    static void writeBytes(ByteBuffer buffer, byte[] bytes, int offset) {
+        writeVarint(buffer, bytes.length + offset);
+        buffer.put(bytes);
+    }
+
+    static String readUtf8(ByteBuffer buffer, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException(String.format("Invalid string length [%d] at position [%d]",
+                    length, buffer.position()));
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        if (!buffer.hasArray()) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    static void writeString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            writeVarint(buffer, NULL);
+        } else {
+            writeBytes(buffer, value.getBytes(StandardCharsets.UTF_8), 1);
+        }
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int code = readVarint(buffer);
+        return code == NULL ? null : readUtf8(buffer, code - 1);
+    }
+
+    static void checkType(ByteBuffer buffer, byte expected) {
+        byte type = buffer.get();
+        if (type != expected) {
+            throw new IllegalArgumentException(String.format("Expected record type [%d] but found [%d] at [%d]",
+                    expected, type, buffer.position() - 1));
+        }
+    }
+}
@@ -30,13 +30,30 @@ public class GetCustomerDevicesRequest extends Object  {
             return this;
         }
 
+        protected Integer maxResults;
         /**
-         * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
-         * @param instance
-         *   The instance to be populated.
+         * Sets the value of the field "maxResults" to be used for the constructed object.
+         * @param maxResults
+         *   The value of the "maxResults" field.
+         * @return
+         *   This builder.
          */
-        protected void populate(GetCustomerDevicesRequest instance) {
-            instance.setCustomerId(this.customerId);
+        public Builder withMaxResults(Integer maxResults) {
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        protected String nextToken;
+        /**
+         * Sets the value of the field "nextToken" to be used for the constructed object.
+         * @param nextToken
+         *   The value of the "nextToken" field.
+         * @return
+         *   This builder.
+         */
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
         }
 
         /**
@@ -46,22 +63,31 @@ public class GetCustomerDevicesRequest extends Object  {
          * </p>
          */
         public GetCustomerDevicesRequest build() {
-            GetCustomerDevicesRequest instance = new GetCustomerDevicesRequest();
-
-            populate(instance);
-
-            return instance;
+            return new GetCustomerDevicesRequest(this);
         }
     };
 
-    private String customerId;
+    private final String customerId;
+    private final Integer maxResults;
+    private final String nextToken;
+    private int hashCode;
+
+    private GetCustomerDevicesRequest(Builder builder) {
+        this.customerId = builder.customerId;
+        this.maxResults = builder.maxResults;
+        this.nextToken = builder.nextToken;
+    }
 
     public String getCustomerId() {
         return this.customerId;
     }
 
-    public void setCustomerId(String customerId) {
-        this.customerId = customerId;
+    public Integer getMaxResults() {
+        return this.maxResults;
+    }
+
+    public String getNextToken() {
+        return this.nextToken;
     }
 
     private static final int classNameHashCode =
@@ -69,13 +95,20 @@ public class GetCustomerDevicesRequest extends Object  {
 
     /**
      * HashCode implementation for GetCustomerDevicesRequest
-     * based on java.util.Arrays.hashCode
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
      */
     @Override
     public int hashCode() {
-        return internalHashCodeCompute(
-                classNameHashCode,
-                getCustomerId());
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + Objects.hashCode(customerId);
+            result = 31 * result + Objects.hashCode(maxResults);
+            result = 31 * result + Objects.hashCode(nextToken);
+            hashCode = result;
+        }
+        return result;
     }
 
     private static int internalHashCodeCompute(Object... objects) {
@@ -84,18 +117,26 @@ public class GetCustomerDevicesRequest extends Object  {
 
     /**
      * Equals implementation for GetCustomerDevicesRequest
-     * based on instanceof and Object.equals().
+     * based on identity, then instanceof, cached hash codes and Object.equals().
      */
     @Override
     public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof GetCustomerDevicesRequest)) {
             return false;
         }
 
         GetCustomerDevicesRequest that = (GetCustomerDevicesRequest) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
 
         return
-                Objects.equals(getCustomerId(), that.getCustomerId());
+                Objects.equals(getCustomerId(), that.getCustomerId())
+                        && Objects.equals(getMaxResults(), that.getMaxResults())
+                        && Objects.equals(getNextToken(), that.getNextToken());
     }
 
     /**
@@ -116,6 +157,14 @@ public class GetCustomerDevicesRequest extends Object  {
 
         ret.append("customerId=");
         ret.append(String.valueOf(customerId));
+        ret.append(", ");
+
+        ret.append("maxResults=");
+        ret.append(String.valueOf(maxResults));
+        ret.append(", ");
+
+        ret.append("nextToken=");
+        ret.append(String.valueOf(nextToken));
         ret.append(")");
 
         return ret.toString();
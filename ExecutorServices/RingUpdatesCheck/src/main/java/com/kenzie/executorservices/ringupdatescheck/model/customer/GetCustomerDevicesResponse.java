@@ -1,7 +1,10 @@
 package com.kenzie.executorservices.ringupdatescheck.model.customer;
 
+import com.google.common.collect.ImmutableList;
+
 import java.util.List;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
 
 public class GetCustomerDevicesResponse extends Object  {
@@ -32,8 +35,10 @@ public class GetCustomerDevicesResponse extends Object  {
         }
 
         protected List<String> deviceIds;
+        protected boolean deviceIdsOwned;
         /**
          * Sets the value of the field "deviceIds" to be used for the constructed object.
+         * The list is copied when the object is built, unless it is already immutable.
          * @param deviceIds
          *   The value of the "deviceIds" field.
          * @return
@@ -41,17 +46,36 @@ public class GetCustomerDevicesResponse extends Object  {
          */
         public Builder withDeviceIds(List<String> deviceIds) {
             this.deviceIds = deviceIds;
+            this.deviceIdsOwned = false;
             return this;
         }
 
         /**
-         * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
-         * @param instance
-         *   The instance to be populated.
+         * Hands the list to the constructed object without copying it. Use this for a list built just
+         * for the response, such as a pre-sized ArrayList; the caller must not modify it afterwards.
+         * The object's getter returns an unmodifiable view of the list.
+         * @param deviceIds
+         *   The value of the "deviceIds" field.
+         * @return
+         *   This builder.
          */
-        protected void populate(GetCustomerDevicesResponse instance) {
-            instance.setCustomerId(this.customerId);
-            instance.setDeviceIds(this.deviceIds);
+        public Builder withOwnedDeviceIds(List<String> deviceIds) {
+            this.deviceIds = deviceIds == null ? null : Collections.unmodifiableList(deviceIds);
+            this.deviceIdsOwned = true;
+            return this;
+        }
+
+        protected String nextToken;
+        /**
+         * Sets the value of the field "nextToken" to be used for the constructed object.
+         * @param nextToken
+         *   The value of the "nextToken" field.
+         * @return
+         *   This builder.
+         */
+        public Builder withNextToken(String nextToken) {
+            this.nextToken = nextToken;
+            return this;
         }
 
         /**
@@ -61,31 +85,35 @@ public class GetCustomerDevicesResponse extends Object  {
          * </p>
          */
         public GetCustomerDevicesResponse build() {
-            GetCustomerDevicesResponse instance = new GetCustomerDevicesResponse();
-
-            populate(instance);
-
-            return instance;
+            return new GetCustomerDevicesResponse(this);
         }
     };
 
-    private String customerId;
-    private List<String> deviceIds;
+    private final String customerId;
+    private final List<String> deviceIds;
+    private final String nextToken;
+    private int hashCode;
+
+    private GetCustomerDevicesResponse(Builder builder) {
+        this.customerId = builder.customerId;
+        if (builder.deviceIdsOwned || builder.deviceIds == null) {
+            this.deviceIds = builder.deviceIds;
+        } else {
+            this.deviceIds = ImmutableList.copyOf(builder.deviceIds);
+        }
+        this.nextToken = builder.nextToken;
+    }
 
     public String getCustomerId() {
         return this.customerId;
     }
 
-    public void setCustomerId(String customerId) {
-        this.customerId = customerId;
-    }
-
     public List<String> getDeviceIds() {
         return this.deviceIds;
     }
 
-    public void setDeviceIds(List<String> deviceIds) {
-        this.deviceIds = deviceIds;
+    public String getNextToken() {
+        return this.nextToken;
     }
 
     private static final int classNameHashCode =
@@ -93,14 +121,20 @@ public class GetCustomerDevicesResponse extends Object  {
 
     /**
      * HashCode implementation for GetCustomerDevicesResponse
-     * based on java.util.Arrays.hashCode
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
      */
     @Override
     public int hashCode() {
-        return internalHashCodeCompute(
-                classNameHashCode,
-                getCustomerId(),
-                getDeviceIds());
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + Objects.hashCode(customerId);
+            result = 31 * result + Objects.hashCode(deviceIds);
+            result = 31 * result + Objects.hashCode(nextToken);
+            hashCode = result;
+        }
+        return result;
     }
 
     private static int internalHashCodeCompute(Object... objects) {
@@ -109,19 +143,26 @@ public class GetCustomerDevicesResponse extends Object  {
 
     /**
      * Equals implementation for GetCustomerDevicesResponse
-     * based on instanceof and Object.equals().
+     * based on identity, then instanceof, cached hash codes and Object.equals().
      */
     @Override
     public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof GetCustomerDevicesResponse)) {
             return false;
         }
 
         GetCustomerDevicesResponse that = (GetCustomerDevicesResponse) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
 
         return
                 Objects.equals(getCustomerId(), that.getCustomerId())
-                        && Objects.equals(getDeviceIds(), that.getDeviceIds());
+                        && Objects.equals(getDeviceIds(), that.getDeviceIds())
+                        && Objects.equals(getNextToken(), that.getNextToken());
     }
 
     /**
@@ -146,6 +187,10 @@ public class GetCustomerDevicesResponse extends Object  {
 
         ret.append("deviceIds=");
         ret.append(String.valueOf(deviceIds));
+        ret.append(", ");
+
+        ret.append("nextToken=");
+        ret.append(String.valueOf(nextToken));
         ret.append(")");
 
         return ret.toString();
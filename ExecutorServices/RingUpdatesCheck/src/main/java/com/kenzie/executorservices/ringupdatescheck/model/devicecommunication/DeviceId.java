@@ -0,0 +1,190 @@
+package com.kenzie.executorservices.ringupdatescheck.model.devicecommunication;
+
+import java.util.Objects;
+
+/**
+ * Compact, immutable device identifier: the customer's root device ID and the device's index under it,
+ * packed into one long.
+ *
+ * Device IDs are written as "root-index", e.g. "1234-5". A DeviceId only renders that string the
+ * first time toString() is called and then keeps it, so a sweep that never needs the text form
+ * never allocates it, and one that does allocates it once per device. Equality, hashing and ordering
+ * all work on the packed long. The device request and response models keep a DeviceId they are built
+ * with and only render it when asked for the device ID string.
+ */
+public final class DeviceId implements Comparable<DeviceId> {
+    private static final int MAX_INT_DIGITS = 10;
+
+    private final long packed;
+    private final int hash;
+    private String rendered;
+
+    private DeviceId(long packed) {
+        this.packed = packed;
+        this.hash = Long.hashCode(packed * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * @param rootId The customer's root device ID, not negative
+     * @param index The device's index under the root, not negative
+     * @return the device ID
+     */
+    public static DeviceId of(int rootId, int index) {
+        if (rootId < 0 || index < 0) {
+            throw new IllegalArgumentException(String.format("Invalid device ID: rootId [%d], index [%d]",
+                    rootId, index));
+        }
+        return new DeviceId((long) rootId << 32 | index);
+    }
+
+    /**
+     * @param packed A value previously returned by asLong()
+     * @return the device ID it encodes
+     */
+    public static DeviceId fromLong(long packed) {
+        return of((int) (packed >>> 32), (int) packed);
+    }
+
+    /**
+     * Parses a device ID in the "root-index" form.
+     * @param deviceId The device ID string
+     * @return the device ID, which renders back to the same string
+     * @throws IllegalArgumentException if the string isn't two non-negative integers joined by a dash
+     */
+    public static DeviceId parse(String deviceId) {
+        long packed = tryPack(deviceId);
+        if (packed < 0) {
+            throw new IllegalArgumentException(String.format("Invalid device ID [%s]", deviceId));
+        }
+        DeviceId parsed = new DeviceId(packed);
+        parsed.rendered = deviceId;
+        return parsed;
+    }
+
+    /**
+     * Packs a device ID in the "root-index" form without allocating, for callers that keep device IDs
+     * as longs and fall back to the string for anything else.
+     * @param deviceId The device ID string
+     * @return the value asLong() would return for the parsed ID, or -1 if the string isn't two
+     *         non-negative ints joined by a dash, written exactly as toString() would write them
+     */
+    public static long tryPack(String deviceId) {
+        int dash = deviceId.indexOf('-');
+        if (dash < 1) {
+            return -1;
+        }
+        long rootId = parseCanonicalInt(deviceId, 0, dash);
+        long index = rootId < 0 ? -1 : parseCanonicalInt(deviceId, dash + 1, deviceId.length());
+        return index < 0 ? -1 : rootId << 32 | index;
+    }
+
+    /**
+     * Returns the non-negative int the characters spell, or -1 if they don't spell one exactly as
+     * Integer.toString would, e.g. "01" or "+1".
+     */
+    private static long parseCanonicalInt(String value, int start, int end) {
+        int length = end - start;
+        if (length < 1 || length > MAX_INT_DIGITS || (length > 1 && value.charAt(start) == '0')) {
+            return -1;
+        }
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result <= Integer.MAX_VALUE ? result : -1;
+    }
+
+    public int getRootId() {
+        return (int) (packed >>> 32);
+    }
+
+    public int getIndex() {
+        return (int) packed;
+    }
+
+    /**
+     * @return both parts packed into one long, e.g. for storing many IDs in a long[]
+     */
+    public long asLong() {
+        return packed;
+    }
+
+    /**
+     * @return the same value as toString().hashCode(), computed from the two numbers without rendering
+     *         the string
+     */
+    public int stringHashCode() {
+        return hashDigits(31 * hashDigits(0, getRootId()) + '-', getIndex());
+    }
+
+    /**
+     * Continues a String hash code over the decimal digits of a non-negative int.
+     */
+    private static int hashDigits(int hash, int value) {
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        int result = hash;
+        for (; divisor > 0; divisor /= 10) {
+            result = 31 * result + '0' + value / divisor % 10;
+        }
+        return result;
+    }
+
+    /**
+     * Package-private helpers for the models that accept either form of device ID. Each model holds
+     * exactly one of the string and the DeviceId, or neither.
+     */
+    static String render(String deviceId, DeviceId compactDeviceId) {
+        return compactDeviceId == null ? deviceId : compactDeviceId.toString();
+    }
+
+    static int stringHashCode(String deviceId, DeviceId compactDeviceId) {
+        if (compactDeviceId != null) {
+            return compactDeviceId.stringHashCode();
+        }
+        return deviceId == null ? 0 : deviceId.hashCode();
+    }
+
+    static boolean sameDeviceId(String deviceId, DeviceId compactDeviceId,
+                                String otherDeviceId, DeviceId otherCompactDeviceId) {
+        if (compactDeviceId != null && otherCompactDeviceId != null) {
+            return compactDeviceId.packed == otherCompactDeviceId.packed;
+        }
+        return Objects.equals(render(deviceId, compactDeviceId), render(otherDeviceId, otherCompactDeviceId));
+    }
+
+    @Override
+    public int compareTo(DeviceId other) {
+        return Long.compare(packed, other.packed);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || other instanceof DeviceId && packed == ((DeviceId) other).packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * @return the device ID in the "root-index" form
+     */
+    @Override
+    public String toString() {
+        // Racing threads may each render it once; every rendering is equal, so no synchronization is needed.
+        String result = rendered;
+        if (result == null) {
+            result = getRootId() + "-" + getIndex();
+            rendered = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+package com.kenzie.executorservices.ringupdatescheck.model.devicecommunication;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.Objects;
+
+public class GetDeviceSystemInfoBatchRequest extends Object  {
+
+    /**
+     * Statically creates a builder instance for GetDeviceSystemInfoBatchRequest.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Fluent builder for instances of GetDeviceSystemInfoBatchRequest.
+     */
+    public static class Builder {
+
+        protected List<String> deviceIds;
+        /**
+         * Sets the value of the field "deviceIds" to be used for the constructed object.
+         * @param deviceIds
+         *   The value of the "deviceIds" field.
+         * @return
+         *   This builder.
+         */
+        public Builder withDeviceIds(List<String> deviceIds) {
+            this.deviceIds = deviceIds;
+            return this;
+        }
+
+        /**
+         * Builds an instance of GetDeviceSystemInfoBatchRequest.
+         * <p>
+         * The built object has its fields set to the values given when calling the "with*" methods of this builder.
+         * </p>
+         */
+        public GetDeviceSystemInfoBatchRequest build() {
+            return new GetDeviceSystemInfoBatchRequest(this);
+        }
+    };
+
+    private final List<String> deviceIds;
+    private int hashCode;
+
+    private GetDeviceSystemInfoBatchRequest(Builder builder) {
+        this.deviceIds = builder.deviceIds == null ? null : ImmutableList.copyOf(builder.deviceIds);
+    }
+
+    public List<String> getDeviceIds() {
+        return this.deviceIds;
+    }
+
+    private static final int classNameHashCode =
+            internalHashCodeCompute("com.amazon.ata.executorservice.classroom.devicecommunication.GetDeviceSystemInfoBatchRequest");
+
+    /**
+     * HashCode implementation for GetDeviceSystemInfoBatchRequest
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
+     */
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + Objects.hashCode(deviceIds);
+            hashCode = result;
+        }
+        return result;
+    }
+
+    private static int internalHashCodeCompute(Object... objects) {
+        return Arrays.hashCode(objects);
+    }
+
+    /**
+     * Equals implementation for GetDeviceSystemInfoBatchRequest
+     * based on identity, then instanceof, cached hash codes and Object.equals().
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof GetDeviceSystemInfoBatchRequest)) {
+            return false;
+        }
+
+        GetDeviceSystemInfoBatchRequest that = (GetDeviceSystemInfoBatchRequest) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
+
+        return
+                Objects.equals(getDeviceIds(), that.getDeviceIds());
+    }
+
+    /**
+     * Returns a string representation of this object. The content of any types marked with the
+     * <a href="https://w.amazon.com/index.php/Coral/Model/XML/Traits#Sensitive">sensitive</a>
+     * trait will be redacted.
+     * <p/>
+     * <b>Do not attempt to parse the string returned by this method.</b> Coral's <tt>toString</tt>
+     * format is undefined and subject to change. To obtain a proper machine-readable representation
+     * of this object, use Coral Serialize directly.
+     * @see <a href="https://w.amazon.com/index.php/Coral/Serialize/Manual">Coral Serialize Manual</a>
+     * @see <a href="https://w.amazon.com/index.php/Coral/Serialize/FAQ">Coral Serialize FAQ</a>
+     */
+    @Override
+    public String toString() {
+        StringBuilder ret = new StringBuilder();
+        ret.append("GetDeviceSystemInfoBatchRequest(");
+
+        ret.append("deviceIds=");
+        ret.append(String.valueOf(deviceIds));
+        ret.append(")");
+
+        return ret.toString();
+    }
+
+}
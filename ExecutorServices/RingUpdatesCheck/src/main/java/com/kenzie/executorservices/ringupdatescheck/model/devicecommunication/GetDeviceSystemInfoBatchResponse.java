@@ -0,0 +1,159 @@
+package com.kenzie.executorservices.ringupdatescheck.model.devicecommunication;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+public class GetDeviceSystemInfoBatchResponse extends Object  {
+
+    /**
+     * Statically creates a builder instance for GetDeviceSystemInfoBatchResponse.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Fluent builder for instances of GetDeviceSystemInfoBatchResponse.
+     */
+    public static class Builder {
+
+        protected List<RingDeviceSystemInfo> systemInfos;
+        /**
+         * Sets the value of the field "systemInfos" to be used for the constructed object.
+         * @param systemInfos
+         *   The value of the "systemInfos" field.
+         * @return
+         *   This builder.
+         */
+        public Builder withSystemInfos(List<RingDeviceSystemInfo> systemInfos) {
+            this.systemInfos = systemInfos;
+            return this;
+        }
+
+        protected Map<String, String> errors;
+        /**
+         * Sets the value of the field "errors" to be used for the constructed object.
+         * @param errors
+         *   The value of the "errors" field: why each device that didn't answer failed, keyed by device ID.
+         * @return
+         *   This builder.
+         */
+        public Builder withErrors(Map<String, String> errors) {
+            this.errors = errors;
+            return this;
+        }
+
+        /**
+         * Builds an instance of GetDeviceSystemInfoBatchResponse.
+         * <p>
+         * The built object has its fields set to the values given when calling the "with*" methods of this builder.
+         * </p>
+         */
+        public GetDeviceSystemInfoBatchResponse build() {
+            return new GetDeviceSystemInfoBatchResponse(this);
+        }
+    };
+
+    private final List<RingDeviceSystemInfo> systemInfos;
+    private final Map<String, String> errors;
+    private int hashCode;
+
+    private GetDeviceSystemInfoBatchResponse(Builder builder) {
+        this.systemInfos = builder.systemInfos == null ? null : ImmutableList.copyOf(builder.systemInfos);
+        this.errors = builder.errors == null ? ImmutableMap.of() : ImmutableMap.copyOf(builder.errors);
+    }
+
+    /**
+     * @return the system info of every device that answered, in the order the devices were requested
+     */
+    public List<RingDeviceSystemInfo> getSystemInfos() {
+        return this.systemInfos;
+    }
+
+    /**
+     * @return why each device that didn't answer failed, keyed by device ID; empty if every device answered
+     */
+    public Map<String, String> getErrors() {
+        return this.errors;
+    }
+
+    private static final int classNameHashCode =
+            internalHashCodeCompute("com.amazon.ata.executorservice.classroom.devicecommunication.GetDeviceSystemInfoBatchResponse");
+
+    /**
+     * HashCode implementation for GetDeviceSystemInfoBatchResponse
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
+     */
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + Objects.hashCode(systemInfos);
+            result = 31 * result + Objects.hashCode(errors);
+            hashCode = result;
+        }
+        return result;
+    }
+
+    private static int internalHashCodeCompute(Object... objects) {
+        return Arrays.hashCode(objects);
+    }
+
+    /**
+     * Equals implementation for GetDeviceSystemInfoBatchResponse
+     * based on identity, then instanceof, cached hash codes and Object.equals().
+     */
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof GetDeviceSystemInfoBatchResponse)) {
+            return false;
+        }
+
+        GetDeviceSystemInfoBatchResponse that = (GetDeviceSystemInfoBatchResponse) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
+
+        return
+                Objects.equals(getSystemInfos(), that.getSystemInfos())
+                && Objects.equals(getErrors(), that.getErrors());
+    }
+
+    /**
+     * Returns a string representation of this object. The content of any types marked with the
+     * <a href="https://w.amazon.com/index.php/Coral/Model/XML/Traits#Sensitive">sensitive</a>
+     * trait will be redacted.
+     * <p/>
+     * <b>Do not attempt to parse the string returned by this method.</b> Coral's <tt>toString</tt>
+     * format is undefined and subject to change. To obtain a proper machine-readable representation
+     * of this object, use Coral Serialize directly.
+     * @see <a href="https://w.amazon.com/index.php/Coral/Serialize/Manual">Coral Serialize Manual</a>
+     * @see <a href="https://w.amazon.com/index.php/Coral/Serialize/FAQ">Coral Serialize FAQ</a>
+     */
+    @Override
+    public String toString() {
+        StringBuilder ret = new StringBuilder();
+        ret.append("GetDeviceSystemInfoBatchResponse(");
+
+        ret.append("systemInfos=");
+        ret.append(String.valueOf(systemInfos));
+        ret.append(", ");
+
+        ret.append("errors=");
+        ret.append(String.valueOf(errors));
+        ret.append(")");
+
+        return ret.toString();
+    }
+
+}
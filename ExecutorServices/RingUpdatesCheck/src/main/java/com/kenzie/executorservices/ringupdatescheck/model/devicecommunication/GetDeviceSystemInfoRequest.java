@@ -1,7 +1,6 @@
 package com.kenzie.executorservices.ringupdatescheck.model.devicecommunication;
 
 import java.util.Arrays;
-import java.util.Objects;
 
 public class GetDeviceSystemInfoRequest extends Object  {
 
@@ -18,6 +17,7 @@ public class GetDeviceSystemInfoRequest extends Object  {
     public static class Builder {
 
         protected String deviceId;
+        protected DeviceId compactDeviceId;
         /**
          * Sets the value of the field "deviceId" to be used for the constructed object.
          * @param deviceId
@@ -27,16 +27,22 @@ public class GetDeviceSystemInfoRequest extends Object  {
          */
         public Builder withDeviceId(String deviceId) {
             this.deviceId = deviceId;
+            this.compactDeviceId = null;
             return this;
         }
 
         /**
-         * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
-         * @param instance
-         *   The instance to be populated.
+         * Sets the value of the field "deviceId" from a compact device ID. The built object keeps the
+         * DeviceId and only renders its "root-index" form when getDeviceId() is called.
+         * @param deviceId
+         *   The device ID.
+         * @return
+         *   This builder.
          */
-        protected void populate(GetDeviceSystemInfoRequest instance) {
-            instance.setDeviceId(this.deviceId);
+        public Builder withDeviceId(DeviceId deviceId) {
+            this.deviceId = null;
+            this.compactDeviceId = deviceId;
+            return this;
         }
 
         /**
@@ -46,22 +52,28 @@ public class GetDeviceSystemInfoRequest extends Object  {
          * </p>
          */
         public GetDeviceSystemInfoRequest build() {
-            GetDeviceSystemInfoRequest instance = new GetDeviceSystemInfoRequest();
-
-            populate(instance);
-
-            return instance;
+            return new GetDeviceSystemInfoRequest(this);
         }
     };
 
-    private String deviceId;
+    private final String deviceId;
+    private final DeviceId compactDeviceId;
+    private int hashCode;
+
+    private GetDeviceSystemInfoRequest(Builder builder) {
+        this.deviceId = builder.deviceId;
+        this.compactDeviceId = builder.compactDeviceId;
+    }
 
     public String getDeviceId() {
-        return this.deviceId;
+        return DeviceId.render(deviceId, compactDeviceId);
     }
 
-    public void setDeviceId(String deviceId) {
-        this.deviceId = deviceId;
+    /**
+     * @return the compact device ID this was built with, or null if it was built with a string
+     */
+    public DeviceId getCompactDeviceId() {
+        return this.compactDeviceId;
     }
 
     private static final int classNameHashCode =
@@ -69,13 +81,18 @@ public class GetDeviceSystemInfoRequest extends Object  {
 
     /**
      * HashCode implementation for GetDeviceSystemInfoRequest
-     * based on java.util.Arrays.hashCode
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
      */
     @Override
     public int hashCode() {
-        return internalHashCodeCompute(
-                classNameHashCode,
-                getDeviceId());
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + DeviceId.stringHashCode(deviceId, compactDeviceId);
+            hashCode = result;
+        }
+        return result;
     }
 
     private static int internalHashCodeCompute(Object... objects) {
@@ -84,18 +101,24 @@ public class GetDeviceSystemInfoRequest extends Object  {
 
     /**
      * Equals implementation for GetDeviceSystemInfoRequest
-     * based on instanceof and Object.equals().
+     * based on identity, then instanceof, cached hash codes and Object.equals().
      */
     @Override
     public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof GetDeviceSystemInfoRequest)) {
             return false;
         }
 
         GetDeviceSystemInfoRequest that = (GetDeviceSystemInfoRequest) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
 
         return
-                Objects.equals(getDeviceId(), that.getDeviceId());
+                DeviceId.sameDeviceId(deviceId, compactDeviceId, that.deviceId, that.compactDeviceId);
     }
 
     /**
@@ -115,7 +138,7 @@ public class GetDeviceSystemInfoRequest extends Object  {
         ret.append("GetDeviceSystemInfoRequest(");
 
         ret.append("deviceId=");
-        ret.append(String.valueOf(deviceId));
+        ret.append(String.valueOf(getDeviceId()));
         ret.append(")");
 
         return ret.toString();
@@ -30,15 +30,6 @@ public class GetDeviceSystemInfoResponse extends Object  {
             return this;
         }
 
-        /**
-         * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
-         * @param instance
-         *   The instance to be populated.
-         */
-        protected void populate(GetDeviceSystemInfoResponse instance) {
-            instance.setSystemInfo(this.systemInfo);
-        }
-
         /**
          * Builds an instance of GetDeviceSystemInfoResponse.
          * <p>
@@ -46,22 +37,19 @@ public class GetDeviceSystemInfoResponse extends Object  {
          * </p>
          */
         public GetDeviceSystemInfoResponse build() {
-            GetDeviceSystemInfoResponse instance = new GetDeviceSystemInfoResponse();
-
-            populate(instance);
-
-            return instance;
+            return new GetDeviceSystemInfoResponse(this);
         }
     };
 
-    private RingDeviceSystemInfo systemInfo;
+    private final RingDeviceSystemInfo systemInfo;
+    private int hashCode;
 
-    public RingDeviceSystemInfo getSystemInfo() {
-        return this.systemInfo;
+    private GetDeviceSystemInfoResponse(Builder builder) {
+        this.systemInfo = builder.systemInfo;
     }
 
-    public void setSystemInfo(RingDeviceSystemInfo systemInfo) {
-        this.systemInfo = systemInfo;
+    public RingDeviceSystemInfo getSystemInfo() {
+        return this.systemInfo;
     }
 
     private static final int classNameHashCode =
@@ -69,13 +57,18 @@ public class GetDeviceSystemInfoResponse extends Object  {
 
     /**
      * HashCode implementation for GetDeviceSystemInfoResponse
-     * based on java.util.Arrays.hashCode
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
      */
     @Override
     public int hashCode() {
-        return internalHashCodeCompute(
-                classNameHashCode,
-                getSystemInfo());
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + Objects.hashCode(systemInfo);
+            hashCode = result;
+        }
+        return result;
     }
 
     private static int internalHashCodeCompute(Object... objects) {
@@ -84,15 +77,21 @@ public class GetDeviceSystemInfoResponse extends Object  {
 
     /**
      * Equals implementation for GetDeviceSystemInfoResponse
-     * based on instanceof and Object.equals().
+     * based on identity, then instanceof, cached hash codes and Object.equals().
      */
     @Override
     public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof GetDeviceSystemInfoResponse)) {
             return false;
         }
 
         GetDeviceSystemInfoResponse that = (GetDeviceSystemInfoResponse) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
 
         return
                 Objects.equals(getSystemInfo(), that.getSystemInfo());
@@ -2,8 +2,25 @@ package com.kenzie.executorservices.ringupdatescheck.model.devicecommunication;
 
 import java.util.Arrays;
 import java.util.Objects;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A firmware version.
+ *
+ * Instances are interned: a fleet only runs a handful of versions, so the builder hands back one
+ * shared instance per version number, and millions of responses naming the same version share it.
+ * Equal versions are therefore usually the same object, and equals() returns on the identity check.
+ */
 public class RingDeviceFirmwareVersion extends Object  {
+    /**
+     * The limit only protects against unbounded garbage input; past it, new versions are still
+     * built correctly but aren't shared.
+     */
+    private static final int MAX_INTERNED_VERSIONS = 1024;
+
+    private static final ConcurrentMap<String, RingDeviceFirmwareVersion> INTERNED_VERSIONS =
+            new ConcurrentHashMap<>();
 
     /**
      * Statically creates a builder instance for RingDeviceFirmwareVersion.
@@ -30,38 +47,60 @@ public class RingDeviceFirmwareVersion extends Object  {
             return this;
         }
 
-        /**
-         * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
-         * @param instance
-         *   The instance to be populated.
-         */
-        protected void populate(RingDeviceFirmwareVersion instance) {
-            instance.setVersionNumber(this.versionNumber);
-        }
-
         /**
          * Builds an instance of RingDeviceFirmwareVersion.
          * <p>
          * The built object has its fields set to the values given when calling the "with*" methods of this builder.
+         * The shared instance for the version number is returned if there is one.
          * </p>
          */
         public RingDeviceFirmwareVersion build() {
-            RingDeviceFirmwareVersion instance = new RingDeviceFirmwareVersion();
-
-            populate(instance);
-
-            return instance;
+            if (versionNumber == null) {
+                return new RingDeviceFirmwareVersion(this);
+            }
+            RingDeviceFirmwareVersion version = INTERNED_VERSIONS.get(versionNumber);
+            if (version == null) {
+                version = new RingDeviceFirmwareVersion(this);
+                if (INTERNED_VERSIONS.size() < MAX_INTERNED_VERSIONS) {
+                    RingDeviceFirmwareVersion existing = INTERNED_VERSIONS.putIfAbsent(versionNumber, version);
+                    if (existing != null) {
+                        version = existing;
+                    }
+                }
+            }
+            return version;
         }
     };
 
-    private String versionNumber;
+    private final String versionNumber;
+    private int hashCode;
 
-    public String getVersionNumber() {
-        return this.versionNumber;
+    private RingDeviceFirmwareVersion(Builder builder) {
+        this.versionNumber = builder.versionNumber;
     }
 
-    public void setVersionNumber(String versionNumber) {
-        this.versionNumber = versionNumber;
+    /**
+     * Returns the shared instance equal to the given version, e.g. one that was deserialized.
+     * @param version The version, or null
+     * @return the shared instance if there is one, otherwise the version itself
+     */
+    public static RingDeviceFirmwareVersion intern(RingDeviceFirmwareVersion version) {
+        if (version == null || version.versionNumber == null) {
+            return version;
+        }
+        RingDeviceFirmwareVersion interned = INTERNED_VERSIONS.get(version.versionNumber);
+        if (interned != null) {
+            return interned;
+        }
+        if (INTERNED_VERSIONS.size() < MAX_INTERNED_VERSIONS) {
+            RingDeviceFirmwareVersion existing = INTERNED_VERSIONS.putIfAbsent(version.versionNumber, version);
+            return existing == null ? version : existing;
+        }
+        return version;
+    }
+
+    public String getVersionNumber() {
+        return this.versionNumber;
     }
 
     private static final int classNameHashCode =
@@ -69,13 +108,18 @@ public class RingDeviceFirmwareVersion extends Object  {
 
     /**
      * HashCode implementation for RingDeviceFirmwareVersion
-     * based on java.util.Arrays.hashCode
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
      */
     @Override
     public int hashCode() {
-        return internalHashCodeCompute(
-                classNameHashCode,
-                getVersionNumber());
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + Objects.hashCode(versionNumber);
+            hashCode = result;
+        }
+        return result;
     }
 
     private static int internalHashCodeCompute(Object... objects) {
@@ -84,15 +128,21 @@ public class RingDeviceFirmwareVersion extends Object  {
 
     /**
      * Equals implementation for RingDeviceFirmwareVersion
-     * based on instanceof and Object.equals().
+     * based on identity, then instanceof, cached hash codes and Object.equals().
      */
     @Override
     public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof RingDeviceFirmwareVersion)) {
             return false;
         }
 
         RingDeviceFirmwareVersion that = (RingDeviceFirmwareVersion) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
 
         return
                 Objects.equals(getVersionNumber(), that.getVersionNumber());
@@ -18,6 +18,7 @@ public class RingDeviceSystemInfo extends Object  {
     public static class Builder {
 
         protected String deviceId;
+        protected DeviceId compactDeviceId;
         /**
          * Sets the value of the field "deviceId" to be used for the constructed object.
          * @param deviceId
@@ -27,6 +28,21 @@ public class RingDeviceSystemInfo extends Object  {
          */
         public Builder withDeviceId(String deviceId) {
             this.deviceId = deviceId;
+            this.compactDeviceId = null;
+            return this;
+        }
+
+        /**
+         * Sets the value of the field "deviceId" from a compact device ID. The built object keeps the
+         * DeviceId and only renders its "root-index" form when getDeviceId() is called.
+         * @param deviceId
+         *   The device ID.
+         * @return
+         *   This builder.
+         */
+        public Builder withDeviceId(DeviceId deviceId) {
+            this.deviceId = null;
+            this.compactDeviceId = deviceId;
             return this;
         }
 
@@ -43,16 +59,6 @@ public class RingDeviceSystemInfo extends Object  {
             return this;
         }
 
-        /**
-         * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
-         * @param instance
-         *   The instance to be populated.
-         */
-        protected void populate(RingDeviceSystemInfo instance) {
-            instance.setDeviceId(this.deviceId);
-            instance.setDeviceFirmwareVersion(this.deviceFirmwareVersion);
-        }
-
         /**
          * Builds an instance of RingDeviceSystemInfo.
          * <p>
@@ -60,46 +66,54 @@ public class RingDeviceSystemInfo extends Object  {
          * </p>
          */
         public RingDeviceSystemInfo build() {
-            RingDeviceSystemInfo instance = new RingDeviceSystemInfo();
-
-            populate(instance);
-
-            return instance;
+            return new RingDeviceSystemInfo(this);
         }
     };
 
-    private String deviceId;
-    private RingDeviceFirmwareVersion deviceFirmwareVersion;
+    private final String deviceId;
+    private final DeviceId compactDeviceId;
+    private final RingDeviceFirmwareVersion deviceFirmwareVersion;
+    private int hashCode;
+
+    private RingDeviceSystemInfo(Builder builder) {
+        this.deviceId = builder.deviceId;
+        this.compactDeviceId = builder.compactDeviceId;
+        this.deviceFirmwareVersion = builder.deviceFirmwareVersion;
+    }
 
     public String getDeviceId() {
-        return this.deviceId;
+        return DeviceId.render(deviceId, compactDeviceId);
     }
 
-    public void setDeviceId(String deviceId) {
-        this.deviceId = deviceId;
+    /**
+     * @return the compact device ID this was built with, or null if it was built with a string
+     */
+    public DeviceId getCompactDeviceId() {
+        return this.compactDeviceId;
     }
 
     public RingDeviceFirmwareVersion getDeviceFirmwareVersion() {
         return this.deviceFirmwareVersion;
     }
 
-    public void setDeviceFirmwareVersion(RingDeviceFirmwareVersion deviceFirmwareVersion) {
-        this.deviceFirmwareVersion = deviceFirmwareVersion;
-    }
-
     private static final int classNameHashCode =
             internalHashCodeCompute("com.amazon.ata.executorservice.classroom.devicecommunication.RingDeviceSystemInfo");
 
     /**
      * HashCode implementation for RingDeviceSystemInfo
-     * based on java.util.Arrays.hashCode
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
      */
     @Override
     public int hashCode() {
-        return internalHashCodeCompute(
-                classNameHashCode,
-                getDeviceId(),
-                getDeviceFirmwareVersion());
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + DeviceId.stringHashCode(deviceId, compactDeviceId);
+            result = 31 * result + Objects.hashCode(deviceFirmwareVersion);
+            hashCode = result;
+        }
+        return result;
     }
 
     private static int internalHashCodeCompute(Object... objects) {
@@ -108,18 +122,24 @@ public class RingDeviceSystemInfo extends Object  {
 
     /**
      * Equals implementation for RingDeviceSystemInfo
-     * based on instanceof and Object.equals().
+     * based on identity, then instanceof, cached hash codes and Object.equals().
      */
     @Override
     public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof RingDeviceSystemInfo)) {
             return false;
         }
 
         RingDeviceSystemInfo that = (RingDeviceSystemInfo) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
 
         return
-                Objects.equals(getDeviceId(), that.getDeviceId())
+                DeviceId.sameDeviceId(deviceId, compactDeviceId, that.deviceId, that.compactDeviceId)
                         && Objects.equals(getDeviceFirmwareVersion(), that.getDeviceFirmwareVersion());
     }
 
@@ -140,7 +160,7 @@ public class RingDeviceSystemInfo extends Object  {
         ret.append("RingDeviceSystemInfo(");
 
         ret.append("deviceId=");
-        ret.append(String.valueOf(deviceId));
+        ret.append(String.valueOf(getDeviceId()));
         ret.append(", ");
 
         ret.append("deviceFirmwareVersion=");
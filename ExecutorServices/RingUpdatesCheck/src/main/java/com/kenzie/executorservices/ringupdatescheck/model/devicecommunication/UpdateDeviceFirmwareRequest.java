@@ -20,6 +20,7 @@ public class UpdateDeviceFirmwareRequest extends Object  {
     public static class Builder {
 
         protected String deviceId;
+        protected DeviceId compactDeviceId;
         /**
          * Sets the value of the field "deviceId" to be used for the constructed object.
          * @param deviceId
@@ -29,6 +30,21 @@ public class UpdateDeviceFirmwareRequest extends Object  {
          */
         public Builder withDeviceId(String deviceId) {
             this.deviceId = deviceId;
+            this.compactDeviceId = null;
+            return this;
+        }
+
+        /**
+         * Sets the value of the field "deviceId" from a compact device ID. The built object keeps the
+         * DeviceId and only renders its "root-index" form when getDeviceId() is called.
+         * @param deviceId
+         *   The device ID.
+         * @return
+         *   This builder.
+         */
+        public Builder withDeviceId(DeviceId deviceId) {
+            this.deviceId = null;
+            this.compactDeviceId = deviceId;
             return this;
         }
 
@@ -45,16 +61,6 @@ public class UpdateDeviceFirmwareRequest extends Object  {
             return this;
         }
 
-        /**
-         * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
-         * @param instance
-         *   The instance to be populated.
-         */
-        protected void populate(UpdateDeviceFirmwareRequest instance) {
-            instance.setDeviceId(this.deviceId);
-            instance.setVersion(this.version);
-        }
-
         /**
          * Builds an instance of UpdateDeviceFirmwareRequest.
          * <p>
@@ -62,46 +68,54 @@ public class UpdateDeviceFirmwareRequest extends Object  {
          * </p>
          */
         public UpdateDeviceFirmwareRequest build() {
-            UpdateDeviceFirmwareRequest instance = new UpdateDeviceFirmwareRequest();
-
-            populate(instance);
-
-            return instance;
+            return new UpdateDeviceFirmwareRequest(this);
         }
     };
 
-    private String deviceId;
-    private RingDeviceFirmwareVersion version;
+    private final String deviceId;
+    private final DeviceId compactDeviceId;
+    private final RingDeviceFirmwareVersion version;
+    private int hashCode;
+
+    private UpdateDeviceFirmwareRequest(Builder builder) {
+        this.deviceId = builder.deviceId;
+        this.compactDeviceId = builder.compactDeviceId;
+        this.version = builder.version;
+    }
 
     public String getDeviceId() {
-        return this.deviceId;
+        return DeviceId.render(deviceId, compactDeviceId);
     }
 
-    public void setDeviceId(String deviceId) {
-        this.deviceId = deviceId;
+    /**
+     * @return the compact device ID this was built with, or null if it was built with a string
+     */
+    public DeviceId getCompactDeviceId() {
+        return this.compactDeviceId;
     }
 
     public RingDeviceFirmwareVersion getVersion() {
         return this.version;
     }
 
-    public void setVersion(RingDeviceFirmwareVersion version) {
-        this.version = version;
-    }
-
     private static final int classNameHashCode =
             internalHashCodeCompute("com.amazon.ata.executorservice.classroom.devicecommunication.UpdateDeviceFirmwareRequest");
 
     /**
      * HashCode implementation for UpdateDeviceFirmwareRequest
-     * based on java.util.Arrays.hashCode
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
      */
     @Override
     public int hashCode() {
-        return internalHashCodeCompute(
-                classNameHashCode,
-                getDeviceId(),
-                getVersion());
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + DeviceId.stringHashCode(deviceId, compactDeviceId);
+            result = 31 * result + Objects.hashCode(version);
+            hashCode = result;
+        }
+        return result;
     }
 
     private static int internalHashCodeCompute(Object... objects) {
@@ -110,18 +124,24 @@ public class UpdateDeviceFirmwareRequest extends Object  {
 
     /**
      * Equals implementation for UpdateDeviceFirmwareRequest
-     * based on instanceof and Object.equals().
+     * based on identity, then instanceof, cached hash codes and Object.equals().
      */
     @Override
     public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof UpdateDeviceFirmwareRequest)) {
             return false;
         }
 
         UpdateDeviceFirmwareRequest that = (UpdateDeviceFirmwareRequest) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
 
         return
-                Objects.equals(getDeviceId(), that.getDeviceId())
+                DeviceId.sameDeviceId(deviceId, compactDeviceId, that.deviceId, that.compactDeviceId)
                         && Objects.equals(getVersion(), that.getVersion());
     }
 
@@ -142,7 +162,7 @@ public class UpdateDeviceFirmwareRequest extends Object  {
         ret.append("UpdateDeviceFirmwareRequest(");
 
         ret.append("deviceId=");
-        ret.append(String.valueOf(deviceId));
+        ret.append(String.valueOf(getDeviceId()));
         ret.append(", ");
 
         ret.append("version=");
@@ -18,6 +18,7 @@ public class UpdateDeviceFirmwareResponse extends Object  {
     public static class Builder {
 
         protected String deviceId;
+        protected DeviceId compactDeviceId;
         /**
          * Sets the value of the field "deviceId" to be used for the constructed object.
          * @param deviceId
@@ -27,6 +28,21 @@ public class UpdateDeviceFirmwareResponse extends Object  {
          */
         public Builder withDeviceId(String deviceId) {
             this.deviceId = deviceId;
+            this.compactDeviceId = null;
+            return this;
+        }
+
+        /**
+         * Sets the value of the field "deviceId" from a compact device ID. The built object keeps the
+         * DeviceId and only renders its "root-index" form when getDeviceId() is called.
+         * @param deviceId
+         *   The device ID.
+         * @return
+         *   This builder.
+         */
+        public Builder withDeviceId(DeviceId deviceId) {
+            this.deviceId = null;
+            this.compactDeviceId = deviceId;
             return this;
         }
 
@@ -56,17 +72,6 @@ public class UpdateDeviceFirmwareResponse extends Object  {
             return this;
         }
 
-        /**
-         * Sets the fields of the given instances to the corresponding values recorded when calling the "with*" methods.
-         * @param instance
-         *   The instance to be populated.
-         */
-        protected void populate(UpdateDeviceFirmwareResponse instance) {
-            instance.setDeviceId(this.deviceId);
-            instance.setVersion(this.version);
-            instance.setWasSuccessful(this.wasSuccessful);
-        }
-
         /**
          * Builds an instance of UpdateDeviceFirmwareResponse.
          * <p>
@@ -74,56 +79,61 @@ public class UpdateDeviceFirmwareResponse extends Object  {
          * </p>
          */
         public UpdateDeviceFirmwareResponse build() {
-            UpdateDeviceFirmwareResponse instance = new UpdateDeviceFirmwareResponse();
-
-            populate(instance);
-
-            return instance;
+            return new UpdateDeviceFirmwareResponse(this);
         }
     };
 
-    private String deviceId;
-    private RingDeviceFirmwareVersion version;
-    private boolean wasSuccessful;
+    private final String deviceId;
+    private final DeviceId compactDeviceId;
+    private final RingDeviceFirmwareVersion version;
+    private final boolean wasSuccessful;
+    private int hashCode;
+
+    private UpdateDeviceFirmwareResponse(Builder builder) {
+        this.deviceId = builder.deviceId;
+        this.compactDeviceId = builder.compactDeviceId;
+        this.version = builder.version;
+        this.wasSuccessful = builder.wasSuccessful;
+    }
 
     public String getDeviceId() {
-        return this.deviceId;
+        return DeviceId.render(deviceId, compactDeviceId);
     }
 
-    public void setDeviceId(String deviceId) {
-        this.deviceId = deviceId;
+    /**
+     * @return the compact device ID this was built with, or null if it was built with a string
+     */
+    public DeviceId getCompactDeviceId() {
+        return this.compactDeviceId;
     }
 
     public RingDeviceFirmwareVersion getVersion() {
         return this.version;
     }
 
-    public void setVersion(RingDeviceFirmwareVersion version) {
-        this.version = version;
-    }
-
     public boolean isWasSuccessful() {
         return this.wasSuccessful;
     }
 
-    public void setWasSuccessful(boolean wasSuccessful) {
-        this.wasSuccessful = wasSuccessful;
-    }
-
     private static final int classNameHashCode =
             internalHashCodeCompute("com.amazon.ata.executorservice.classroom.devicecommunication.UpdateDeviceFirmwareResponse");
 
     /**
      * HashCode implementation for UpdateDeviceFirmwareResponse
-     * based on java.util.Arrays.hashCode
+     * based on the same arithmetic as java.util.Arrays.hashCode, without the varargs array.
+     * Computed on first use and cached, since instances are immutable.
      */
     @Override
     public int hashCode() {
-        return internalHashCodeCompute(
-                classNameHashCode,
-                getDeviceId(),
-                getVersion(),
-                isWasSuccessful());
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 + classNameHashCode;
+            result = 31 * result + DeviceId.stringHashCode(deviceId, compactDeviceId);
+            result = 31 * result + Objects.hashCode(version);
+            result = 31 * result + Boolean.hashCode(wasSuccessful);
+            hashCode = result;
+        }
+        return result;
     }
 
     private static int internalHashCodeCompute(Object... objects) {
@@ -132,18 +142,24 @@ public class UpdateDeviceFirmwareResponse extends Object  {
 
     /**
      * Equals implementation for UpdateDeviceFirmwareResponse
-     * based on instanceof and Object.equals().
+     * based on identity, then instanceof, cached hash codes and Object.equals().
      */
     @Override
     public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
         if (!(other instanceof UpdateDeviceFirmwareResponse)) {
             return false;
         }
 
         UpdateDeviceFirmwareResponse that = (UpdateDeviceFirmwareResponse) other;
+        if (hashCode != 0 && that.hashCode != 0 && hashCode != that.hashCode) {
+            return false;
+        }
 
         return
-                Objects.equals(getDeviceId(), that.getDeviceId())
+                DeviceId.sameDeviceId(deviceId, compactDeviceId, that.deviceId, that.compactDeviceId)
                         && Objects.equals(getVersion(), that.getVersion())
                         && Objects.equals(isWasSuccessful(), that.isWasSuccessful());
     }
@@ -165,7 +181,7 @@ public class UpdateDeviceFirmwareResponse extends Object  {
         ret.append("UpdateDeviceFirmwareResponse(");
 
         ret.append("deviceId=");
-        ret.append(String.valueOf(deviceId));
+        ret.append(String.valueOf(getDeviceId()));
         ret.append(", ");
 
         ret.append("version=");
@@ -0,0 +1,231 @@
+package com.kenzie.executorservices.ringupdatescheck.util;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.DeviceId;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the firmware version each device was last seen running.
+ *
+ * Devices are kept in one bucket per version, and the buckets are sorted by version, so "which devices
+ * are below 10.9?" is a scan of the buckets before 10.9 rather than a system info call per device.
+ * Version numbers are compared through their cached parsed form, and "root-index" device IDs are kept
+ * as packed longs in a primitive set, so a bucket costs a few bytes per device. Other device IDs are
+ * kept as strings.
+ *
+ * Feed it with every system info response and update result, e.g. through an
+ * IndexingRingDeviceCommunicatorService. The index only knows what it has been told: devices that were
+ * never seen are missing from it, and a device's entry is as old as its last response.
+ * This class is thread-safe.
+ */
+public final class DeviceVersionIndex {
+    private final TreeMap<RingDeviceFirmwareVersion, Bucket> buckets =
+            new TreeMap<>(new RingDeviceFirmwareVersionComparator());
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Records the version a device reported.
+     * @param systemInfo The device's system info. Info without a device ID is ignored, and info without
+     *                   a version removes the device, since its version is then unknown.
+     */
+    public void record(RingDeviceSystemInfo systemInfo) {
+        record(systemInfo.getDeviceId(), systemInfo.getDeviceFirmwareVersion());
+    }
+
+    /**
+     * Records the outcome of a firmware update. A successful update moves the device to the new version.
+     * An unsuccessful one leaves the device's entry as it was, since a failed update doesn't change the
+     * firmware the device runs.
+     * @param response The update result
+     */
+    public void record(UpdateDeviceFirmwareResponse response) {
+        if (response.isWasSuccessful()) {
+            record(response.getDeviceId(), response.getVersion());
+        }
+    }
+
+    /**
+     * Records the version a device is running, replacing whatever was known about it.
+     * @param deviceId The device. Null is ignored.
+     * @param version The device's version, or null to remove the device
+     */
+    public void record(String deviceId, RingDeviceFirmwareVersion version) {
+        if (deviceId == null) {
+            return;
+        }
+        long packed = DeviceId.tryPack(deviceId);
+        lock.writeLock().lock();
+        try {
+            // A fleet runs a handful of versions, so trying every other bucket is cheaper than
+            // keeping a second map from each device to its version.
+            Bucket target = version == null ? null : buckets.computeIfAbsent(version, v -> new Bucket());
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                Bucket bucket = iterator.next();
+                if (bucket != target && bucket.remove(packed, deviceId) && bucket.size() == 0) {
+                    iterator.remove();
+                }
+            }
+            if (target != null) {
+                target.add(packed, deviceId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param deviceId The device to forget
+     */
+    public void remove(String deviceId) {
+        record(deviceId, null);
+    }
+
+    /**
+     * @param deviceId The device to look up
+     * @return the version the device was last seen running, or null if it isn't in the index
+     */
+    public RingDeviceFirmwareVersion getVersion(String deviceId) {
+        if (deviceId == null) {
+            return null;
+        }
+        long packed = DeviceId.tryPack(deviceId);
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<RingDeviceFirmwareVersion, Bucket> entry : buckets.entrySet()) {
+                if (entry.getValue().contains(packed, deviceId)) {
+                    return entry.getKey();
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the indexed devices that need an update, as KnownRingDeviceFirmwareVersions.needsUpdate decides.
+     * @param approved The minimum approved version
+     * @return the devices running a version below it, oldest version first. Never null.
+     */
+    public List<String> findDevicesBelow(RingDeviceFirmwareVersion approved) {
+        lock.readLock().lock();
+        try {
+            Map<RingDeviceFirmwareVersion, Bucket> below = buckets.headMap(approved, false);
+            int count = 0;
+            for (Bucket bucket : below.values()) {
+                count += bucket.size();
+            }
+            List<String> deviceIds = new ArrayList<>(count);
+            for (Bucket bucket : below.values()) {
+                bucket.addTo(deviceIds);
+            }
+            return deviceIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param approved The minimum approved version
+     * @return the number of indexed devices running a version below it
+     */
+    public int countDevicesBelow(RingDeviceFirmwareVersion approved) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Bucket bucket : buckets.headMap(approved, false).values()) {
+                count += bucket.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed devices on each version, oldest version first
+     */
+    public Map<RingDeviceFirmwareVersion, Integer> getDeviceCounts() {
+        lock.readLock().lock();
+        try {
+            Map<RingDeviceFirmwareVersion, Integer> counts = new LinkedHashMap<>();
+            buckets.forEach((version, bucket) -> counts.put(version, bucket.size()));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed devices
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            int size = 0;
+            for (Bucket bucket : buckets.values()) {
+                size += bucket.size();
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The devices on one version: "root-index" IDs packed into a primitive set, anything else as strings.
+     */
+    private static final class Bucket {
+        private final LongHashSet packedIds = new LongHashSet();
+        private Set<String> otherIds;
+
+        void add(long packed, String deviceId) {
+            if (packed >= 0) {
+                packedIds.add(packed);
+            } else {
+                if (otherIds == null) {
+                    otherIds = new HashSet<>();
+                }
+                otherIds.add(deviceId);
+            }
+        }
+
+        boolean remove(long packed, String deviceId) {
+            if (packed >= 0) {
+                return packedIds.remove(packed);
+            }
+            return otherIds != null && otherIds.remove(deviceId);
+        }
+
+        boolean contains(long packed, String deviceId) {
+            if (packed >= 0) {
+                return packedIds.contains(packed);
+            }
+            return otherIds != null && otherIds.contains(deviceId);
+        }
+
+        int size() {
+            return packedIds.size() + (otherIds == null ? 0 : otherIds.size());
+        }
+
+        void addTo(List<String> deviceIds) {
+            packedIds.forEach(packed -> deviceIds.add(DeviceId.fromLong(packed).toString()));
+            if (otherIds != null) {
+                deviceIds.addAll(otherIds);
+            }
+        }
+    }
+}
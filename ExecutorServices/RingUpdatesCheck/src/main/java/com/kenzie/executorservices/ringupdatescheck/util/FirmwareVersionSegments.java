@@ -0,0 +1,107 @@
+package com.kenzie.executorservices.ringupdatescheck.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical parsed form of firmware version numbers: the dot-separated segments as ints.
+ *
+ * Each distinct version string is parsed once and the segments are shared from then on, so comparing
+ * two already-seen versions is a map lookup and an int loop, with no regex and no allocation.
+ * The returned arrays are shared and must not be modified.
+ */
+final class FirmwareVersionSegments {
+    /**
+     * Fleets only run a handful of versions. The limit only protects against unbounded garbage input;
+     * past it, new versions are still parsed correctly but aren't remembered.
+     */
+    private static final int MAX_CACHED_VERSIONS = 1024;
+    private static final int MAX_FAST_PATH_DIGITS = 9;
+
+    private static final ConcurrentMap<String, int[]> PARSED_VERSIONS = new ConcurrentHashMap<>();
+
+    private FirmwareVersionSegments() {}
+
+    /**
+     * Returns the parsed segments of a version number.
+     * @param versionNumber The version number, e.g. "10.9"
+     * @return the segments, e.g. {10, 9}
+     * @throws NumberFormatException if a segment isn't a valid int, exactly as Integer.parseInt would
+     */
+    static int[] of(String versionNumber) {
+        int[] segments = PARSED_VERSIONS.get(versionNumber);
+        if (segments == null) {
+            segments = parse(versionNumber);
+            if (PARSED_VERSIONS.size() < MAX_CACHED_VERSIONS) {
+                PARSED_VERSIONS.putIfAbsent(versionNumber, segments);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Compares two parsed versions segment by segment. When one is a prefix of the other, the one
+     * with fewer segments sorts first.
+     */
+    static int compare(int[] left, int[] right) {
+        int minLength = Math.min(left.length, right.length);
+        for (int i = 0; i < minLength; i++) {
+            if (left[i] != right[i]) {
+                return Integer.compare(left[i], right[i]);
+            }
+        }
+        return Integer.compare(left.length, right.length);
+    }
+
+    /**
+     * Parses plain "digits.digits" strings directly. Anything else (signs, empty or oversized segments,
+     * trailing dots) goes through String.split and Integer.parseInt, so the result, or the exception,
+     * is exactly what the original comparator produced.
+     */
+    private static int[] parse(String versionNumber) {
+        int length = versionNumber.length();
+        int segmentCount = 1;
+        int digitsInSegment = 0;
+        for (int i = 0; i < length; i++) {
+            char c = versionNumber.charAt(i);
+            if (c == '.') {
+                if (digitsInSegment == 0) {
+                    return parseSlowly(versionNumber);
+                }
+                segmentCount++;
+                digitsInSegment = 0;
+            } else if (c >= '0' && c <= '9' && digitsInSegment < MAX_FAST_PATH_DIGITS) {
+                digitsInSegment++;
+            } else {
+                return parseSlowly(versionNumber);
+            }
+        }
+        if (digitsInSegment == 0) {
+            return parseSlowly(versionNumber);
+        }
+
+        int[] segments = new int[segmentCount];
+        int segment = 0;
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = versionNumber.charAt(i);
+            if (c == '.') {
+                segments[segment++] = value;
+                value = 0;
+            } else {
+                value = value * 10 + (c - '0');
+            }
+        }
+        segments[segment] = value;
+        return segments;
+    }
+
+    private static int[] parseSlowly(String versionNumber) {
+        String[] parts = versionNumber.split("\\.");
+        int[] segments = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            segments[i] = Integer.parseInt(parts[i]);
+        }
+        return segments;
+    }
+}
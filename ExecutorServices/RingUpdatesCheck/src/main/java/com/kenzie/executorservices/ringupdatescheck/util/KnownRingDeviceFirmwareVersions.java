@@ -7,6 +7,8 @@ import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.Ri
  * and a method for comparing versions.
  */
 public class KnownRingDeviceFirmwareVersions {
+    private static final RingDeviceFirmwareVersionComparator COMPARATOR = new RingDeviceFirmwareVersionComparator();
+
     /**
      * Most recent version.
      */
@@ -34,7 +36,6 @@ public class KnownRingDeviceFirmwareVersions {
      *         false otherwise.
      */
     public static boolean needsUpdate(RingDeviceFirmwareVersion version, RingDeviceFirmwareVersion approved) {
-        RingDeviceFirmwareVersionComparator comparator = new RingDeviceFirmwareVersionComparator();
-        return comparator.compare(version, approved) < 0;
+        return COMPARATOR.compare(version, approved) < 0;
     }
 }
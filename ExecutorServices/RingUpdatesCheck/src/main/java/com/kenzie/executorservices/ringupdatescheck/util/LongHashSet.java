@@ -0,0 +1,108 @@
+package com.kenzie.executorservices.ringupdatescheck.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of non-negative longs in one open-addressed array, so each member takes eight bytes instead of
+ * a boxed Long and a hash table node. Not thread-safe.
+ */
+final class LongHashSet {
+    private static final long EMPTY = -1L;
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] slots = newSlots(MIN_CAPACITY);
+    private int size;
+
+    /**
+     * @param value The value to add, not negative
+     * @return true if the set didn't already contain it
+     */
+    boolean add(long value) {
+        int slot = find(value);
+        if (slots[slot] == value) {
+            return false;
+        }
+        slots[slot] = value;
+        size++;
+        // Keep the table at most two thirds full, so probe runs stay short.
+        if (size * 3 > slots.length * 2) {
+            resize(slots.length * 2);
+        }
+        return true;
+    }
+
+    boolean contains(long value) {
+        return slots[find(value)] == value;
+    }
+
+    /**
+     * @param value The value to remove
+     * @return true if the set contained it
+     */
+    boolean remove(long value) {
+        int slot = find(value);
+        if (slots[slot] != value) {
+            return false;
+        }
+        slots[slot] = EMPTY;
+        size--;
+        // Shift later members of the probe run back, so lookups never stop early at the hole.
+        int mask = slots.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+            int home = home(slots[next]);
+            boolean reachableFromHole = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (reachableFromHole) {
+                slots[hole] = slots[next];
+                slots[next] = EMPTY;
+                hole = next;
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(LongConsumer action) {
+        for (long value : slots) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Returns the slot holding the value, or the empty slot where it would go.
+     */
+    private int find(long value) {
+        int mask = slots.length - 1;
+        int slot = home(value);
+        while (slots[slot] != EMPTY && slots[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int home(long value) {
+        return (int) ((value * 0x9E3779B97F4A7C15L) >>> 32) & (slots.length - 1);
+    }
+
+    private void resize(int capacity) {
+        long[] old = slots;
+        slots = newSlots(capacity);
+        for (long value : old) {
+            if (value != EMPTY) {
+                slots[find(value)] = value;
+            }
+        }
+    }
+
+    private static long[] newSlots(int capacity) {
+        long[] slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+}
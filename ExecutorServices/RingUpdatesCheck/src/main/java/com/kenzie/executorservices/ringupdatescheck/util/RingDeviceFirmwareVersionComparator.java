@@ -6,24 +6,20 @@ import java.util.Comparator;
 
 /**
  * Compares RingDeviceFirmwareVersion objects.
+ *
+ * Version numbers are parsed once per distinct string and cached, so comparisons don't allocate.
+ * Versions are interned, so equal versions are usually the same instance and compare without parsing.
+ * This class is stateless and safe to share between threads.
  */
 public class RingDeviceFirmwareVersionComparator implements Comparator<RingDeviceFirmwareVersion> {
 
     @Override
     public int compare(RingDeviceFirmwareVersion leftVersion, RingDeviceFirmwareVersion rightVersion) {
-        String[] leftVersionSegments = leftVersion.getVersionNumber().split("\\.");
-        String[] rightVersionSegments = rightVersion.getVersionNumber().split("\\.");
-        int minLength = Math.min(leftVersionSegments.length, rightVersionSegments.length);
-
-        for (int i = 0; i < minLength; i++) {
-            int leftVersionSegmentValue = Integer.parseInt(leftVersionSegments[i]);
-            int rightVersionSegmentValue = Integer.parseInt(rightVersionSegments[i]);
-
-            if (leftVersionSegmentValue != rightVersionSegmentValue) {
-                return Integer.compare(leftVersionSegmentValue, rightVersionSegmentValue);
-            }
+        if (leftVersion == rightVersion) {
+            return 0;
         }
-
-        return Integer.compare(leftVersionSegments.length, rightVersionSegments.length);
+        return FirmwareVersionSegments.compare(
+                FirmwareVersionSegments.of(leftVersion.getVersionNumber()),
+                FirmwareVersionSegments.of(rightVersion.getVersionNumber()));
     }
 }
@@ -0,0 +1,180 @@
+package com.kenzie.executorservices.ringupdatescheck.checker;
+
+import com.kenzie.ata.concurrent.ExecutorProviders;
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerDeviceCache;
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DeviceCheckerBoundedTest {
+    private static final String CUSTOMER_ID = "customer";
+    private static final int NUM_DEVICES = 12;
+
+    private CustomerService customerService;
+    private RingDeviceCommunicatorService ringClient;
+    private DeviceChecker deviceChecker;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long systemInfoSleepMillis = 10;
+
+    @BeforeEach
+    public void setup() {
+        customerService = mock(CustomerService.class);
+        ringClient = mock(RingDeviceCommunicatorService.class);
+        deviceChecker = new DeviceChecker(customerService, ringClient);
+
+        List<String> deviceIds = new ArrayList<>();
+        for (int i = 0; i < NUM_DEVICES; i++) {
+            deviceIds.add("device-" + i);
+        }
+        when(customerService.getCustomerDevices(any(GetCustomerDevicesRequest.class))).thenReturn(
+                GetCustomerDevicesResponse.builder().withCustomerId(CUSTOMER_ID).withDeviceIds(deviceIds).build());
+        when(ringClient.getDeviceSystemInfo(any(GetDeviceSystemInfoRequest.class))).thenAnswer(invocation -> {
+            String deviceId = invocation.getArgument(0, GetDeviceSystemInfoRequest.class).getDeviceId();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(systemInfoSleepMillis);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if ("device-0".equals(deviceId)) {
+                throw new IllegalStateException("device unreachable");
+            }
+            int deviceNumber = Integer.parseInt(deviceId.substring(deviceId.indexOf('-') + 1));
+            return GetDeviceSystemInfoResponse.builder()
+                    .withSystemInfo(RingDeviceSystemInfo.builder()
+                            .withDeviceId(deviceId)
+                            .withDeviceFirmwareVersion(deviceNumber % 2 == 0
+                                    ? KnownRingDeviceFirmwareVersions.PINKY
+                                    : KnownRingDeviceFirmwareVersions.INKY)
+                            .build())
+                    .build();
+        });
+        when(ringClient.updateDeviceFirmware(any(UpdateDeviceFirmwareRequest.class))).thenAnswer(invocation -> {
+            UpdateDeviceFirmwareRequest request = invocation.getArgument(0, UpdateDeviceFirmwareRequest.class);
+            return UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId(request.getDeviceId())
+                    .withVersion(request.getVersion())
+                    .withWasSuccessful(!"device-1".equals(request.getDeviceId()))
+                    .build();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        deviceChecker.close();
+    }
+
+    @Test
+    public void checkDevicesConcurrently_withMaxInFlight_neverExceedsLimitAndCountsOutcomes() {
+        // WHEN
+        DeviceCheckSummary summary = deviceChecker.checkDevicesConcurrently(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, 3, null);
+
+        // THEN
+        assertTrue(maxInFlight.get() <= 3, "Max in flight exceeded: " + maxInFlight.get());
+        assertEquals(NUM_DEVICES, summary.getDeviceCount());
+        assertTrue(summary.isListingComplete());
+        assertEquals(NUM_DEVICES - 1, summary.getCheckedCount());
+        // Every odd device is behind, but device-1's update keeps failing
+        assertEquals(NUM_DEVICES / 2 - 1, summary.getUpdatedCount());
+        assertEquals(1, summary.getFailedCount());
+        assertEquals(0, summary.getCancelledCount());
+        assertEquals(NUM_DEVICES, summary.getLatencies().size());
+        assertTrue(summary.getLatencies().get("device-1").toMillis() >= 10);
+    }
+
+    @Test
+    public void checkDevicesConcurrently_withCustomerDeviceCache_listsEachCustomerOnce() {
+        // GIVEN
+        deviceChecker.close();
+        deviceChecker = new DeviceChecker(customerService, ringClient, ExecutorProviders.platformThreads(),
+                new CustomerDeviceCache(customerService));
+
+        // WHEN
+        DeviceCheckSummary first = deviceChecker.checkDevicesConcurrently(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, 3, null);
+        DeviceCheckSummary second = deviceChecker.checkDevicesConcurrently(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, 3, null);
+
+        // THEN
+        assertEquals(NUM_DEVICES, first.getDeviceCount());
+        assertEquals(NUM_DEVICES, second.getDeviceCount());
+        assertTrue(second.isListingComplete());
+        verify(customerService, times(1)).getCustomerDevices(any(GetCustomerDevicesRequest.class));
+    }
+
+    @Test
+    public void checkDevicesConcurrently_deadlinePasses_cancelsStragglers() {
+        // GIVEN
+        systemInfoSleepMillis = 200;
+
+        // WHEN
+        long start = System.nanoTime();
+        DeviceCheckSummary summary = deviceChecker.checkDevicesConcurrently(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, 2, Duration.ofMillis(50));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // THEN
+        assertTrue(elapsedMillis < 200, "Waited past the deadline: " + elapsedMillis + "ms");
+        assertFalse(summary.isListingComplete());
+        assertTrue(summary.getDeviceCount() < NUM_DEVICES);
+        assertEquals(summary.getDeviceCount(), summary.getCancelledCount());
+        assertEquals(0, summary.getCheckedCount() + summary.getFailedCount());
+        verify(customerService, times(1)).getCustomerDevices(any(GetCustomerDevicesRequest.class));
+    }
+
+    @Test
+    public void checkDevicesConcurrently_submitRejected_cancelsDeviceWithoutWaiting() {
+        // GIVEN
+        ExecutorService shutDown = Executors.newSingleThreadExecutor();
+        shutDown.shutdown();
+        deviceChecker.close();
+        deviceChecker = new DeviceChecker(customerService, ringClient, () -> shutDown);
+
+        // WHEN
+        DeviceCheckSummary summary = deviceChecker.checkDevicesConcurrently(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, 1, null);
+
+        // THEN
+        assertFalse(summary.isListingComplete());
+        assertEquals(1, summary.getDeviceCount());
+        assertEquals(1, summary.getCancelledCount());
+        assertEquals(0, summary.getCheckedCount());
+    }
+
+    @Test
+    public void checkDevicesConcurrently_nonPositiveMaxInFlight_throws() {
+        assertThrows(IllegalArgumentException.class, () -> deviceChecker.checkDevicesConcurrently(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, 0, null));
+    }
+}
@@ -0,0 +1,123 @@
+package com.kenzie.executorservices.ringupdatescheck.checker;
+
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.FirmwareUpdateOutcome;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RetryPolicy;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FirmwareUpdateDispatcherTest {
+    private RingDeviceCommunicatorService ringClient;
+    private FirmwareUpdateDispatcher dispatcher;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setup() {
+        ringClient = mock(RingDeviceCommunicatorService.class);
+        dispatcher = new FirmwareUpdateDispatcher(ringClient, 4, RetryPolicy.builder()
+                .withMaxAttempts(3)
+                .withInitialBackoff(Duration.ofMillis(5))
+                .build());
+        when(ringClient.updateDeviceFirmware(any(UpdateDeviceFirmwareRequest.class))).thenAnswer(invocation -> {
+            UpdateDeviceFirmwareRequest request = invocation.getArgument(0, UpdateDeviceFirmwareRequest.class);
+            release.await(1, TimeUnit.SECONDS);
+            return UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId(request.getDeviceId())
+                    .withVersion(request.getVersion())
+                    .withWasSuccessful(!"broken".equals(request.getDeviceId()))
+                    .build();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    public void update_sameDeviceAndVersionWhileInFlight_joinsExistingUpdate() {
+        // WHEN
+        CompletableFuture<FirmwareUpdateOutcome> first =
+                dispatcher.update("device", KnownRingDeviceFirmwareVersions.PINKY);
+        CompletableFuture<FirmwareUpdateOutcome> second =
+                dispatcher.update("device", KnownRingDeviceFirmwareVersions.PINKY);
+        release.countDown();
+
+        // THEN
+        assertSame(first, second);
+        assertTrue(first.join().isSuccessful());
+        verify(ringClient, times(1)).updateDeviceFirmware(UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId("device")
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build());
+        assertEquals(2, dispatcher.getRequestedCount());
+        assertEquals(1, dispatcher.getCoalescedCount());
+        assertEquals(1, dispatcher.getSucceededCount());
+    }
+
+    @Test
+    public void update_sameDeviceDifferentVersion_runsAfterCurrentUpdate() {
+        // WHEN
+        CompletableFuture<FirmwareUpdateOutcome> first =
+                dispatcher.update("device", KnownRingDeviceFirmwareVersions.INKY);
+        CompletableFuture<FirmwareUpdateOutcome> second =
+                dispatcher.update("device", KnownRingDeviceFirmwareVersions.PINKY);
+        release.countDown();
+        second.join();
+
+        // THEN
+        assertTrue(first.isDone());
+        InOrder order = inOrder(ringClient);
+        order.verify(ringClient).updateDeviceFirmware(UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId("device")
+                .withVersion(KnownRingDeviceFirmwareVersions.INKY)
+                .build());
+        order.verify(ringClient).updateDeviceFirmware(UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId("device")
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build());
+        assertEquals(KnownRingDeviceFirmwareVersions.PINKY, dispatcher.getLastResult("device").getVersion());
+    }
+
+    @Test
+    public void update_manyDevices_tracksSuccessesAndFailures() {
+        // GIVEN
+        List<String> deviceIds = List.of("a", "b", "broken", "c");
+
+        // WHEN
+        List<CompletableFuture<FirmwareUpdateOutcome>> results = deviceIds.stream()
+                .map(deviceId -> dispatcher.update(deviceId, KnownRingDeviceFirmwareVersions.PINKY))
+                .toList();
+        release.countDown();
+        results.forEach(CompletableFuture::join);
+
+        // THEN
+        assertEquals(3, dispatcher.getSucceededCount());
+        assertEquals(1, dispatcher.getFailedCount());
+        assertEquals(2, dispatcher.getRetryCount());
+        assertEquals(3, dispatcher.getLastResult("broken").getAttempts());
+        assertEquals(0, dispatcher.getInFlightCount());
+    }
+}
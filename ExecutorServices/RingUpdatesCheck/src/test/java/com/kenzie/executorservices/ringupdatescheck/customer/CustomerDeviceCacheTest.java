@@ -0,0 +1,152 @@
+package com.kenzie.executorservices.ringupdatescheck.customer;
+
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CustomerDeviceCacheTest {
+    private final AtomicLong nowNanos = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nowNanos.get();
+        }
+    };
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private CustomerService customerService;
+    private CustomerDeviceCache cache;
+
+    @BeforeEach
+    public void setup() {
+        customerService = mock(CustomerService.class);
+        when(customerService.getCustomerDevices(any(GetCustomerDevicesRequest.class))).thenAnswer(invocation -> {
+            String customerId = invocation.getArgument(0, GetCustomerDevicesRequest.class).getCustomerId();
+            return GetCustomerDevicesResponse.builder()
+                    .withCustomerId(customerId)
+                    .withDeviceIds(devicesFor(customerId))
+                    .build();
+        });
+        when(customerService.getDevicesForCustomers(any())).thenAnswer(invocation -> {
+            Map<String, List<String>> devices = new LinkedHashMap<>();
+            for (String customerId : invocation.<Collection<String>>getArgument(0)) {
+                devices.put(customerId, devicesFor(customerId));
+            }
+            return devices;
+        });
+        cache = new CustomerDeviceCache(customerService, 100, 10, 60, TimeUnit.SECONDS,
+                pendingRefreshes::add, ticker);
+    }
+
+    @Test
+    public void getDevices_severalMisses_looksThemUpInOneBulkCall() {
+        // GIVEN
+        cache.getDevices("a");
+
+        // WHEN
+        Map<String, List<String>> devices = cache.getDevices(Arrays.asList("a", "b", "c"));
+
+        // THEN
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(devices.keySet()));
+        assertEquals(devicesFor("b"), devices.get("b"));
+        verify(customerService, times(1)).getDevicesForCustomers(Arrays.asList("b", "c"));
+        verify(customerService, times(1)).getCustomerDevices(any(GetCustomerDevicesRequest.class));
+    }
+
+    @Test
+    public void getDevices_entryDueForRefresh_returnsCachedDevicesWhileRefreshing() {
+        // GIVEN
+        List<String> original = cache.getDevices("a");
+        generation.incrementAndGet();
+        nowNanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        // WHEN
+        List<String> duringRefresh = cache.getDevices("a");
+        pendingRefreshes.forEach(Runnable::run);
+        List<String> afterRefresh = cache.getDevices("a");
+
+        // THEN
+        assertEquals(original, duringRefresh);
+        assertEquals(devicesFor("a"), afterRefresh);
+        assertEquals(1, pendingRefreshes.size());
+    }
+
+    @Test
+    public void getDevices_manyEntriesDueForRefresh_refreshesThemInOneBulkCall() {
+        // GIVEN
+        cache.getDevices(Arrays.asList("a", "b", "c"));
+        generation.incrementAndGet();
+        nowNanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        // WHEN
+        cache.getDevices("a");
+        cache.getDevices(Arrays.asList("b", "c"));
+        pendingRefreshes.forEach(Runnable::run);
+        Map<String, List<String>> afterRefresh = cache.getDevices(Arrays.asList("a", "b", "c"));
+
+        // THEN
+        assertEquals(1, pendingRefreshes.size());
+        // One bulk call for the initial misses, and one for the refresh.
+        verify(customerService, times(2)).getDevicesForCustomers(Arrays.asList("a", "b", "c"));
+        verify(customerService, never()).getCustomerDevices(any(GetCustomerDevicesRequest.class));
+        assertEquals(devicesFor("c"), afterRefresh.get("c"));
+    }
+
+    @Test
+    public void getDevices_refreshFails_keepsCachedDevices() {
+        // GIVEN
+        List<String> original = cache.getDevices("a");
+        nowNanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        doThrow(new IllegalStateException("unavailable")).when(customerService).getDevicesForCustomers(any());
+
+        // WHEN
+        cache.getDevices("a");
+        pendingRefreshes.forEach(Runnable::run);
+        List<String> afterFailedRefresh = cache.getDevices("a");
+
+        // THEN
+        assertEquals(original, afterFailedRefresh);
+    }
+
+    @Test
+    public void getDevices_freshEntry_doesNotCallService() {
+        // GIVEN
+        cache.getDevices(Collections.singletonList("a"));
+
+        // WHEN
+        cache.getDevices("a");
+        cache.getDevices(Collections.singletonList("a"));
+
+        // THEN
+        verify(customerService, times(1)).getDevicesForCustomers(any());
+        verify(customerService, never()).getCustomerDevices(any(GetCustomerDevicesRequest.class));
+    }
+
+    private List<String> devicesFor(String customerId) {
+        return Arrays.asList(customerId + "-" + generation.get() + "-0", customerId + "-" + generation.get() + "-1");
+    }
+}
@@ -0,0 +1,100 @@
+package com.kenzie.executorservices.ringupdatescheck.customer;
+
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CustomerDevicePagesTest {
+    private static final String CUSTOMER_ID = "12345";
+
+    private final CustomerService customerService = CustomerService.getClient();
+
+    @Test
+    public void stream_smallPages_sameDevicesAsSingleRequest() {
+        // GIVEN
+        List<String> allDevices = customerService.getCustomerDevices(GetCustomerDevicesRequest.builder()
+                .withCustomerId(CUSTOMER_ID)
+                .build())
+                .getDeviceIds();
+
+        // WHEN
+        List<String> pagedDevices = CustomerDevicePages.stream(customerService, CUSTOMER_ID, 3)
+                .collect(Collectors.toList());
+
+        // THEN
+        assertEquals(allDevices, pagedDevices);
+    }
+
+    @Test
+    public void getCustomerDevices_lastPage_hasNoNextToken() {
+        // GIVEN
+        int numDevices = customerService.getCustomerDevices(GetCustomerDevicesRequest.builder()
+                .withCustomerId(CUSTOMER_ID)
+                .build())
+                .getDeviceIds()
+                .size();
+
+        // WHEN
+        GetCustomerDevicesResponse response = customerService.getCustomerDevices(GetCustomerDevicesRequest.builder()
+                .withCustomerId(CUSTOMER_ID)
+                .withMaxResults(numDevices)
+                .build());
+
+        // THEN
+        assertEquals(numDevices, response.getDeviceIds().size());
+        assertEquals(null, response.getNextToken());
+    }
+
+    @Test
+    public void iterator_firstPageNotExhausted_doesNotRequestNextPage() {
+        // GIVEN
+        CustomerService pagedService = mock(CustomerService.class);
+        when(pagedService.getCustomerDevices(any(GetCustomerDevicesRequest.class))).thenReturn(
+                GetCustomerDevicesResponse.builder()
+                        .withCustomerId(CUSTOMER_ID)
+                        .withDeviceIds(Arrays.asList("a", "b"))
+                        .withNextToken("2")
+                        .build(),
+                GetCustomerDevicesResponse.builder()
+                        .withCustomerId(CUSTOMER_ID)
+                        .withDeviceIds(Arrays.asList("c"))
+                        .build());
+        Iterator<String> devices = CustomerDevicePages.iterator(pagedService, CUSTOMER_ID, 2);
+
+        // WHEN
+        devices.next();
+        devices.next();
+
+        // THEN
+        verify(pagedService, times(1)).getCustomerDevices(any(GetCustomerDevicesRequest.class));
+        assertEquals("c", devices.next());
+        assertFalse(devices.hasNext());
+        verify(pagedService, times(2)).getCustomerDevices(any(GetCustomerDevicesRequest.class));
+    }
+
+    @Test
+    public void getCustomerDevices_invalidNextToken_throws() {
+        // WHEN - THEN
+        assertThrows(IllegalArgumentException.class, () -> customerService.getCustomerDevices(
+                GetCustomerDevicesRequest.builder()
+                        .withCustomerId(CUSTOMER_ID)
+                        .withMaxResults(2)
+                        .withNextToken("not-a-token")
+                        .build()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncRingDeviceCommunicatorServiceTest {
+    private RingDeviceCommunicatorService blockingClient;
+    private AsyncRingDeviceCommunicatorService asyncClient;
+
+    @BeforeEach
+    void setup() {
+        blockingClient = RingDeviceCommunicatorService.getClient();
+        asyncClient = new AsyncRingDeviceCommunicatorService(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncClient.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1234-0", "1234-1", "987654-12", "abc"})
+    void asyncClient_sameRequests_returnsSameResponsesAsBlockingClient(String deviceId) throws Exception {
+        // GIVEN
+        GetDeviceSystemInfoRequest infoRequest = GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build();
+        UpdateDeviceFirmwareRequest updateRequest = UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(deviceId)
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build();
+
+        // WHEN / THEN
+        assertEquals(blockingClient.getDeviceSystemInfo(infoRequest),
+                asyncClient.getDeviceSystemInfo(infoRequest).get(1, TimeUnit.SECONDS));
+        assertEquals(blockingClient.updateDeviceFirmware(updateRequest),
+                asyncClient.updateDeviceFirmware(updateRequest).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getDeviceSystemInfo_manyCallsInFlight_completeWithinSingleCallLatency() throws Exception {
+        // GIVEN
+        List<CompletableFuture<GetDeviceSystemInfoResponse>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+
+        // WHEN
+        for (int i = 0; i < 2000; i++) {
+            futures.add(asyncClient.getDeviceSystemInfo(
+                    GetDeviceSystemInfoRequest.builder().withDeviceId("1234-" + i).build()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        // THEN
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 2000,
+                String.format("Expected 2000 calls on one scheduler thread to overlap, took %d ms", elapsedMillis));
+    }
+
+    @Test
+    void close_withCallsInFlight_failsTheirFutures() {
+        // GIVEN
+        CompletableFuture<GetDeviceSystemInfoResponse> future = asyncClient.getDeviceSystemInfo(
+                GetDeviceSystemInfoRequest.builder().withDeviceId("1234-0").build());
+
+        // WHEN
+        asyncClient.close();
+
+        // THEN
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertTrue(thrown.getCause() instanceof RejectedExecutionException);
+    }
+
+    @Test
+    void getDeviceSystemInfo_afterClose_returnsFailedFuture() {
+        // GIVEN
+        asyncClient.close();
+
+        // WHEN
+        CompletableFuture<GetDeviceSystemInfoResponse> future = asyncClient.getDeviceSystemInfo(
+                GetDeviceSystemInfoRequest.builder().withDeviceId("1234-0").build());
+
+        // THEN
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    void close_sharedClient_throws() {
+        // WHEN - THEN
+        assertThrows(UnsupportedOperationException.class, () -> AsyncRingDeviceCommunicatorService.getClient().close());
+    }
+}
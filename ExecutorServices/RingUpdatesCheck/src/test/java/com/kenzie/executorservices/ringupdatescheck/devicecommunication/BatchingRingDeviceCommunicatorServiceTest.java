@@ -0,0 +1,110 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BatchingRingDeviceCommunicatorServiceTest {
+    private RingDeviceCommunicatorService delegateSpy;
+
+    @BeforeEach
+    void setup() {
+        delegateSpy = spy(RingDeviceCommunicatorService.getClient());
+    }
+
+    @Test
+    void getDeviceSystemInfoBatch_manyDevices_returnsSameInfoAsSingleCalls() {
+        // GIVEN
+        List<String> deviceIds = List.of("1234-0", "1234-1", "1234-2", "5678-0");
+
+        // WHEN
+        List<GetDeviceSystemInfoResponse> singles = new ArrayList<>();
+        deviceIds.forEach(id -> singles.add(delegateSpy.getDeviceSystemInfo(
+                GetDeviceSystemInfoRequest.builder().withDeviceId(id).build())));
+        GetDeviceSystemInfoBatchResponse batch = delegateSpy.getDeviceSystemInfoBatch(
+                GetDeviceSystemInfoBatchRequest.builder().withDeviceIds(deviceIds).build());
+
+        // THEN
+        assertEquals(deviceIds.size(), batch.getSystemInfos().size());
+        for (int i = 0; i < deviceIds.size(); i++) {
+            assertEquals(singles.get(i).getSystemInfo(), batch.getSystemInfos().get(i));
+        }
+    }
+
+    @Test
+    void getDeviceSystemInfo_concurrentCallers_mergedIntoOneBatchCall() throws Exception {
+        // GIVEN
+        BatchingRingDeviceCommunicatorService batchingClient =
+                new BatchingRingDeviceCommunicatorService(delegateSpy, 200, 4);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        List<Future<GetDeviceSystemInfoResponse>> results = new ArrayList<>();
+
+        // WHEN
+        for (int i = 0; i < 4; i++) {
+            GetDeviceSystemInfoRequest request = GetDeviceSystemInfoRequest.builder().withDeviceId("42-" + i).build();
+            results.add(callers.submit(() -> batchingClient.getDeviceSystemInfo(request)));
+        }
+
+        // THEN
+        for (int i = 0; i < 4; i++) {
+            GetDeviceSystemInfoRequest request = GetDeviceSystemInfoRequest.builder().withDeviceId("42-" + i).build();
+            assertEquals(RingDeviceCommunicatorService.getClient().systemInfoResponse(request),
+                    results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        ArgumentCaptor<GetDeviceSystemInfoBatchRequest> captor =
+                ArgumentCaptor.forClass(GetDeviceSystemInfoBatchRequest.class);
+        verify(delegateSpy, times(1)).getDeviceSystemInfoBatch(captor.capture());
+        assertTrue(captor.getValue().getDeviceIds().containsAll(List.of("42-0", "42-1", "42-2", "42-3")));
+        verify(delegateSpy, never()).getDeviceSystemInfo(any(GetDeviceSystemInfoRequest.class));
+        callers.shutdown();
+    }
+
+    @Test
+    void getDeviceSystemInfo_batchCallFails_rethrowsToCaller() {
+        // GIVEN
+        doThrow(new IllegalStateException("backend down")).when(delegateSpy).getDeviceSystemInfoBatch(any());
+        BatchingRingDeviceCommunicatorService batchingClient =
+                new BatchingRingDeviceCommunicatorService(delegateSpy, 0, 10);
+
+        // WHEN / THEN
+        assertThrows(IllegalStateException.class, () -> batchingClient.getDeviceSystemInfo(
+                GetDeviceSystemInfoRequest.builder().withDeviceId("1").build()));
+    }
+
+    @Test
+    void getSimulation_returnsDelegateSimulation() {
+        // GIVEN
+        DeviceSimulation simulation = DeviceSimulation.builder().withSeed(7).build();
+        RingDeviceCommunicatorService delegate = new RingDeviceCommunicatorService(simulation);
+
+        // WHEN
+        BatchingRingDeviceCommunicatorService batchingClient =
+                new BatchingRingDeviceCommunicatorService(delegate, 0, 10);
+
+        // THEN
+        assertSame(simulation, batchingClient.getSimulation());
+    }
+}
@@ -0,0 +1,155 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CachingRingDeviceCommunicatorServiceTest {
+    private static final GetDeviceSystemInfoRequest REQUEST =
+            GetDeviceSystemInfoRequest.builder().withDeviceId("1234-0").build();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private RingDeviceCommunicatorService delegateSpy;
+    private CachingRingDeviceCommunicatorService cachingClient;
+
+    @BeforeEach
+    void setup() {
+        delegateSpy = spy(RingDeviceCommunicatorService.getClient());
+        cachingClient = new CachingRingDeviceCommunicatorService(delegateSpy, 2, 60, TimeUnit.SECONDS,
+                new Ticker() {
+                    @Override
+                    public long read() {
+                        return nanos.get();
+                    }
+                });
+    }
+
+    @Test
+    void getDeviceSystemInfo_repeatedWithinTtl_callsDeviceOnce() {
+        // WHEN
+        cachingClient.getDeviceSystemInfo(REQUEST);
+        cachingClient.getDeviceSystemInfo(REQUEST);
+
+        // THEN
+        verify(delegateSpy, times(1)).getDeviceSystemInfo(REQUEST);
+        assertEquals(1, cachingClient.getStats().hitCount());
+        assertEquals(1, cachingClient.getStats().missCount());
+    }
+
+    @Test
+    void getDeviceSystemInfo_afterTtl_callsDeviceAgain() {
+        // WHEN
+        cachingClient.getDeviceSystemInfo(REQUEST);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        cachingClient.getDeviceSystemInfo(REQUEST);
+
+        // THEN
+        verify(delegateSpy, times(2)).getDeviceSystemInfo(REQUEST);
+        assertEquals(2, cachingClient.getStats().missCount());
+    }
+
+    @Test
+    void getDeviceSystemInfo_beyondMaximumSize_evictsEntries() {
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            cachingClient.getDeviceSystemInfo(GetDeviceSystemInfoRequest.builder().withDeviceId("1234-" + i).build());
+        }
+
+        // THEN
+        assertEquals(1, cachingClient.getStats().evictionCount());
+        assertEquals(2, cachingClient.size());
+    }
+
+    @Test
+    void updateDeviceFirmware_successful_overwritesCachedVersion() {
+        // GIVEN
+        UpdateDeviceFirmwareRequest update = UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(REQUEST.getDeviceId())
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build();
+        doReturn(UpdateDeviceFirmwareResponse.builder()
+                .withDeviceId(REQUEST.getDeviceId())
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .withWasSuccessful(true)
+                .build()).when(delegateSpy).updateDeviceFirmware(any());
+        cachingClient.getDeviceSystemInfo(REQUEST);
+
+        // WHEN
+        cachingClient.updateDeviceFirmware(update);
+
+        // THEN
+        assertEquals(KnownRingDeviceFirmwareVersions.PINKY,
+                cachingClient.getDeviceSystemInfo(REQUEST).getSystemInfo().getDeviceFirmwareVersion());
+        verify(delegateSpy, times(1)).getDeviceSystemInfo(REQUEST);
+    }
+
+    @Test
+    void updateDeviceFirmware_unsuccessful_invalidatesEntry() {
+        // GIVEN
+        doReturn(UpdateDeviceFirmwareResponse.builder()
+                .withDeviceId(REQUEST.getDeviceId())
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .withWasSuccessful(false)
+                .build()).when(delegateSpy).updateDeviceFirmware(any());
+        cachingClient.getDeviceSystemInfo(REQUEST);
+
+        // WHEN
+        cachingClient.updateDeviceFirmware(UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(REQUEST.getDeviceId())
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build());
+        cachingClient.getDeviceSystemInfo(REQUEST);
+
+        // THEN
+        verify(delegateSpy, times(2)).getDeviceSystemInfo(REQUEST);
+    }
+
+    @Test
+    void updateDeviceFirmware_throws_invalidatesEntry() {
+        // GIVEN
+        doThrow(new IllegalStateException("device unreachable")).when(delegateSpy).updateDeviceFirmware(any());
+        cachingClient.getDeviceSystemInfo(REQUEST);
+
+        // WHEN
+        assertThrows(IllegalStateException.class, () -> cachingClient.updateDeviceFirmware(
+                UpdateDeviceFirmwareRequest.builder()
+                        .withDeviceId(REQUEST.getDeviceId())
+                        .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                        .build()));
+        cachingClient.getDeviceSystemInfo(REQUEST);
+
+        // THEN
+        verify(delegateSpy, times(2)).getDeviceSystemInfo(REQUEST);
+    }
+
+    @Test
+    void getSimulation_returnsDelegateSimulation() {
+        // GIVEN
+        DeviceSimulation simulation = DeviceSimulation.builder().withSeed(7).build();
+
+        // WHEN
+        CachingRingDeviceCommunicatorService client = new CachingRingDeviceCommunicatorService(
+                new RingDeviceCommunicatorService(simulation), 2, 60, TimeUnit.SECONDS);
+
+        // THEN
+        assertSame(simulation, client.getSimulation());
+    }
+}
@@ -0,0 +1,136 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    public void setup() {
+        breaker = new CircuitBreaker(0.5, 4, 4, Duration.ofSeconds(1), 2, now::get);
+    }
+
+    @Test
+    public void onFailure_failureRateReachesThreshold_opensAndRefusesCalls() {
+        // WHEN
+        record(true, false, true, false);
+
+        // THEN
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMISSION, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void onFailure_belowMinimumCalls_staysClosed() {
+        // WHEN
+        record(true, true, true);
+
+        // THEN
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertNotEquals(CircuitBreaker.NO_PERMISSION, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void onSuccess_oldFailuresSlideOutOfWindow_staysClosed() {
+        // WHEN
+        record(true, false, false, false, false, true);
+
+        // THEN
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void tryAcquirePermission_afterOpenDuration_allowsLimitedTrialsThenCloses() {
+        // GIVEN
+        record(true, true, true, true);
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // WHEN
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+        long third = breaker.tryAcquirePermission();
+
+        // THEN
+        assertNotEquals(CircuitBreaker.NO_PERMISSION, first);
+        assertNotEquals(CircuitBreaker.NO_PERMISSION, second);
+        assertEquals(CircuitBreaker.NO_PERMISSION, third);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onSuccess(first);
+        breaker.onSuccess(second);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void onFailure_duringTrial_reopens() {
+        // GIVEN
+        record(true, true, true, true);
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        long trial = breaker.tryAcquirePermission();
+
+        // WHEN
+        breaker.onFailure(trial);
+
+        // THEN
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMISSION, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void onSuccess_fromBeforeBreakerOpened_isNotCountedAsTrial() {
+        // GIVEN
+        long slowCall = breaker.tryAcquirePermission();
+        record(true, true, true, true);
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        long trial = breaker.tryAcquirePermission();
+
+        // WHEN
+        breaker.onSuccess(slowCall);
+        breaker.onSuccess(slowCall);
+
+        // THEN
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onFailure(trial);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void onFailure_fromBeforeBreakerClosed_isNotRecordedInNewWindow() {
+        // GIVEN
+        long[] staleCalls = new long[4];
+        for (int i = 0; i < staleCalls.length; i++) {
+            staleCalls[i] = breaker.tryAcquirePermission();
+        }
+        record(true, true, true, true);
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        record(false, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // WHEN
+        for (long staleCall : staleCalls) {
+            breaker.onFailure(staleCall);
+        }
+
+        // THEN
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private void record(boolean... failures) {
+        for (boolean failed : failures) {
+            long permission = breaker.tryAcquirePermission();
+            assertNotEquals(CircuitBreaker.NO_PERMISSION, permission);
+            if (failed) {
+                breaker.onFailure(permission);
+            } else {
+                breaker.onSuccess(permission);
+            }
+        }
+    }
+}
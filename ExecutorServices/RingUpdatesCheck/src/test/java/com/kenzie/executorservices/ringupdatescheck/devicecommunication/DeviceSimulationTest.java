@@ -0,0 +1,281 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.DeviceId;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeviceSimulationTest {
+    private static final int DEVICES = 2_000;
+
+    @Test
+    public void updateLatencyMillis_sameSeed_sameLatencies() {
+        // GIVEN
+        DeviceSimulation.Builder builder = DeviceSimulation.builder()
+                .withLatency(LatencyDistribution.logNormal(Duration.ofMillis(50), 0.5, Duration.ofSeconds(1)));
+        RingDeviceCommunicatorService first = new RingDeviceCommunicatorService(builder.withSeed(7).build());
+        RingDeviceCommunicatorService second = new RingDeviceCommunicatorService(builder.withSeed(7).build());
+        RingDeviceCommunicatorService other = new RingDeviceCommunicatorService(builder.withSeed(8).build());
+
+        // WHEN
+        List<Long> firstLatencies = updateLatencies(first);
+        List<Long> secondLatencies = updateLatencies(second);
+        List<Long> otherLatencies = updateLatencies(other);
+
+        // THEN
+        assertEquals(firstLatencies, secondLatencies);
+        assertNotEquals(firstLatencies, otherLatencies);
+    }
+
+    @Test
+    public void updateLatencyMillis_repeatedCalls_varyButRepeatAcrossRuns() {
+        // GIVEN
+        DeviceSimulation.Builder builder = DeviceSimulation.builder()
+                .withSeed(7)
+                .withLatency(LatencyDistribution.logNormal(Duration.ofMillis(50), 0.5, Duration.ofSeconds(1)));
+        RingDeviceCommunicatorService first = new RingDeviceCommunicatorService(builder.build());
+        RingDeviceCommunicatorService second = new RingDeviceCommunicatorService(builder.build());
+
+        // WHEN
+        List<Long> firstLatencies = new ArrayList<>();
+        List<Long> secondLatencies = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            firstLatencies.add(first.updateLatencyMillis(updateRequest("device")));
+            secondLatencies.add(second.updateLatencyMillis(updateRequest("device")));
+        }
+
+        // THEN
+        assertEquals(firstLatencies, secondLatencies);
+        assertTrue(new HashSet<>(firstLatencies).size() > 1, "Every call got the same latency");
+    }
+
+    @Test
+    public void getDeviceSystemInfoBatch_someCallsFail_reportsErrorsPerDevice() {
+        // GIVEN
+        RingDeviceCommunicatorService client = new RingDeviceCommunicatorService(DeviceSimulation.builder()
+                .withLatency(LatencyDistribution.fixed(Duration.ZERO))
+                .withCallErrorRate(0.5)
+                .withQuietLogging(true)
+                .build());
+        List<String> deviceIds = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            deviceIds.add("device-" + i);
+        }
+
+        // WHEN
+        GetDeviceSystemInfoBatchResponse response = client.getDeviceSystemInfoBatch(
+                GetDeviceSystemInfoBatchRequest.builder().withDeviceIds(deviceIds).build());
+
+        // THEN
+        assertFalse(response.getErrors().isEmpty());
+        assertFalse(response.getSystemInfos().isEmpty());
+        assertEquals(deviceIds.size(), response.getSystemInfos().size() + response.getErrors().size());
+        response.getSystemInfos().forEach(info -> assertFalse(response.getErrors().containsKey(info.getDeviceId())));
+    }
+
+    @Test
+    public void updateResponse_failureRate_failsRoughlyThatShare() {
+        // GIVEN
+        RingDeviceCommunicatorService client = new RingDeviceCommunicatorService(DeviceSimulation.builder()
+                .withUpdateFailureRate(0.2)
+                .build());
+
+        // WHEN
+        int failures = 0;
+        for (int i = 0; i < DEVICES; i++) {
+            if (!client.updateResponse(updateRequest("device-" + i)).isWasSuccessful()) {
+                failures++;
+            }
+        }
+
+        // THEN
+        assertTrue(failures > DEVICES * 0.15 && failures < DEVICES * 0.25, "Failures: " + failures);
+    }
+
+    @Test
+    public void updateResponse_hashBasedDefaults_keepsNoStatePerDevice() {
+        // GIVEN
+        DeviceSimulation simulation = DeviceSimulation.builder().withQuietLogging(true).build();
+        RingDeviceCommunicatorService client = new RingDeviceCommunicatorService(simulation);
+
+        // WHEN
+        for (int i = 0; i < DEVICES; i++) {
+            client.updateLatencyMillis(updateRequest("device-" + i));
+            client.updateResponse(updateRequest("device-" + i));
+            client.systemInfoResponse(GetDeviceSystemInfoRequest.builder().withDeviceId("device-" + i).build());
+        }
+
+        // THEN
+        assertEquals(0, simulation.countedDevices());
+    }
+
+    @Test
+    public void updateResponse_moreDevicesThanCounted_boundsCallCounts() {
+        // GIVEN
+        DeviceSimulation simulation = DeviceSimulation.builder().withUpdateFailureRate(0.2).build();
+        RingDeviceCommunicatorService client = new RingDeviceCommunicatorService(simulation);
+
+        // WHEN
+        for (int i = 0; i < DeviceSimulation.MAX_COUNTED_DEVICES + DEVICES; i++) {
+            client.updateResponse(updateRequest(DeviceId.of(i, 0)));
+        }
+
+        // THEN
+        assertTrue(simulation.countedDevices() <= DeviceSimulation.MAX_COUNTED_DEVICES,
+                "Counted devices: " + simulation.countedDevices());
+    }
+
+    @Test
+    public void systemInfoResponse_callErrorRateOne_throws() {
+        // GIVEN
+        RingDeviceCommunicatorService client = new RingDeviceCommunicatorService(DeviceSimulation.builder()
+                .withCallErrorRate(1.0)
+                .build());
+
+        // WHEN - THEN
+        assertThrows(IllegalStateException.class, () -> client.systemInfoResponse(
+                GetDeviceSystemInfoRequest.builder().withDeviceId("123").build()));
+    }
+
+    @Test
+    public void getDeviceSystemInfo_quietLogging_printsNothing() {
+        // GIVEN
+        RingDeviceCommunicatorService client = new RingDeviceCommunicatorService(DeviceSimulation.builder()
+                .withLatency(LatencyDistribution.fixed(Duration.ZERO))
+                .withQuietLogging(true)
+                .build());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+
+        // WHEN
+        System.setOut(new PrintStream(output));
+        try {
+            client.getDeviceSystemInfo(GetDeviceSystemInfoRequest.builder().withDeviceId("123").build());
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        // THEN
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    public void sampleMillis_eachDistribution_staysWithinItsBounds() {
+        // GIVEN
+        SplittableRandom random = new SplittableRandom(1);
+        LatencyDistribution uniform = LatencyDistribution.uniform(Duration.ofMillis(10), Duration.ofMillis(20));
+        LatencyDistribution heavyTail =
+                LatencyDistribution.heavyTail(Duration.ofMillis(5), 1.1, Duration.ofSeconds(2));
+        LatencyDistribution logNormal =
+                LatencyDistribution.logNormal(Duration.ofMillis(100), 0.5, Duration.ofSeconds(2));
+        LatencyDistribution wideLogNormal =
+                LatencyDistribution.logNormal(Duration.ofMillis(100), 5, Duration.ofMillis(500));
+
+        // WHEN
+        long[] logNormalSamples = new long[DEVICES];
+        for (int i = 0; i < DEVICES; i++) {
+            long uniformSample = uniform.sampleMillis(random);
+            long heavyTailSample = heavyTail.sampleMillis(random);
+            logNormalSamples[i] = logNormal.sampleMillis(random);
+
+            // THEN
+            assertTrue(uniformSample >= 10 && uniformSample <= 20, "Uniform: " + uniformSample);
+            assertTrue(heavyTailSample >= 5 && heavyTailSample <= 2_000, "Heavy tail: " + heavyTailSample);
+            long wideLogNormalSample = wideLogNormal.sampleMillis(random);
+            assertTrue(wideLogNormalSample >= 0 && wideLogNormalSample <= 500,
+                    "Wide log-normal: " + wideLogNormalSample);
+        }
+        Arrays.sort(logNormalSamples);
+        long median = logNormalSamples[DEVICES / 2];
+        assertTrue(median > 90 && median < 110, "Log-normal median: " + median);
+    }
+
+    @Test
+    public void logNormal_medianBelowOneMillisecond_throws() {
+        // WHEN - THEN
+        assertThrows(IllegalArgumentException.class, () -> LatencyDistribution.logNormal(
+                Duration.ofNanos(500_000), 0.5, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    public void build_failureRateAboveOne_throws() {
+        // WHEN - THEN
+        assertThrows(IllegalArgumentException.class, () -> DeviceSimulation.builder()
+                .withUpdateFailureRate(1.5)
+                .build());
+    }
+
+    @Test
+    public void updateDeviceFirmware_compactDeviceIds_sameResultsAsStrings() {
+        // GIVEN
+        DeviceSimulation.Builder builder = DeviceSimulation.builder()
+                .withSeed(7)
+                .withLatency(LatencyDistribution.logNormal(Duration.ofMillis(50), 0.5, Duration.ofSeconds(1)))
+                .withUpdateFailureRate(0.3);
+        RingDeviceCommunicatorService stringClient = new RingDeviceCommunicatorService(builder.build());
+        RingDeviceCommunicatorService compactClient = new RingDeviceCommunicatorService(builder.build());
+
+        for (int i = 0; i < DEVICES; i++) {
+            DeviceId deviceId = DeviceId.of(1_000_003 * i, i % 20);
+            UpdateDeviceFirmwareRequest compactRequest = UpdateDeviceFirmwareRequest.builder()
+                    .withDeviceId(deviceId)
+                    .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                    .build();
+
+            // WHEN
+            long stringLatency = stringClient.updateLatencyMillis(updateRequest(deviceId.toString()));
+            long compactLatency = compactClient.updateLatencyMillis(compactRequest);
+            UpdateDeviceFirmwareResponse stringResponse = stringClient.updateResponse(
+                    updateRequest(deviceId.toString()));
+            UpdateDeviceFirmwareResponse compactResponse = compactClient.updateResponse(compactRequest);
+
+            // THEN
+            assertEquals(stringLatency, compactLatency, deviceId.toString());
+            assertEquals(stringResponse, compactResponse);
+            assertSame(deviceId, compactResponse.getCompactDeviceId());
+        }
+    }
+
+    private static List<Long> updateLatencies(RingDeviceCommunicatorService client) {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            latencies.add(client.updateLatencyMillis(updateRequest("device-" + i)));
+        }
+        return latencies;
+    }
+
+    private static UpdateDeviceFirmwareRequest updateRequest(DeviceId deviceId) {
+        return UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(deviceId)
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build();
+    }
+
+    private static UpdateDeviceFirmwareRequest updateRequest(String deviceId) {
+        return UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(deviceId)
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoBatchResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.DeviceVersionIndex;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexingRingDeviceCommunicatorServiceTest {
+    private RingDeviceCommunicatorService delegate;
+    private DeviceVersionIndex index;
+    private IndexingRingDeviceCommunicatorService indexingClient;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(RingDeviceCommunicatorService.class);
+        index = new DeviceVersionIndex();
+        indexingClient = new IndexingRingDeviceCommunicatorService(delegate, index);
+    }
+
+    @Test
+    void getDeviceSystemInfo_recordsReportedVersion() {
+        // GIVEN
+        when(delegate.getDeviceSystemInfo(any(GetDeviceSystemInfoRequest.class))).thenReturn(GetDeviceSystemInfoResponse.builder()
+                .withSystemInfo(systemInfo("1-0"))
+                .build());
+
+        // WHEN
+        indexingClient.getDeviceSystemInfo(GetDeviceSystemInfoRequest.builder().withDeviceId("1-0").build());
+
+        // THEN
+        assertEquals(KnownRingDeviceFirmwareVersions.BLINKY, index.getVersion("1-0"));
+    }
+
+    @Test
+    void getDeviceSystemInfoBatch_recordsEveryReportedVersion() {
+        // GIVEN
+        when(delegate.getDeviceSystemInfoBatch(any())).thenReturn(GetDeviceSystemInfoBatchResponse.builder()
+                .withSystemInfos(List.of(systemInfo("1-0"), systemInfo("1-1")))
+                .build());
+
+        // WHEN
+        indexingClient.getDeviceSystemInfoBatch(GetDeviceSystemInfoBatchRequest.builder()
+                .withDeviceIds(List.of("1-0", "1-1"))
+                .build());
+
+        // THEN
+        assertEquals(List.of("1-0", "1-1"),
+                index.findDevicesBelow(KnownRingDeviceFirmwareVersions.PINKY).stream().sorted().toList());
+    }
+
+    @Test
+    void updateDeviceFirmware_recordsOutcome() {
+        // GIVEN
+        index.record(systemInfo("1-0"));
+        index.record(systemInfo("1-1"));
+        when(delegate.updateDeviceFirmware(any())).thenAnswer(invocation -> {
+            UpdateDeviceFirmwareRequest request = invocation.getArgument(0);
+            return UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId(request.getDeviceId())
+                    .withVersion(request.getVersion())
+                    .withWasSuccessful(request.getDeviceId().equals("1-0"))
+                    .build();
+        });
+
+        // WHEN
+        for (String deviceId : List.of("1-0", "1-1")) {
+            indexingClient.updateDeviceFirmware(UpdateDeviceFirmwareRequest.builder()
+                    .withDeviceId(deviceId)
+                    .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                    .build());
+        }
+
+        // THEN
+        assertEquals(KnownRingDeviceFirmwareVersions.PINKY, index.getVersion("1-0"));
+        assertEquals(KnownRingDeviceFirmwareVersions.BLINKY, index.getVersion("1-1"));
+    }
+
+    @Test
+    void getSimulation_returnsDelegateSimulation() {
+        // GIVEN
+        DeviceSimulation simulation = DeviceSimulation.builder().withSeed(7).build();
+        IndexingRingDeviceCommunicatorService client = new IndexingRingDeviceCommunicatorService(
+                new RingDeviceCommunicatorService(simulation), index);
+
+        // WHEN
+        DeviceSimulation result = client.getSimulation();
+
+        // THEN
+        assertSame(simulation, result);
+    }
+
+    private static RingDeviceSystemInfo systemInfo(String deviceId) {
+        return RingDeviceSystemInfo.builder()
+                .withDeviceId(deviceId)
+                .withDeviceFirmwareVersion(KnownRingDeviceFirmwareVersions.BLINKY)
+                .build();
+    }
+}
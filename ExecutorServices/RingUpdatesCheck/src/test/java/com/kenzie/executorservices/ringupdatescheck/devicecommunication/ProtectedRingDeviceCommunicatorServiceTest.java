@@ -0,0 +1,151 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ProtectedRingDeviceCommunicatorServiceTest {
+    private RingDeviceCommunicatorService delegate;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long sleepMillis = 5;
+    private volatile boolean failing;
+
+    @BeforeEach
+    public void setup() {
+        delegate = mock(RingDeviceCommunicatorService.class);
+        when(delegate.getDeviceSystemInfo(any(GetDeviceSystemInfoRequest.class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(sleepMillis);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (failing) {
+                throw new IllegalStateException("backend unavailable");
+            }
+            return GetDeviceSystemInfoResponse.builder()
+                    .withSystemInfo(RingDeviceSystemInfo.builder()
+                            .withDeviceId(invocation.getArgument(0, GetDeviceSystemInfoRequest.class).getDeviceId())
+                            .withDeviceFirmwareVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                            .build())
+                    .build();
+        });
+    }
+
+    @Test
+    public void getDeviceSystemInfo_manyConcurrentCallers_neverExceedsLimit() throws Exception {
+        // GIVEN
+        ProtectedRingDeviceCommunicatorService client = client(new AdaptiveConcurrencyLimiter(3, 1, 3, 0.5));
+
+        // WHEN
+        callConcurrently(client, 24);
+
+        // THEN
+        assertTrue(maxInFlight.get() <= 3, "Limit exceeded: " + maxInFlight.get());
+        assertEquals(0, client.getLimiter().getInFlight());
+    }
+
+    @Test
+    public void getDeviceSystemInfo_slowBackend_limitShrinks() throws Exception {
+        // GIVEN
+        sleepMillis = 30;
+        ProtectedRingDeviceCommunicatorService client = client(new AdaptiveConcurrencyLimiter(8, 2, 16, 0.5));
+
+        // WHEN
+        callConcurrently(client, 16);
+
+        // THEN
+        assertEquals(2, client.getLimiter().getLimit());
+    }
+
+    @Test
+    public void getDeviceSystemInfo_fastBackendUnderLoad_limitGrows() throws Exception {
+        // GIVEN
+        ProtectedRingDeviceCommunicatorService client = client(new AdaptiveConcurrencyLimiter(2, 1, 16, 0.5));
+
+        // WHEN
+        callConcurrently(client, 40);
+
+        // THEN
+        assertTrue(client.getLimiter().getLimit() > 2, "Limit did not grow: " + client.getLimiter().getLimit());
+    }
+
+    @Test
+    public void getDeviceSystemInfo_backendFailing_opensBreakerAndFailsFast() {
+        // GIVEN
+        failing = true;
+        ProtectedRingDeviceCommunicatorService client = client(new AdaptiveConcurrencyLimiter());
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> client.getDeviceSystemInfo(request("device")));
+        }
+
+        // WHEN - THEN
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreaker().getState());
+        assertThrows(CircuitBreakerOpenException.class, () -> client.getDeviceSystemInfo(request("device")));
+        verify(delegate, times(4)).getDeviceSystemInfo(any(GetDeviceSystemInfoRequest.class));
+    }
+
+    @Test
+    public void getSimulation_returnsDelegateSimulation() {
+        // GIVEN
+        DeviceSimulation simulation = DeviceSimulation.builder().withSeed(7).build();
+        ProtectedRingDeviceCommunicatorService client = new ProtectedRingDeviceCommunicatorService(
+                new RingDeviceCommunicatorService(simulation), new AdaptiveConcurrencyLimiter(), new CircuitBreaker(),
+                Duration.ofMillis(20), Duration.ofMillis(20));
+
+        // WHEN
+        DeviceSimulation result = client.getSimulation();
+
+        // THEN
+        assertSame(simulation, result);
+    }
+
+    private ProtectedRingDeviceCommunicatorService client(AdaptiveConcurrencyLimiter limiter) {
+        return new ProtectedRingDeviceCommunicatorService(delegate, limiter,
+                new CircuitBreaker(0.5, 4, 4, Duration.ofMinutes(1), 1),
+                Duration.ofMillis(20), Duration.ofMillis(20));
+    }
+
+    private void callConcurrently(ProtectedRingDeviceCommunicatorService client, int calls) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GetDeviceSystemInfoResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                String deviceId = "device-" + i;
+                futures.add(callers.submit(() -> client.getDeviceSystemInfo(request(deviceId))));
+            }
+            for (Future<GetDeviceSystemInfoResponse> future : futures) {
+                future.get();
+            }
+        } finally {
+            callers.shutdown();
+        }
+    }
+
+    private static GetDeviceSystemInfoRequest request(String deviceId) {
+        return GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build();
+    }
+}
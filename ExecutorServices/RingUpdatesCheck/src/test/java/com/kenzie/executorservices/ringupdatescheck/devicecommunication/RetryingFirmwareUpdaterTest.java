@@ -0,0 +1,180 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RetryingFirmwareUpdaterTest {
+    private static final Executor DIRECT = Runnable::run;
+
+    private RingDeviceCommunicatorService ringClient;
+    private final Map<String, AtomicInteger> attemptsByDevice = new ConcurrentHashMap<>();
+    private final Map<String, Integer> failuresBeforeSuccess = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setup() {
+        ringClient = mock(RingDeviceCommunicatorService.class);
+        when(ringClient.updateDeviceFirmware(any(UpdateDeviceFirmwareRequest.class))).thenAnswer(invocation -> {
+            UpdateDeviceFirmwareRequest request = invocation.getArgument(0, UpdateDeviceFirmwareRequest.class);
+            int attempt = attemptsByDevice.computeIfAbsent(request.getDeviceId(), id -> new AtomicInteger())
+                    .incrementAndGet();
+            if ("throws".equals(request.getDeviceId())) {
+                throw new IllegalStateException("device unreachable");
+            }
+            return UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId(request.getDeviceId())
+                    .withVersion(request.getVersion())
+                    .withWasSuccessful(attempt > failuresBeforeSuccess.getOrDefault(request.getDeviceId(), 0))
+                    .build();
+        });
+    }
+
+    @Test
+    public void update_transientFailure_succeedsAfterRetries() {
+        // GIVEN
+        failuresBeforeSuccess.put("device", 2);
+        RetryingFirmwareUpdater updater = new RetryingFirmwareUpdater(ringClient, DIRECT, fastPolicy(4, 1000));
+
+        // WHEN
+        FirmwareUpdateOutcome outcome = updater.update(request("device")).join();
+
+        // THEN
+        assertTrue(outcome.isSuccessful());
+        assertEquals(3, outcome.getAttempts());
+        assertEquals(2, outcome.getRetryCount());
+        assertNull(outcome.getFailureReason());
+    }
+
+    @Test
+    public void update_persistentFailure_stopsAtAttemptBudgetWithReason() {
+        // GIVEN
+        failuresBeforeSuccess.put("device", Integer.MAX_VALUE);
+        RetryingFirmwareUpdater updater = new RetryingFirmwareUpdater(ringClient, DIRECT, fastPolicy(3, 1000));
+
+        // WHEN
+        FirmwareUpdateOutcome outcome = updater.update(request("device")).join();
+
+        // THEN
+        assertFalse(outcome.isSuccessful());
+        assertEquals(3, outcome.getAttempts());
+        assertEquals(3, attemptsByDevice.get("device").get());
+        assertTrue(outcome.getFailureReason().contains("unsuccessful"));
+        assertFalse(outcome.getLastResponse().isWasSuccessful());
+    }
+
+    @Test
+    public void update_callThrows_isRetriedAndReportedAsFailure() {
+        // GIVEN
+        RetryingFirmwareUpdater updater = new RetryingFirmwareUpdater(ringClient, DIRECT, fastPolicy(2, 1000));
+
+        // WHEN
+        FirmwareUpdateOutcome outcome = updater.update(request("throws")).join();
+
+        // THEN
+        assertEquals(2, attemptsByDevice.get("throws").get());
+        assertTrue(outcome.getFailureReason().contains("device unreachable"));
+        assertNull(outcome.getLastResponse());
+    }
+
+    @Test
+    public void update_firstAttemptRejected_reportsNoAttemptsAndNoRetries() {
+        // GIVEN
+        Executor rejecting = runnable -> {
+            throw new RejectedExecutionException("executor is shut down");
+        };
+        RetryingFirmwareUpdater updater = new RetryingFirmwareUpdater(ringClient, rejecting, fastPolicy(3, 1000));
+
+        // WHEN
+        FirmwareUpdateOutcome outcome = updater.update(request("device")).join();
+
+        // THEN
+        assertFalse(outcome.isSuccessful());
+        assertEquals(0, outcome.getAttempts());
+        assertEquals(0, outcome.getRetryCount());
+        assertTrue(outcome.getFailureReason().contains("executor is shut down"));
+        assertNull(attemptsByDevice.get("device"));
+    }
+
+    @Test
+    public void update_manyFailuresAtOnce_retriesAreRateLimited() {
+        // GIVEN
+        int devices = 6;
+        List<CompletableFuture<FirmwareUpdateOutcome>> outcomes = new ArrayList<>();
+        for (int i = 0; i < devices; i++) {
+            failuresBeforeSuccess.put("device-" + i, 1);
+        }
+        RetryingFirmwareUpdater updater = new RetryingFirmwareUpdater(ringClient, DIRECT, fastPolicy(2, 50));
+
+        // WHEN
+        long start = System.nanoTime();
+        for (int i = 0; i < devices; i++) {
+            outcomes.add(updater.update(request("device-" + i)));
+        }
+        outcomes.forEach(CompletableFuture::join);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // THEN
+        // Six retries at 50 per second need at least five 20ms intervals between them.
+        assertTrue(elapsedMillis >= 90, "Retries were not spread out: " + elapsedMillis + "ms");
+        outcomes.forEach(outcome -> assertTrue(outcome.join().isSuccessful()));
+    }
+
+    @Test
+    public void backoffCeiling_growsExponentiallyUpToMax() {
+        // GIVEN
+        RetryPolicy policy = RetryPolicy.builder()
+                .withInitialBackoff(Duration.ofMillis(100))
+                .withMaxBackoff(Duration.ofMillis(350))
+                .withBackoffMultiplier(2.0)
+                .build();
+
+        // WHEN - THEN
+        assertEquals(Duration.ofMillis(100).toNanos(), policy.backoffCeilingNanos(1));
+        assertEquals(Duration.ofMillis(200).toNanos(), policy.backoffCeilingNanos(2));
+        assertEquals(Duration.ofMillis(350).toNanos(), policy.backoffCeilingNanos(3));
+    }
+
+    @Test
+    public void build_invalidPolicy_throws() {
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.builder().withMaxAttempts(0).build());
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.builder().withMaxRetriesPerSecond(0).build());
+    }
+
+    private static RetryPolicy fastPolicy(int maxAttempts, double maxRetriesPerSecond) {
+        return RetryPolicy.builder()
+                .withMaxAttempts(maxAttempts)
+                .withInitialBackoff(Duration.ofMillis(1))
+                .withMaxBackoff(Duration.ofMillis(5))
+                .withMaxRetriesPerSecond(maxRetriesPerSecond)
+                .build();
+    }
+
+    private static UpdateDeviceFirmwareRequest request(String deviceId) {
+        return UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(deviceId)
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build();
+    }
+}
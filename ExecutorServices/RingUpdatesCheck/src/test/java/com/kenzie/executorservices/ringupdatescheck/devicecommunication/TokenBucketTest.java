@@ -0,0 +1,52 @@
+package com.kenzie.executorservices.ringupdatescheck.devicecommunication;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+    @Test
+    public void tryAcquire_burstUsedUp_reportsWaitWithoutTakingAToken() {
+        // GIVEN
+        TokenBucket bucket = new TokenBucket(0.001, 2);
+
+        // WHEN
+        long first = bucket.tryAcquire();
+        long second = bucket.tryAcquire();
+        long third = bucket.tryAcquire();
+        long fourth = bucket.tryAcquire();
+
+        // THEN
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertTrue(third > TimeUnit.SECONDS.toNanos(900), "Wait: " + third);
+        assertTrue(fourth > TimeUnit.SECONDS.toNanos(900) && fourth <= third, "Wait: " + fourth);
+    }
+
+    @Test
+    public void acquire_beyondBurst_pacesAtRefillRate() throws InterruptedException {
+        // GIVEN
+        TokenBucket bucket = new TokenBucket(50, 1);
+
+        // WHEN
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            bucket.acquire();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // THEN
+        // The first token is already there; the other three need three 20ms intervals.
+        assertTrue(elapsedMillis >= 55, "Tokens were not paced: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    public void new_invalidSettings_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
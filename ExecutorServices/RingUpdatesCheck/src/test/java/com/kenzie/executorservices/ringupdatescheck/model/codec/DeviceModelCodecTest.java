@@ -0,0 +1,211 @@
+package com.kenzie.executorservices.ringupdatescheck.model.codec;
+
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeviceModelCodecTest {
+    private DeviceModelEncoder encoder;
+    private DeviceModelDecoder decoder;
+    private ByteBuffer buffer;
+
+    @BeforeEach
+    void setup() {
+        encoder = new DeviceModelEncoder();
+        decoder = new DeviceModelDecoder();
+        buffer = ByteBuffer.allocate(1024);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "1234567-12", "0-0", "2147483647-2147483647", "789", "01-2", "12-", "-3", "2147483648-1", "h\u00e9llo-1", ""
+    })
+    void decodeSystemInfo_afterEncode_returnsEqualRecord(String deviceId) {
+        // GIVEN
+        RingDeviceSystemInfo systemInfo = RingDeviceSystemInfo.builder()
+                .withDeviceId(deviceId)
+                .withDeviceFirmwareVersion(KnownRingDeviceFirmwareVersions.INKY)
+                .build();
+        encoder.encode(systemInfo, buffer);
+        buffer.flip();
+
+        // WHEN
+        RingDeviceSystemInfo decoded = decoder.decodeSystemInfo(buffer);
+
+        // THEN
+        assertEquals(systemInfo, decoded);
+        assertSame(KnownRingDeviceFirmwareVersions.INKY, decoded.getDeviceFirmwareVersion());
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void decode_withNullFields_returnsEqualRecords() {
+        // GIVEN
+        RingDeviceSystemInfo systemInfo = RingDeviceSystemInfo.builder().build();
+        UpdateDeviceFirmwareResponse updateResponse = UpdateDeviceFirmwareResponse.builder()
+                .withVersion(RingDeviceFirmwareVersion.builder().build())
+                .build();
+        GetCustomerDevicesResponse customerDevices = GetCustomerDevicesResponse.builder().build();
+        encoder.encode(systemInfo, buffer);
+        encoder.encode(updateResponse, buffer);
+        encoder.encode(customerDevices, buffer);
+        buffer.flip();
+
+        // WHEN - THEN
+        assertEquals(systemInfo, decoder.decodeSystemInfo(buffer));
+        assertEquals(updateResponse, decoder.decodeUpdateResponse(buffer));
+        assertEquals(customerDevices, decoder.decodeCustomerDevices(buffer));
+    }
+
+    @Test
+    void decodeCustomerDevices_afterEncode_returnsEqualRecord() {
+        // GIVEN
+        GetCustomerDevicesResponse response = GetCustomerDevicesResponse.builder()
+                .withCustomerId("customer")
+                .withDeviceIds(Arrays.asList("42-0", "42-1", "7-0", "not a device", "42-2"))
+                .withNextToken("6")
+                .build();
+        encoder.encode(response, buffer);
+        buffer.flip();
+
+        // WHEN
+        GetCustomerDevicesResponse decoded = decoder.decodeCustomerDevices(buffer);
+
+        // THEN
+        assertEquals(response, decoded);
+    }
+
+    @Test
+    void encode_withRepeatedVersion_writesVersionOnce() {
+        // GIVEN
+        UpdateDeviceFirmwareResponse first = updateResponse("1234567-1", KnownRingDeviceFirmwareVersions.PINKY);
+        UpdateDeviceFirmwareResponse second = updateResponse("1234567-2", KnownRingDeviceFirmwareVersions.PINKY);
+
+        // WHEN
+        encoder.encode(first, buffer);
+        int firstSize = buffer.position();
+        encoder.encode(second, buffer);
+        int secondSize = buffer.position() - firstSize;
+        buffer.flip();
+
+        // THEN
+        assertTrue(secondSize < firstSize, String.format("Expected the second record [%d bytes] to be smaller "
+                + "than the first [%d bytes]", secondSize, firstSize));
+        assertEquals(first, decoder.decodeUpdateResponse(buffer));
+        assertEquals(second, decoder.decodeUpdateResponse(buffer));
+    }
+
+    @Test
+    void encode_sweepOfUpdateResults_staysNearTenBytesPerResult() {
+        // GIVEN - the same sweep DeviceModelCodecBenchmark encodes
+        RingDeviceFirmwareVersion[] versions = {
+            KnownRingDeviceFirmwareVersions.PINKY,
+            KnownRingDeviceFirmwareVersions.INKY,
+            KnownRingDeviceFirmwareVersions.BLINKY
+        };
+        int count = 1000;
+        ByteBuffer large = ByteBuffer.allocate(64 * 1024);
+
+        // WHEN
+        for (int i = 0; i < count; i++) {
+            encoder.encode(UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId((1_000_000_000 + i / 18) + "-" + i % 18)
+                    .withVersion(versions[i % versions.length])
+                    .withWasSuccessful(i % 10 > 2)
+                    .build(), large);
+        }
+
+        // THEN
+        assertTrue(large.position() <= 11 * count, String.format("Expected [%d] results to encode to at most [%d] "
+                + "bytes, but they took [%d]", count, 11 * count, large.position()));
+    }
+
+    @Test
+    void encode_withMoreVersionsThanDictionaryHolds_writesRemainingVersionsInFull() {
+        // GIVEN
+        ByteBuffer large = ByteBuffer.allocate(64 * 1024);
+        int count = DeviceModelFormat.MAX_DICTIONARY_SIZE + 10;
+        for (int i = 0; i < count; i++) {
+            encoder.encode(updateResponse("1-" + i, version("9.9." + i)), large);
+        }
+        large.flip();
+
+        // WHEN - THEN
+        for (int i = 0; i < count; i++) {
+            assertEquals(updateResponse("1-" + i, version("9.9." + i)), decoder.decodeUpdateResponse(large));
+        }
+    }
+
+    @Test
+    void encode_whenBufferTooSmall_writesNothingAndCanBeRetried() {
+        // GIVEN
+        UpdateDeviceFirmwareResponse response = updateResponse("1234567-1", KnownRingDeviceFirmwareVersions.BLINKY);
+        ByteBuffer small = ByteBuffer.allocate(4);
+
+        // WHEN
+        assertThrows(BufferOverflowException.class, () -> encoder.encode(response, small));
+        encoder.encode(response, buffer);
+        buffer.flip();
+
+        // THEN
+        assertEquals(0, small.position());
+        assertEquals(response, decoder.decodeUpdateResponse(buffer));
+    }
+
+    @Test
+    void decode_whenRecordTruncated_consumesNothingAndCanBeRetried() {
+        // GIVEN
+        UpdateDeviceFirmwareResponse response = updateResponse("1234567-1", KnownRingDeviceFirmwareVersions.BLINKY);
+        encoder.encode(response, buffer);
+        buffer.flip();
+        int size = buffer.limit();
+        buffer.limit(size - 1);
+
+        // WHEN
+        assertThrows(BufferUnderflowException.class, () -> decoder.decodeUpdateResponse(buffer));
+        buffer.limit(size);
+
+        // THEN
+        assertEquals(0, buffer.position());
+        assertEquals(response, decoder.decodeUpdateResponse(buffer));
+    }
+
+    @Test
+    void decode_withWrongRecordType_throwsIllegalArgumentException() {
+        // GIVEN
+        encoder.encode(RingDeviceSystemInfo.builder().withDeviceId("1-1").build(), buffer);
+        buffer.flip();
+
+        // WHEN - THEN
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeUpdateResponse(buffer));
+    }
+
+    private static UpdateDeviceFirmwareResponse updateResponse(String deviceId, RingDeviceFirmwareVersion version) {
+        return UpdateDeviceFirmwareResponse.builder()
+                .withDeviceId(deviceId)
+                .withVersion(version)
+                .withWasSuccessful(true)
+                .build();
+    }
+
+    private static RingDeviceFirmwareVersion version(String versionNumber) {
+        return RingDeviceFirmwareVersion.builder().withVersionNumber(versionNumber).build();
+    }
+}
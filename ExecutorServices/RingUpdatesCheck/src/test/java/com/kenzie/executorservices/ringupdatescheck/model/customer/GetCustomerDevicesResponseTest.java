@@ -0,0 +1,74 @@
+package com.kenzie.executorservices.ringupdatescheck.model.customer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GetCustomerDevicesResponseTest {
+
+    @Test
+    void build_withDeviceIds_copiesList() {
+        // GIVEN
+        List<String> deviceIds = new ArrayList<>(List.of("1-0", "1-1"));
+        GetCustomerDevicesResponse response = GetCustomerDevicesResponse.builder()
+                .withDeviceIds(deviceIds)
+                .build();
+
+        // WHEN
+        deviceIds.add("1-2");
+
+        // THEN
+        assertEquals(List.of("1-0", "1-1"), response.getDeviceIds());
+    }
+
+    @Test
+    void build_withOwnedDeviceIds_returnsUnmodifiableViewOfList() {
+        // GIVEN
+        List<String> deviceIds = new ArrayList<>(List.of("1-0", "1-1"));
+
+        // WHEN
+        GetCustomerDevicesResponse response = GetCustomerDevicesResponse.builder()
+                .withOwnedDeviceIds(deviceIds)
+                .build();
+
+        // THEN
+        assertEquals(deviceIds, response.getDeviceIds());
+        assertThrows(UnsupportedOperationException.class, () -> response.getDeviceIds().add("1-2"));
+    }
+
+    @Test
+    void equals_withOwnedAndCopiedDeviceIds_isEqual() {
+        // GIVEN
+        GetCustomerDevicesResponse owned = GetCustomerDevicesResponse.builder()
+                .withCustomerId("1")
+                .withOwnedDeviceIds(new ArrayList<>(List.of("1-0", "1-1")))
+                .build();
+        GetCustomerDevicesResponse copied = GetCustomerDevicesResponse.builder()
+                .withCustomerId("1")
+                .withDeviceIds(List.of("1-0", "1-1"))
+                .build();
+
+        // WHEN - THEN
+        assertEquals(owned, copied);
+        assertEquals(owned.hashCode(), copied.hashCode());
+    }
+
+    @Test
+    void build_twiceWithOwnedDeviceIds_sharesList() {
+        // GIVEN
+        GetCustomerDevicesResponse.Builder builder = GetCustomerDevicesResponse.builder()
+                .withOwnedDeviceIds(new ArrayList<>(List.of("1-0")));
+
+        // WHEN
+        GetCustomerDevicesResponse first = builder.build();
+        GetCustomerDevicesResponse second = builder.build();
+
+        // THEN
+        assertSame(first.getDeviceIds(), second.getDeviceIds());
+    }
+}
@@ -0,0 +1,114 @@
+package com.kenzie.executorservices.ringupdatescheck.model.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeviceIdTest {
+    @Test
+    public void parse_renderedId_roundTrips() {
+        // GIVEN
+        DeviceId deviceId = DeviceId.of(2_000_000_000, 17);
+
+        // WHEN
+        DeviceId parsed = DeviceId.parse(deviceId.toString());
+
+        // THEN
+        assertEquals("2000000000-17", deviceId.toString());
+        assertEquals(deviceId, parsed);
+        assertEquals(deviceId.hashCode(), parsed.hashCode());
+        assertEquals(deviceId, DeviceId.fromLong(deviceId.asLong()));
+        assertNotEquals(DeviceId.of(17, 2_000_000_000), deviceId);
+    }
+
+    @Test
+    public void toString_calledTwice_rendersOnce() {
+        // GIVEN
+        DeviceId deviceId = DeviceId.of(1, 2);
+
+        // WHEN - THEN
+        assertSame(deviceId.toString(), deviceId.toString());
+    }
+
+    @Test
+    public void parse_malformedIds_throw() {
+        // WHEN - THEN
+        for (String malformed : new String[] {"", "12", "12-", "-3", "a-1", "1-2-3", "01-2", "1--2"}) {
+            assertThrows(IllegalArgumentException.class, () -> DeviceId.parse(malformed), malformed);
+        }
+    }
+
+    @Test
+    public void withDeviceId_compactId_sameRequestAsString() {
+        // GIVEN
+        DeviceId deviceId = DeviceId.of(789, 0);
+
+        // WHEN
+        GetDeviceSystemInfoRequest request = GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build();
+
+        // THEN
+        GetDeviceSystemInfoRequest stringRequest = GetDeviceSystemInfoRequest.builder().withDeviceId("789-0").build();
+        assertSame(deviceId, request.getCompactDeviceId());
+        assertEquals(stringRequest, request);
+        assertEquals(stringRequest.hashCode(), request.hashCode());
+        assertEquals(stringRequest.toString(), request.toString());
+    }
+
+    @Test
+    public void stringHashCode_anyId_matchesRenderedString() {
+        // GIVEN
+        int[] values = {0, 1, 9, 10, 99, 100, 12_345, 999_999_999, 1_000_000_000, Integer.MAX_VALUE};
+
+        for (int rootId : values) {
+            for (int index : values) {
+                // WHEN
+                DeviceId deviceId = DeviceId.of(rootId, index);
+
+                // THEN
+                assertEquals((rootId + "-" + index).hashCode(), deviceId.stringHashCode(), deviceId.toString());
+            }
+        }
+    }
+
+    @Test
+    public void getCompactDeviceIds_anyCustomer_matchesStringDeviceIds() {
+        // GIVEN
+        CustomerService customerService = CustomerService.getClient();
+        List<String> deviceIds = customerService.getCustomerDevices(GetCustomerDevicesRequest.builder()
+                .withCustomerId("12345")
+                .build())
+                .getDeviceIds();
+
+        // WHEN
+        List<DeviceId> compactIds = customerService.getCompactDeviceIds("12345");
+
+        // THEN
+        assertEquals(deviceIds, compactIds.stream().map(DeviceId::toString).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void getCompactDeviceIds_customerHashingToMinValue_matchesStringDeviceIds() {
+        // GIVEN - Objects.hash of this customer ID is Integer.MIN_VALUE, which Math.abs leaves negative
+        String customerId = "customer517124ehz";
+        CustomerService customerService = CustomerService.getClient();
+        List<String> deviceIds = customerService.getCustomerDevices(GetCustomerDevicesRequest.builder()
+                .withCustomerId(customerId)
+                .build())
+                .getDeviceIds();
+
+        // WHEN
+        List<DeviceId> compactIds = customerService.getCompactDeviceIds(customerId);
+
+        // THEN
+        assertEquals(deviceIds, compactIds.stream().map(DeviceId::toString).collect(Collectors.toList()));
+    }
+}
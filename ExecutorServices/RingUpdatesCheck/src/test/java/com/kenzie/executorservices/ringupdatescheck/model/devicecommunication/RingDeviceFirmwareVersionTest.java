@@ -0,0 +1,55 @@
+package com.kenzie.executorservices.ringupdatescheck.model.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RingDeviceFirmwareVersionTest {
+
+    @Test
+    void build_withSameVersionNumber_returnsSameInstance() {
+        // GIVEN
+        String versionNumber = new String("7.4.2");
+
+        // WHEN
+        RingDeviceFirmwareVersion first = RingDeviceFirmwareVersion.builder()
+                .withVersionNumber(versionNumber)
+                .build();
+        RingDeviceFirmwareVersion second = RingDeviceFirmwareVersion.builder()
+                .withVersionNumber(new String("7.4.2"))
+                .build();
+
+        // THEN
+        assertSame(first, second);
+    }
+
+    @Test
+    void build_withNullVersionNumber_returnsNewInstances() {
+        // GIVEN - no version number
+
+        // WHEN
+        RingDeviceFirmwareVersion first = RingDeviceFirmwareVersion.builder().build();
+        RingDeviceFirmwareVersion second = RingDeviceFirmwareVersion.builder().build();
+
+        // THEN
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void intern_withKnownVersion_returnsSharedInstance() {
+        // GIVEN
+        RingDeviceFirmwareVersion known = KnownRingDeviceFirmwareVersions.PINKY;
+
+        // WHEN
+        RingDeviceFirmwareVersion interned = RingDeviceFirmwareVersion.intern(
+                RingDeviceFirmwareVersion.builder().withVersionNumber("11.0").build());
+
+        // THEN
+        assertSame(known, interned);
+    }
+}
@@ -0,0 +1,50 @@
+package com.kenzie.executorservices.ringupdatescheck.model.devicecommunication;
+
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class UpdateDeviceFirmwareResponseTest {
+    @Test
+    public void hashCode_sameFields_sameValueAsArraysHashCode() {
+        // GIVEN
+        UpdateDeviceFirmwareResponse response = response("123-4", true);
+        int classNameHashCode = Arrays.hashCode(new Object[] {
+            "com.amazon.ata.executorservice.classroom.devicecommunication.UpdateDeviceFirmwareResponse"});
+
+        // WHEN
+        int hashCode = response.hashCode();
+
+        // THEN
+        assertEquals(Arrays.hashCode(new Object[] {
+            classNameHashCode, "123-4", KnownRingDeviceFirmwareVersions.PINKY, true}), hashCode);
+        assertEquals(hashCode, response.hashCode());
+    }
+
+    @Test
+    public void equals_differentFieldsAfterHashing_notEqual() {
+        // GIVEN
+        UpdateDeviceFirmwareResponse succeeded = response("123-4", true);
+        UpdateDeviceFirmwareResponse failed = response("123-4", false);
+        succeeded.hashCode();
+        failed.hashCode();
+
+        // WHEN - THEN
+        assertNotEquals(succeeded, failed);
+        assertEquals(succeeded, response("123-4", true));
+        assertEquals(succeeded, succeeded);
+    }
+
+    private static UpdateDeviceFirmwareResponse response(String deviceId, boolean wasSuccessful) {
+        return UpdateDeviceFirmwareResponse.builder()
+                .withDeviceId(deviceId)
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .withWasSuccessful(wasSuccessful)
+                .build();
+    }
+}
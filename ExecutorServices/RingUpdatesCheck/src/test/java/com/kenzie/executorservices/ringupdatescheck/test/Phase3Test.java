@@ -9,6 +9,7 @@ import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDevi
 import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
 
 import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -38,6 +39,11 @@ public class Phase3Test {
         deviceChecker = new DeviceChecker(customerServiceSpy, deviceCommunicatorServiceSpy);
     }
 
+    @AfterEach
+    public void tearDown() {
+        deviceChecker.close();
+    }
+
     @Test
     void deviceChecker_checkDevicesConcurrently_callsGetDeviceSystemInfoForDevice() {
         // GIVEN
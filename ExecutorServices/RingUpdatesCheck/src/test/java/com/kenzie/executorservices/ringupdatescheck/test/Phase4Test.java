@@ -12,6 +12,7 @@ import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDevi
 import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
 
 import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +36,11 @@ public class Phase4Test {
         deviceChecker = new DeviceChecker(customerServiceSpy, deviceCommunicatorServiceSpy);
     }
 
+    @AfterEach
+    public void tearDown() {
+        deviceChecker.close();
+    }
+
     @Test
     void deviceTracker_checkDevicesConcurrently_resultsInCallsToUpdateDeviceFirmwareForOutOfDateDevice() {
         // GIVEN
@@ -0,0 +1,130 @@
+package com.kenzie.executorservices.ringupdatescheck.util;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions.BLINKY;
+import static com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions.INKY;
+import static com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions.PINKY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DeviceVersionIndexTest {
+    private DeviceVersionIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new DeviceVersionIndex();
+    }
+
+    @Test
+    void findDevicesBelow_withDevicesOnSeveralVersions_returnsOlderDevicesOldestFirst() {
+        // GIVEN
+        index.record("1-0", PINKY);
+        index.record("1-1", INKY);
+        index.record("1-2", BLINKY);
+        index.record("789", BLINKY);
+
+        // WHEN
+        List<String> belowPinky = index.findDevicesBelow(PINKY);
+
+        // THEN
+        assertEquals(Set.of("1-2", "789"), Set.copyOf(belowPinky.subList(0, 2)));
+        assertEquals("1-1", belowPinky.get(2));
+        assertEquals(3, belowPinky.size());
+        assertEquals(3, index.countDevicesBelow(PINKY));
+        assertEquals(List.of(), index.findDevicesBelow(BLINKY));
+    }
+
+    @Test
+    void record_withNewVersion_movesDevice() {
+        // GIVEN
+        index.record(RingDeviceSystemInfo.builder().withDeviceId("1-0").withDeviceFirmwareVersion(BLINKY).build());
+
+        // WHEN
+        index.record(UpdateDeviceFirmwareResponse.builder()
+                .withDeviceId("1-0")
+                .withVersion(PINKY)
+                .withWasSuccessful(true)
+                .build());
+
+        // THEN
+        assertEquals(PINKY, index.getVersion("1-0"));
+        assertEquals(0, index.countDevicesBelow(PINKY));
+        assertEquals(Map.of(PINKY, 1), index.getDeviceCounts());
+    }
+
+    @Test
+    void record_withFailedUpdate_keepsPreviousVersion() {
+        // GIVEN
+        index.record("1-0", BLINKY);
+
+        // WHEN
+        index.record(UpdateDeviceFirmwareResponse.builder()
+                .withDeviceId("1-0")
+                .withVersion(PINKY)
+                .withWasSuccessful(false)
+                .build());
+
+        // THEN
+        assertEquals(BLINKY, index.getVersion("1-0"));
+        assertEquals(1, index.size());
+        assertEquals(List.of("1-0"), index.findDevicesBelow(INKY));
+    }
+
+    @Test
+    void findDevicesBelow_withUnseenVersion_scansByVersionOrder() {
+        // GIVEN
+        index.record("1-0", version("10.10"));
+        index.record("1-1", version("10.8.5"));
+
+        // WHEN
+        List<String> belowInky = index.findDevicesBelow(INKY);
+
+        // THEN
+        assertEquals(List.of("1-1"), belowInky);
+    }
+
+    @Test
+    void record_manyDevicesAndMoves_matchesReference() {
+        // GIVEN
+        RingDeviceFirmwareVersion[] versions = {BLINKY, INKY, PINKY};
+        Map<String, RingDeviceFirmwareVersion> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        // WHEN
+        for (int i = 0; i < 20_000; i++) {
+            String deviceId = random.nextInt(50) + "-" + random.nextInt(100);
+            RingDeviceFirmwareVersion version = random.nextInt(10) == 0 ? null : versions[random.nextInt(3)];
+            index.record(deviceId, version);
+            if (version == null) {
+                reference.remove(deviceId);
+            } else {
+                reference.put(deviceId, version);
+            }
+        }
+
+        // THEN
+        assertEquals(reference.size(), index.size());
+        assertEquals(reference.entrySet().stream()
+                        .filter(entry -> entry.getValue() != PINKY)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toSet()),
+                Set.copyOf(index.findDevicesBelow(PINKY)));
+        reference.forEach((deviceId, version) -> assertEquals(version, index.getVersion(deviceId), deviceId));
+    }
+
+    private static RingDeviceFirmwareVersion version(String versionNumber) {
+        return RingDeviceFirmwareVersion.builder().withVersionNumber(versionNumber).build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.kenzie.executorservices.ringupdatescheck.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FirmwareVersionSegmentsTest {
+    private static final String[] VERSIONS = {
+        "11.0", "10.9", "3.141", "12.1.43", "12.1.43.1", "200", "007.010", "1.0.", "+4.2", "-1.5", "2147483647.1"
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = {"11.0", "10.9", "3.141", "12.1.43.22", "200", "007.010", "1.0.", "+4.2", "-1.5",
+        "2147483647.1", "123456789.987654321"})
+    void of_anyValidVersion_matchesSplitAndParseInt(String versionNumber) {
+        assertArrayEquals(referenceSegments(versionNumber), FirmwareVersionSegments.of(versionNumber));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1..2", ".5", "1.a", "2147483648.0", "1. 2"})
+    void of_invalidVersion_throwsNumberFormatExceptionLikeParseInt(String versionNumber) {
+        assertThrows(NumberFormatException.class, () -> referenceSegments(versionNumber));
+        assertThrows(NumberFormatException.class, () -> FirmwareVersionSegments.of(versionNumber));
+    }
+
+    @Test
+    void of_sameVersionTwice_returnsSameSegments() {
+        assertSame(FirmwareVersionSegments.of("10.9"), FirmwareVersionSegments.of(new String("10.9")));
+    }
+
+    @Test
+    void compare_allPairs_matchesOriginalComparator() {
+        for (String left : VERSIONS) {
+            for (String right : VERSIONS) {
+                assertEquals(Integer.signum(referenceCompare(left, right)),
+                        Integer.signum(FirmwareVersionSegments.compare(
+                                FirmwareVersionSegments.of(left), FirmwareVersionSegments.of(right))),
+                        String.format("Comparing %s with %s", left, right));
+            }
+        }
+    }
+
+    private static int[] referenceSegments(String versionNumber) {
+        String[] parts = versionNumber.split("\\.");
+        int[] segments = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            segments[i] = Integer.parseInt(parts[i]);
+        }
+        return segments;
+    }
+
+    private static int referenceCompare(String left, String right) {
+        String[] leftSegments = left.split("\\.");
+        String[] rightSegments = right.split("\\.");
+        int minLength = Math.min(leftSegments.length, rightSegments.length);
+        for (int i = 0; i < minLength; i++) {
+            int leftValue = Integer.parseInt(leftSegments[i]);
+            int rightValue = Integer.parseInt(rightSegments[i]);
+            if (leftValue != rightValue) {
+                return Integer.compare(leftValue, rightValue);
+            }
+        }
+        return Integer.compare(leftSegments.length, rightSegments.length);
+    }
+}
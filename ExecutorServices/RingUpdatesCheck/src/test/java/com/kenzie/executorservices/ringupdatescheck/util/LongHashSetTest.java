@@ -0,0 +1,53 @@
+package com.kenzie.executorservices.ringupdatescheck.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongHashSetTest {
+
+    @Test
+    void addAndRemove_randomOperations_matchHashSet() {
+        // GIVEN
+        LongHashSet set = new LongHashSet();
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(7);
+
+        // WHEN
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertEquals(reference.add(value), set.add(value));
+            } else {
+                assertEquals(reference.remove(value), set.remove(value));
+            }
+        }
+
+        // THEN
+        assertEquals(reference.size(), set.size());
+        for (long value = 0; value < 2_000; value++) {
+            assertEquals(reference.contains(value), set.contains(value), String.valueOf(value));
+        }
+        Set<Long> members = new HashSet<>();
+        set.forEach(members::add);
+        assertEquals(reference, members);
+    }
+
+    @Test
+    void remove_missingValue_returnsFalse() {
+        // GIVEN
+        LongHashSet set = new LongHashSet();
+        set.add(1L << 32 | 5);
+
+        // WHEN - THEN
+        assertFalse(set.remove(5));
+        assertTrue(set.remove(1L << 32 | 5));
+        assertEquals(0, set.size());
+    }
+}
@@ -0,0 +1,253 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Runs one multi-customer compliance sweep.
+ *
+ * Every service call (one device lookup per customer, one getDeviceSystemInfo per device) is
+ * dispatched under a single global in-flight budget. Customers take turns round-robin for free slots,
+ * and no customer may hold more than its per-customer cap, so one customer with thousands of devices
+ * can't starve the others. The calling thread reads customer IDs lazily and stops reading while the
+ * maximum number of customers is in progress, so the input can be arbitrarily long.
+ *
+ * Instances are single use.
+ */
+class BatchComplianceSweep {
+    private final Function<String, List<String>> deviceLookup;
+    private final RingDeviceCommunicatorService ringClient;
+    private final Executor executor;
+    private final RingDeviceFirmwareVersion approved;
+    private final BatchSweepOptions options;
+
+    private final Object lock = new Object();
+    private final Deque<CustomerProgress> readyCustomers = new ArrayDeque<>();
+    private int inFlight;
+    private final ThreadLocal<DispatchState> dispatchState = ThreadLocal.withInitial(DispatchState::new);
+
+    private final Semaphore customersInProgress;
+    private final AtomicLong customersChecked = new AtomicLong();
+    private final AtomicLong devicesChecked = new AtomicLong();
+    private final Map<String, List<String>> nonCompliantDevices = new ConcurrentHashMap<>();
+    private final Map<String, String> failedCustomers = new ConcurrentHashMap<>();
+    private final Map<String, String> failedDevices = new ConcurrentHashMap<>();
+    private final Map<String, Long> deviceCountsByVersion = new ConcurrentHashMap<>();
+
+    BatchComplianceSweep(Function<String, List<String>> deviceLookup, RingDeviceCommunicatorService ringClient,
+                         Executor executor, RingDeviceFirmwareVersion approved, BatchSweepOptions options) {
+        this.deviceLookup = deviceLookup;
+        this.ringClient = ringClient;
+        this.executor = executor;
+        this.approved = approved;
+        this.options = options;
+        this.customersInProgress = new Semaphore(options.getMaxCustomersInProgress());
+    }
+
+    /**
+     * Sweeps every customer in the stream and blocks until all of their calls have finished.
+     */
+    ComplianceReport run(Stream<String> customerIds) {
+        Iterator<String> customers = customerIds.iterator();
+        try {
+            while (customers.hasNext()) {
+                customersInProgress.acquire();
+                CustomerProgress customer = new CustomerProgress(customers.next());
+                customersChecked.incrementAndGet();
+                synchronized (lock) {
+                    customer.ready = true;
+                    readyCustomers.addLast(customer);
+                }
+                dispatch();
+            }
+            customersInProgress.acquire(options.getMaxCustomersInProgress());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while sweeping customers", e);
+        }
+
+        return new ComplianceReport(customersChecked.get(), devicesChecked.get(), nonCompliantDevices,
+                failedCustomers, failedDevices, deviceCountsByVersion);
+    }
+
+    /**
+     * Hands out free global slots to ready customers, one call per customer per turn. Calls are
+     * started outside the lock, because the executor may run them on this thread.
+     *
+     * A call whose future is already complete when it starts (the executor ran it inline or rejected
+     * it) finishes on this thread and asks for another dispatch. That request is picked up by the loop
+     * here rather than by recursing, so the stack stays flat however many calls run inline.
+     */
+    private void dispatch() {
+        DispatchState state = dispatchState.get();
+        if (state.active) {
+            state.requested = true;
+            return;
+        }
+        state.active = true;
+        try {
+            do {
+                state.requested = false;
+                List<Runnable> calls = new ArrayList<>();
+                synchronized (lock) {
+                    while (inFlight < options.getMaxInFlight() && !readyCustomers.isEmpty()) {
+                        CustomerProgress customer = readyCustomers.pollFirst();
+                        calls.add(customer.nextCall());
+                        inFlight++;
+                        customer.inFlight++;
+                        customer.ready = customer.hasPendingCalls()
+                                && customer.inFlight < options.getMaxInFlightPerCustomer();
+                        if (customer.ready) {
+                            readyCustomers.addLast(customer);
+                        }
+                    }
+                }
+                calls.forEach(Runnable::run);
+            } while (state.requested);
+        } finally {
+            state.active = false;
+        }
+    }
+
+    /**
+     * Releases the slot held by a finished call, queues any device calls it discovered and
+     * starts whatever the freed slot allows.
+     */
+    private void finishCall(CustomerProgress customer, List<String> discoveredDeviceIds) {
+        boolean customerDone;
+        synchronized (lock) {
+            inFlight--;
+            customer.inFlight--;
+            customer.pendingDeviceIds.addAll(discoveredDeviceIds);
+            if (!customer.ready && customer.hasPendingCalls()
+                    && customer.inFlight < options.getMaxInFlightPerCustomer()) {
+                customer.ready = true;
+                readyCustomers.addLast(customer);
+            }
+            customerDone = customer.inFlight == 0 && !customer.hasPendingCalls();
+        }
+        if (customerDone) {
+            if (!customer.nonCompliantDeviceIds.isEmpty()) {
+                nonCompliantDevices.put(customer.customerId, customer.nonCompliantDeviceIds);
+            }
+            customersInProgress.release();
+        }
+        dispatch();
+    }
+
+    private <T> void call(Supplier<T> work, CustomerProgress customer, Completion<T> onSuccess,
+                          Completion<Throwable> onFailure) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(work, executor);
+        } catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((result, error) -> {
+            List<String> discovered;
+            try {
+                discovered = error == null
+                        ? onSuccess.accept(result)
+                        : onFailure.accept(error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error);
+            } catch (RuntimeException e) {
+                discovered = onFailure.accept(e);
+            }
+            finishCall(customer, discovered);
+        });
+    }
+
+    private void recordDevice(CustomerProgress customer, RingDeviceSystemInfo info) {
+        devicesChecked.incrementAndGet();
+        RingDeviceFirmwareVersion version = info.getDeviceFirmwareVersion();
+        deviceCountsByVersion.merge(version.getVersionNumber(), 1L, Long::sum);
+        if (KnownRingDeviceFirmwareVersions.needsUpdate(version, approved)) {
+            synchronized (customer.nonCompliantDeviceIds) {
+                customer.nonCompliantDeviceIds.add(info.getDeviceId());
+            }
+        }
+    }
+
+    /**
+     * Callback that handles a finished call and returns any device IDs it discovered.
+     */
+    private interface Completion<T> {
+        List<String> accept(T value);
+    }
+
+    /**
+     * Whether the current thread is already inside dispatch(), and whether a nested call asked it to go again.
+     */
+    private static final class DispatchState {
+        private boolean active;
+        private boolean requested;
+    }
+
+    /**
+     * Mutable per-customer state. Everything except nonCompliantDeviceIds is guarded by the sweep's lock.
+     */
+    private final class CustomerProgress {
+        private final String customerId;
+        private final Deque<String> pendingDeviceIds = new ArrayDeque<>();
+        private final List<String> nonCompliantDeviceIds = new ArrayList<>();
+        private boolean lookupPending = true;
+        private boolean ready;
+        private int inFlight;
+
+        private CustomerProgress(String customerId) {
+            this.customerId = customerId;
+        }
+
+        private boolean hasPendingCalls() {
+            return lookupPending || !pendingDeviceIds.isEmpty();
+        }
+
+        private Runnable nextCall() {
+            if (lookupPending) {
+                lookupPending = false;
+                return () -> call(
+                        () -> deviceLookup.apply(customerId),
+                        this,
+                        deviceIds -> deviceIds,
+                        error -> {
+                            failedCustomers.put(customerId, String.valueOf(error));
+                            return List.of();
+                        });
+            }
+            String deviceId = pendingDeviceIds.pollFirst();
+            return () -> call(
+                    () -> ringClient.getDeviceSystemInfo(GetDeviceSystemInfoRequest.builder()
+                            .withDeviceId(deviceId)
+                            .build()).getSystemInfo(),
+                    this,
+                    info -> {
+                        recordDevice(this, info);
+                        return List.of();
+                    },
+                    error -> {
+                        failedDevices.put(deviceId, String.valueOf(error));
+                        return List.of();
+                    });
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+/**
+ * Concurrency limits for a multi-customer compliance sweep.
+ */
+public final class BatchSweepOptions {
+    public static final int DEFAULT_MAX_IN_FLIGHT = EnforcementExecutor.DEFAULT_MAX_THREADS;
+    public static final int DEFAULT_MAX_IN_FLIGHT_PER_CUSTOMER = 8;
+    public static final int DEFAULT_MAX_CUSTOMERS_IN_PROGRESS = 256;
+
+    private final int maxInFlight;
+    private final int maxInFlightPerCustomer;
+    private final int maxCustomersInProgress;
+
+    private BatchSweepOptions(Builder builder) {
+        this.maxInFlight = builder.maxInFlight;
+        this.maxInFlightPerCustomer = builder.maxInFlightPerCustomer;
+        this.maxCustomersInProgress = builder.maxCustomersInProgress;
+    }
+
+    /**
+     * Statically creates a builder instance for BatchSweepOptions.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return options with every limit set to its default
+     */
+    public static BatchSweepOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return the maximum number of service calls in flight across all customers
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return the maximum number of service calls in flight for any single customer
+     */
+    public int getMaxInFlightPerCustomer() {
+        return maxInFlightPerCustomer;
+    }
+
+    /**
+     * @return the maximum number of customers read from the input but not yet finished
+     */
+    public int getMaxCustomersInProgress() {
+        return maxCustomersInProgress;
+    }
+
+    /**
+     * Fluent builder for instances of BatchSweepOptions.
+     */
+    public static class Builder {
+        private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        private int maxInFlightPerCustomer = DEFAULT_MAX_IN_FLIGHT_PER_CUSTOMER;
+        private int maxCustomersInProgress = DEFAULT_MAX_CUSTOMERS_IN_PROGRESS;
+
+        public Builder withMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder withMaxInFlightPerCustomer(int maxInFlightPerCustomer) {
+            this.maxInFlightPerCustomer = maxInFlightPerCustomer;
+            return this;
+        }
+
+        public Builder withMaxCustomersInProgress(int maxCustomersInProgress) {
+            this.maxCustomersInProgress = maxCustomersInProgress;
+            return this;
+        }
+
+        /**
+         * Builds an instance of BatchSweepOptions.
+         * @throws IllegalArgumentException if any limit is not positive
+         */
+        public BatchSweepOptions build() {
+            if (maxInFlight < 1 || maxInFlightPerCustomer < 1 || maxCustomersInProgress < 1) {
+                throw new IllegalArgumentException(String.format(
+                        "All limits must be positive: maxInFlight [%d], maxInFlightPerCustomer [%d], "
+                                + "maxCustomersInProgress [%d]",
+                        maxInFlight, maxInFlightPerCustomer, maxCustomersInProgress));
+            }
+            return new BatchSweepOptions(this);
+        }
+    }
+}
@@ -8,30 +8,88 @@ import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.Ri
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
 import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerDeviceCache;
 import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.CircuitBreakerOpenException;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.FirmwareUpdateOutcome;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RetryPolicy;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RetryingFirmwareUpdater;
 import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
 import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
 
+import com.google.common.collect.Iterators;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class ComplianceEnforcer {
+    private static final Logger LOG = LogManager.getLogger(ComplianceEnforcer.class);
+    private static final String DEADLINE_EXCEEDED = "Deadline exceeded";
+
     private final CustomerService customerService;
+    private final CustomerDeviceCache customerDevices;
     private final RingDeviceCommunicatorService ringClient;
+    private final EnforcementExecutor executor;
+    private final RetryingFirmwareUpdater updater;
 
     /**
-     * Constructor taking the services required by the UpdateFinder.
+     * Constructor taking the services required by the UpdateFinder. Device calls run on an
+     * EnforcementExecutor with the default limits, owned by this instance.
      * @param customerService The CustomerService client.
      * @param ringClient The RingDeviceCommunicatorService client.
      */
     public ComplianceEnforcer(CustomerService customerService, RingDeviceCommunicatorService ringClient) {
+        this(customerService, ringClient, EnforcementExecutor.withDefaults());
+    }
+
+    /**
+     * Constructor taking the services required by the UpdateFinder and the executor to run device calls on.
+     * @param customerService The CustomerService client.
+     * @param ringClient The RingDeviceCommunicatorService client.
+     * @param executor The long-lived executor used for every device call made by this instance.
+     */
+    public ComplianceEnforcer(CustomerService customerService, RingDeviceCommunicatorService ringClient,
+                              EnforcementExecutor executor) {
+        this(customerService, ringClient, executor, null);
+    }
+
+    /**
+     * Constructor that looks customers' devices up through a cache. Multi-customer sweeps then fetch
+     * the devices of each group of customers with one bulk lookup.
+     * @param customerService The CustomerService client, used when the cache is null.
+     * @param ringClient The RingDeviceCommunicatorService client.
+     * @param executor The long-lived executor used for every device call made by this instance.
+     * @param customerDevices The cache of customers' devices, or null to call the CustomerService every time.
+     */
+    public ComplianceEnforcer(CustomerService customerService, RingDeviceCommunicatorService ringClient,
+                              EnforcementExecutor executor, CustomerDeviceCache customerDevices) {
         this.customerService = customerService;
+        this.customerDevices = customerDevices;
         this.ringClient = ringClient;
+        this.executor = executor;
+        this.updater = new RetryingFirmwareUpdater(ringClient, executor, RetryPolicy.defaults());
     }
 
     /**
@@ -57,6 +115,124 @@ public class ComplianceEnforcer {
         return nonCompliantDevices;
     }
 
+    /**
+     * Finds the customer's non-compliant devices, giving up on anything not answered before the deadline.
+     * When the deadline passes, or a call fails with a fatal error (the device service's circuit breaker
+     * is open, or an Error is thrown), every outstanding sibling call is cancelled. Devices whose version
+     * isn't known by then are reported as unknown instead of discarding the devices that did answer.
+     * Calls are only ever queued for the executor's workers, never run on the calling thread, so the
+     * deadline holds even when the executor is saturated; a device whose call is rejected is unknown.
+     * @param customerId The customer to find devices for.
+     * @param approved The minimum approved version to compare with.
+     * @param deadline How long the whole check, including the device lookup, may take.
+     * @return The non-compliant devices found, plus any devices whose version is unknown.
+     */
+    public CustomerComplianceResult findUpdatesForCustomer(String customerId, RingDeviceFirmwareVersion approved,
+                                                           Duration deadline) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Future<List<String>> lookup;
+        try {
+            lookup = executor.trySubmit(() -> getCustomerDevices(customerId));
+        } catch (RejectedExecutionException e) {
+            return new CustomerComplianceResult(customerId, List.of(), 0, Map.of(), String.valueOf(e));
+        }
+        List<String> deviceIds;
+        try {
+            deviceIds = lookup.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            lookup.cancel(true);
+            return new CustomerComplianceResult(customerId, List.of(), 0, Map.of(), DEADLINE_EXCEEDED);
+        } catch (ExecutionException e) {
+            return new CustomerComplianceResult(customerId, List.of(), 0, Map.of(), String.valueOf(e.getCause()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lookup.cancel(true);
+            return new CustomerComplianceResult(customerId, List.of(), 0, Map.of(), String.valueOf(e));
+        }
+
+        CompletionService<RingDeviceSystemInfo> completions = new ExecutorCompletionService<>(executor::tryExecute);
+        Map<Future<RingDeviceSystemInfo>, String> outstanding = new HashMap<>();
+        Map<String, String> unknownDevices = new HashMap<>();
+        for (String deviceId : deviceIds) {
+            try {
+                outstanding.put(completions.submit(() -> ringClient.getDeviceSystemInfo(
+                        GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build()).getSystemInfo()),
+                        deviceId);
+            } catch (RejectedExecutionException e) {
+                unknownDevices.put(deviceId, String.valueOf(e));
+            }
+        }
+
+        Set<String> nonCompliantDevices = new HashSet<>();
+        int compliantDevices = 0;
+        String abandonReason = DEADLINE_EXCEEDED;
+        try {
+            while (!outstanding.isEmpty()) {
+                Future<RingDeviceSystemInfo> done = completions.poll(deadlineNanos - System.nanoTime(),
+                        TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    break;
+                }
+                String deviceId = outstanding.remove(done);
+                try {
+                    RingDeviceSystemInfo info = done.get();
+                    if (KnownRingDeviceFirmwareVersions.needsUpdate(info.getDeviceFirmwareVersion(), approved)) {
+                        nonCompliantDevices.add(deviceId);
+                    } else {
+                        compliantDevices++;
+                    }
+                } catch (ExecutionException e) {
+                    unknownDevices.put(deviceId, String.valueOf(e.getCause()));
+                    if (isFatal(e.getCause())) {
+                        abandonReason = "Cancelled after fatal error: " + e.getCause();
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandonReason = String.valueOf(e);
+        }
+
+        for (Map.Entry<Future<RingDeviceSystemInfo>, String> entry : outstanding.entrySet()) {
+            entry.getKey().cancel(true);
+            unknownDevices.put(entry.getValue(), abandonReason);
+        }
+        return new CustomerComplianceResult(customerId,
+                deviceIds.stream().filter(nonCompliantDevices::contains).toList(),
+                compliantDevices, unknownDevices, null);
+    }
+
+    /**
+     * Finds the non-compliant devices of many customers at once, using the default batch limits.
+     * @param customerIds The customers to check. Read lazily, so it may be very long.
+     * @param approved The minimum approved version to compare with.
+     * @return A report of every customer's non-compliant devices, plus any lookups that failed.
+     */
+    public ComplianceReport findUpdatesForCustomers(Stream<String> customerIds, RingDeviceFirmwareVersion approved) {
+        return findUpdatesForCustomers(customerIds, approved, BatchSweepOptions.defaults());
+    }
+
+    /**
+     * Finds the non-compliant devices of many customers at once. Customer lookups and device calls
+     * for all customers share one in-flight budget, and no single customer may use more than its
+     * per-customer share of it. Blocks until every customer in the stream has been checked.
+     * With a CustomerDeviceCache, customers are read in groups of the maximum customers in progress,
+     * and each group's devices are fetched with one bulk lookup before it is swept.
+     * @param customerIds The customers to check. Read lazily, so it may be very long.
+     * @param approved The minimum approved version to compare with.
+     * @param options The concurrency limits for this sweep.
+     * @return A report of every customer's non-compliant devices, plus any lookups that failed.
+     */
+    public ComplianceReport findUpdatesForCustomers(Stream<String> customerIds, RingDeviceFirmwareVersion approved,
+                                                    BatchSweepOptions options) {
+        Stream<String> sweptCustomerIds = customerDevices == null
+                ? customerIds
+                : prefetchInGroups(customerIds, options.getMaxCustomersInProgress());
+        return new BatchComplianceSweep(this::getCustomerDevices, ringClient, executor, approved, options)
+                .run(sweptCustomerIds);
+    }
+
     /**
      * Remotely triggers an update for the provided devices.
      * @param nonCompliantDeviceIds The list of devices to update.
@@ -75,10 +251,98 @@ public class ComplianceEnforcer {
         return unsuccessfulDevices;
     }
 
+    /**
+     * Remotely triggers an update for the provided devices, retrying failed updates with the default
+     * retry policy. Retries from every call on this instance share one retry-rate limit.
+     * @param nonCompliantDeviceIds The list of devices to update.
+     * @param latest The firmware version to update to.
+     * @return Each device's final outcome, in the order the devices were given, including how many
+     *         times it was retried and why it finally failed, if it did.
+     */
+    public List<FirmwareUpdateOutcome> updateDevicesWithRetries(List<String> nonCompliantDeviceIds,
+                                                                RingDeviceFirmwareVersion latest) {
+        return updateDevicesWithRetries(nonCompliantDeviceIds, latest, updater);
+    }
+
+    /**
+     * Remotely triggers an update for the provided devices, retrying failed updates with the given policy.
+     * @param nonCompliantDeviceIds The list of devices to update.
+     * @param latest The firmware version to update to.
+     * @param retryPolicy How failed updates are retried, including the retry-rate limit for this call.
+     * @return Each device's final outcome, in the order the devices were given.
+     */
+    public List<FirmwareUpdateOutcome> updateDevicesWithRetries(List<String> nonCompliantDeviceIds,
+                                                                RingDeviceFirmwareVersion latest,
+                                                                RetryPolicy retryPolicy) {
+        return updateDevicesWithRetries(nonCompliantDeviceIds, latest,
+                new RetryingFirmwareUpdater(ringClient, executor, retryPolicy));
+    }
+
+    /**
+     * Plans a rollout of the given firmware to many customers' non-compliant devices, with the default
+     * waves, rate limit and failure threshold. Nothing is updated until the rollout is run.
+     * @param nonCompliantDevicesByCustomer Each customer's non-compliant devices, for example from
+     *                                      findUpdatesForCustomer or ComplianceReport.getNonCompliantDevices().
+     * @param latest The firmware version to update to.
+     * @return A rollout to run, and resume if it pauses.
+     */
+    public FirmwareRollout planRollout(Map<String, List<String>> nonCompliantDevicesByCustomer,
+                                       RingDeviceFirmwareVersion latest) {
+        return planRollout(nonCompliantDevicesByCustomer, latest, RolloutOptions.defaults());
+    }
+
+    /**
+     * Plans a rollout of the given firmware to many customers' non-compliant devices. Updates run on
+     * this instance's executor. Nothing is updated until the rollout is run.
+     * @param nonCompliantDevicesByCustomer Each customer's non-compliant devices.
+     * @param latest The firmware version to update to.
+     * @param options The waves, rate limit and failure threshold for this rollout.
+     * @return A rollout to run, and resume if it pauses.
+     */
+    public FirmwareRollout planRollout(Map<String, List<String>> nonCompliantDevicesByCustomer,
+                                       RingDeviceFirmwareVersion latest, RolloutOptions options) {
+        return new FirmwareRollout(ringClient, executor, nonCompliantDevicesByCustomer, latest, options);
+    }
+
+    /**
+     * Checks every device owned by the customer and updates the non-compliant ones, without waiting
+     * for all the checks to finish first. Each device's update starts as soon as its own system info
+     * shows it is below the approved version, so the slowest single device bounds the total time.
+     * @param customerId The customer whose devices should be brought into compliance.
+     * @param approved The minimum approved version to compare with.
+     * @param latest The firmware version to update non-compliant devices to.
+     * @return A handle reporting each device's outcome as it finishes. The devices have already been
+     *         listed when this returns, but their checks and updates may still be running.
+     */
+    public EnforcementHandle enforceCompliance(String customerId, RingDeviceFirmwareVersion approved,
+                                               RingDeviceFirmwareVersion latest) {
+        List<String> deviceIds = getCustomerDevices(customerId);
+        List<CompletableFuture<DeviceEnforcementOutcome>> outcomes = new ArrayList<>(deviceIds.size());
+        for (String deviceId : deviceIds) {
+            outcomes.add(enforceDevice(deviceId, approved, latest));
+        }
+        return new EnforcementHandle(customerId, outcomes);
+    }
+
+    /**
+     * Shuts down the executor used for device calls. Calls already in progress still complete,
+     * but this instance can't be used for new enforcement calls afterwards.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public EnforcementExecutor getExecutor() {
+        return executor;
+    }
+
     /**
      * Helper method that retrieves all the devices for a single customer.
      */
     private List<String> getCustomerDevices(String customerId) {
+        if (customerDevices != null) {
+            return customerDevices.getDevices(customerId);
+        }
         GetCustomerDevicesResponse response = customerService.getCustomerDevices(
                 GetCustomerDevicesRequest.builder()
                         .withCustomerId(customerId)
@@ -86,14 +350,38 @@ public class ComplianceEnforcer {
         return response.getDeviceIds();
     }
 
+    /**
+     * Helper method that lazily reads customers in groups, warming the cache with one bulk lookup per group.
+     */
+    private Stream<String> prefetchInGroups(Stream<String> customerIds, int groupSize) {
+        Iterator<List<String>> groups = Iterators.partition(customerIds.iterator(), groupSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(groups, Spliterator.ORDERED), false)
+                .flatMap(group -> {
+                    try {
+                        customerDevices.getDevices(group);
+                    } catch (RuntimeException e) {
+                        // Each customer's own lookup retries it and records the failure against that customer.
+                        LOG.warn("Bulk device lookup failed for a group of {} customers; looking them up one by one",
+                                group.size(), e);
+                    }
+                    return group.stream();
+                });
+    }
+
+    /**
+     * Helper method that decides whether a device call's failure should abandon the rest of the customer.
+     */
+    private static boolean isFatal(Throwable error) {
+        return error instanceof CircuitBreakerOpenException || error instanceof Error;
+    }
+
     /**
      * Helper method that gets the system info for the provided devices.
      */
     private List<RingDeviceSystemInfo> getInfoForDevices(List<String> deviceIds) {
-        List<RingDeviceSystemInfo> deviceInfo = new ArrayList<>();
-        ExecutorService service = Executors.newCachedThreadPool();
+        List<RingDeviceSystemInfo> deviceInfo = new ArrayList<>(deviceIds.size());
         List<Future<RingDeviceSystemInfo>> futures = deviceIds.stream()
-                .map(deviceId -> service.submit(() -> {
+                .map(deviceId -> executor.submit(() -> {
                     GetDeviceSystemInfoRequest request =
                             GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build();
                     GetDeviceSystemInfoResponse infoResponse = ringClient.getDeviceSystemInfo(request);
@@ -110,10 +398,57 @@ public class ComplianceEnforcer {
             deviceInfo.add(info);
         }
 
-        service.shutdown();
         return deviceInfo;
     }
 
+    /**
+     * Helper method that updates all the devices through the given updater and waits for their outcomes.
+     */
+    private List<FirmwareUpdateOutcome> updateDevicesWithRetries(List<String> nonCompliantDeviceIds,
+                                                                 RingDeviceFirmwareVersion latest,
+                                                                 RetryingFirmwareUpdater retryingUpdater) {
+        List<CompletableFuture<FirmwareUpdateOutcome>> outcomes = nonCompliantDeviceIds.stream()
+                .map(deviceId -> retryingUpdater.update(UpdateDeviceFirmwareRequest.builder()
+                        .withDeviceId(deviceId)
+                        .withVersion(latest)
+                        .build()))
+                .toList();
+        return outcomes.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    /**
+     * Helper method that chains the system info call and, if needed, the update call for one device.
+     */
+    private CompletableFuture<DeviceEnforcementOutcome> enforceDevice(String deviceId,
+                                                                      RingDeviceFirmwareVersion approved,
+                                                                      RingDeviceFirmwareVersion latest) {
+        return CompletableFuture
+                .supplyAsync(() -> ringClient.getDeviceSystemInfo(
+                        GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build()).getSystemInfo(),
+                        executor)
+                .thenCompose(info -> {
+                    RingDeviceFirmwareVersion version = info.getDeviceFirmwareVersion();
+                    if (!KnownRingDeviceFirmwareVersions.needsUpdate(version, approved)) {
+                        return CompletableFuture.completedFuture(new DeviceEnforcementOutcome(
+                                deviceId, DeviceEnforcementOutcome.Status.COMPLIANT, version, null));
+                    }
+                    return CompletableFuture
+                            .supplyAsync(() -> ringClient.updateDeviceFirmware(UpdateDeviceFirmwareRequest.builder()
+                                    .withDeviceId(deviceId)
+                                    .withVersion(latest)
+                                    .build()), executor)
+                            .thenApply(response -> new DeviceEnforcementOutcome(deviceId,
+                                    response.isWasSuccessful()
+                                            ? DeviceEnforcementOutcome.Status.UPDATED
+                                            : DeviceEnforcementOutcome.Status.UPDATE_FAILED,
+                                    version, null));
+                })
+                .exceptionally(e -> new DeviceEnforcementOutcome(deviceId, DeviceEnforcementOutcome.Status.ERROR,
+                        null, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+    }
+
     /**
      * Helper method that collects all the devices that don't meet the approved version.
      */
@@ -134,12 +469,11 @@ public class ComplianceEnforcer {
      */
     private List<UpdateDeviceFirmwareResponse> triggerUpdates(List<String> nonCompliantDeviceIds,
                                                               RingDeviceFirmwareVersion latest) {
-        List<UpdateDeviceFirmwareResponse> updateStatuses = new ArrayList<>();
-        List<Future<UpdateDeviceFirmwareResponse>> futureStatuses = new ArrayList<>();
-        ExecutorService service = Executors.newCachedThreadPool();
+        List<UpdateDeviceFirmwareResponse> updateStatuses = new ArrayList<>(nonCompliantDeviceIds.size());
+        List<Future<UpdateDeviceFirmwareResponse>> futureStatuses = new ArrayList<>(nonCompliantDeviceIds.size());
 
         for(String deviceId: nonCompliantDeviceIds){
-            Future<UpdateDeviceFirmwareResponse> future = service.submit(()-> {
+            Future<UpdateDeviceFirmwareResponse> future = executor.submit(()-> {
                 UpdateDeviceFirmwareRequest updateRequest = UpdateDeviceFirmwareRequest.builder()
                         .withDeviceId(deviceId)
                         .withVersion(latest)
@@ -157,7 +491,6 @@ public class ComplianceEnforcer {
                 throw new RuntimeException(e);
             }
         });
-        service.shutdown();
         return updateStatuses;
     }
 
@@ -0,0 +1,85 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated result of a multi-customer compliance sweep.
+ */
+public final class ComplianceReport {
+    private final long customersChecked;
+    private final long devicesChecked;
+    private final Map<String, List<String>> nonCompliantDevices;
+    private final Map<String, String> failedCustomers;
+    private final Map<String, String> failedDevices;
+    private final Map<String, Long> deviceCountsByVersion;
+
+    ComplianceReport(long customersChecked, long devicesChecked, Map<String, List<String>> nonCompliantDevices,
+                     Map<String, String> failedCustomers, Map<String, String> failedDevices,
+                     Map<String, Long> deviceCountsByVersion) {
+        this.customersChecked = customersChecked;
+        this.devicesChecked = devicesChecked;
+        this.nonCompliantDevices = Collections.unmodifiableMap(nonCompliantDevices);
+        this.failedCustomers = Collections.unmodifiableMap(failedCustomers);
+        this.failedDevices = Collections.unmodifiableMap(failedDevices);
+        this.deviceCountsByVersion = Collections.unmodifiableMap(deviceCountsByVersion);
+    }
+
+    /**
+     * @return the number of customers read from the input, including those whose lookup failed
+     */
+    public long getCustomersChecked() {
+        return customersChecked;
+    }
+
+    /**
+     * @return the number of devices whose system info was retrieved
+     */
+    public long getDevicesChecked() {
+        return devicesChecked;
+    }
+
+    /**
+     * @return the non-compliant device IDs of each customer that has any, in no particular order
+     */
+    public Map<String, List<String>> getNonCompliantDevices() {
+        return nonCompliantDevices;
+    }
+
+    /**
+     * @return the total number of non-compliant devices across all customers
+     */
+    public long getNonCompliantDeviceCount() {
+        return nonCompliantDevices.values().stream().mapToLong(List::size).sum();
+    }
+
+    /**
+     * @return the reason each customer's device lookup failed, keyed by customer ID
+     */
+    public Map<String, String> getFailedCustomers() {
+        return failedCustomers;
+    }
+
+    /**
+     * @return the reason each device's system info call failed, keyed by device ID
+     */
+    public Map<String, String> getFailedDevices() {
+        return failedDevices;
+    }
+
+    /**
+     * @return how many checked devices reported each firmware version number
+     */
+    public Map<String, Long> getDeviceCountsByVersion() {
+        return deviceCountsByVersion;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ComplianceReport(customersChecked=%d, devicesChecked=%d, nonCompliantDevices=%d, "
+                        + "failedCustomers=%d, failedDevices=%d, deviceCountsByVersion=%s)",
+                customersChecked, devicesChecked, getNonCompliantDeviceCount(),
+                failedCustomers.size(), failedDevices.size(), deviceCountsByVersion);
+    }
+}
@@ -0,0 +1,74 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a deadline-bounded compliance check of one customer's devices. Devices whose version
+ * could not be learned in time, or whose call failed, are listed as unknown rather than failing the
+ * whole check.
+ */
+public final class CustomerComplianceResult {
+    private final String customerId;
+    private final List<String> nonCompliantDeviceIds;
+    private final int compliantDeviceCount;
+    private final Map<String, String> unknownDevices;
+    private final String lookupFailure;
+
+    CustomerComplianceResult(String customerId, List<String> nonCompliantDeviceIds, int compliantDeviceCount,
+                             Map<String, String> unknownDevices, String lookupFailure) {
+        this.customerId = customerId;
+        this.nonCompliantDeviceIds = Collections.unmodifiableList(nonCompliantDeviceIds);
+        this.compliantDeviceCount = compliantDeviceCount;
+        this.unknownDevices = Collections.unmodifiableMap(unknownDevices);
+        this.lookupFailure = lookupFailure;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * @return the devices known to be below the approved version. Never null.
+     */
+    public List<String> getNonCompliantDeviceIds() {
+        return nonCompliantDeviceIds;
+    }
+
+    /**
+     * @return the number of devices known to meet the approved version
+     */
+    public int getCompliantDeviceCount() {
+        return compliantDeviceCount;
+    }
+
+    /**
+     * @return the devices whose version is unknown, mapped to why: the deadline passed, the call
+     *         failed, or it was cancelled after a fatal error
+     */
+    public Map<String, String> getUnknownDevices() {
+        return unknownDevices;
+    }
+
+    /**
+     * @return why the customer's device list could not be fetched, or null if it was
+     */
+    public String getLookupFailure() {
+        return lookupFailure;
+    }
+
+    /**
+     * @return true if every device's version is known
+     */
+    public boolean isComplete() {
+        return lookupFailure == null && unknownDevices.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CustomerComplianceResult(customerId=%s, nonCompliant=%d, compliant=%d, unknown=%d, "
+                        + "lookupFailure=%s)", customerId, nonCompliantDeviceIds.size(), compliantDeviceCount,
+                unknownDevices.size(), lookupFailure);
+    }
+}
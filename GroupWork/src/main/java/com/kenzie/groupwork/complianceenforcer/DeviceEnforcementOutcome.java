@@ -0,0 +1,63 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+
+/**
+ * The result of checking, and if needed updating, a single device during a pipelined enforcement.
+ */
+public final class DeviceEnforcementOutcome {
+    /**
+     * What happened to the device.
+     */
+    public enum Status {
+        /** The device already met the approved version; no update was sent. */
+        COMPLIANT,
+        /** The device was below the approved version and its update succeeded. */
+        UPDATED,
+        /** The device was below the approved version and its update was unsuccessful. */
+        UPDATE_FAILED,
+        /** The device could not be checked or updated because a call threw an exception. */
+        ERROR
+    }
+
+    private final String deviceId;
+    private final Status status;
+    private final RingDeviceFirmwareVersion observedVersion;
+    private final Throwable error;
+
+    DeviceEnforcementOutcome(String deviceId, Status status, RingDeviceFirmwareVersion observedVersion,
+                             Throwable error) {
+        this.deviceId = deviceId;
+        this.status = status;
+        this.observedVersion = observedVersion;
+        this.error = error;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the firmware version the device reported, or null if it could not be checked
+     */
+    public RingDeviceFirmwareVersion getObservedVersion() {
+        return observedVersion;
+    }
+
+    /**
+     * @return the exception that caused an ERROR outcome, or null for any other status
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DeviceEnforcementOutcome(deviceId=%s, status=%s, observedVersion=%s, error=%s)",
+                deviceId, status, observedVersion, error);
+    }
+}
@@ -0,0 +1,237 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.ata.concurrent.ExecutorProviders;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived, size-bounded execution engine used by the ComplianceEnforcer to run device calls.
+ *
+ * One instance is meant to be created up front and reused for every enforcement call, instead of
+ * building a new thread pool per call. Call shutdown() (or close()) when the owner is done with it.
+ */
+public class EnforcementExecutor implements Executor, AutoCloseable {
+    public static final int DEFAULT_MAX_THREADS = 64;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 30;
+
+    private final ExecutorService delegate;
+    private final Semaphore concurrencyPermits;
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    private EnforcementExecutor(ExecutorService delegate, Semaphore concurrencyPermits) {
+        this.delegate = delegate;
+        this.concurrencyPermits = concurrencyPermits;
+    }
+
+    /**
+     * Creates an engine with the default limits, on the threading mode chosen by configuration
+     * (see ExecutorProviders): a bounded platform pool by default, or virtual threads when configured.
+     * @return a new EnforcementExecutor
+     */
+    public static EnforcementExecutor withDefaults() {
+        if (ExecutorProviders.configuredMode() == ExecutorProviders.Mode.VIRTUAL) {
+            return virtualThreads(DEFAULT_MAX_THREADS);
+        }
+        return fixed(DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates an engine backed by a bounded pool of platform threads. When both the threads and the
+     * queue are full, execute() and submit() run the task on the submitting thread, which slows down
+     * the producer instead of growing without limit; tryExecute() and trySubmit() reject it instead.
+     * @param maxThreads The maximum number of worker threads.
+     * @param queueCapacity The maximum number of tasks waiting for a worker.
+     * @return a new EnforcementExecutor
+     */
+    public static EnforcementExecutor fixed(int maxThreads, int queueCapacity) {
+        if (maxThreads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "maxThreads [%d] and queueCapacity [%d] must both be positive", maxThreads, queueCapacity));
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads,
+                IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                daemonThreadFactory(),
+                (runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("EnforcementExecutor has been shut down");
+                    }
+                    throw new SaturatedException();
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return new EnforcementExecutor(pool, null);
+    }
+
+    /**
+     * Creates an engine that starts one virtual thread per task, with at most maxConcurrency tasks
+     * running at once. Virtual threads need Java 21 or later; on older runtimes this falls back to
+     * a bounded platform pool of the same size.
+     * @param maxConcurrency The maximum number of tasks running at the same time.
+     * @return a new EnforcementExecutor
+     */
+    public static EnforcementExecutor virtualThreads(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "maxConcurrency [%d] must be positive", maxConcurrency));
+        }
+        if (!ExecutorProviders.isVirtualThreadsSupported()) {
+            return fixed(maxConcurrency, DEFAULT_QUEUE_CAPACITY);
+        }
+        return new EnforcementExecutor(ExecutorProviders.virtualThreads().newExecutor(),
+                new Semaphore(maxConcurrency));
+    }
+
+    /**
+     * Submits a task for execution.
+     * @param task The task to run.
+     * @param <T> The task's result type.
+     * @return a Future for the task's result
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        execute(future);
+        return future;
+    }
+
+    /**
+     * Submits a task for execution on a worker, never on the calling thread.
+     * @param task The task to run.
+     * @param <T> The task's result type.
+     * @return a Future for the task's result
+     * @throws RejectedExecutionException if every worker is busy and the queue is full, or the engine is shut down
+     */
+    public <T> Future<T> trySubmit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        tryExecute(future);
+        return future;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            tryExecute(task);
+        } catch (SaturatedException e) {
+            queuedTasks.incrementAndGet();
+            runTracked(task);
+        }
+    }
+
+    /**
+     * Runs a task on a worker, never on the calling thread. Use this where the caller must not be
+     * held up by the task, such as when it is waiting against a deadline.
+     * @param task The task to run.
+     * @throws RejectedExecutionException if every worker is busy and the queue is full, or the engine is shut down
+     */
+    public void tryExecute(Runnable task) {
+        queuedTasks.incrementAndGet();
+        try {
+            delegate.execute(() -> runTracked(task));
+        } catch (RejectedExecutionException e) {
+            queuedTasks.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void runTracked(Runnable task) {
+        boolean acquired = false;
+        try {
+            if (concurrencyPermits != null) {
+                concurrencyPermits.acquire();
+                acquired = true;
+            }
+            queuedTasks.decrementAndGet();
+            activeTasks.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeTasks.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            queuedTasks.decrementAndGet();
+            if (task instanceof Future) {
+                ((Future<?>) task).cancel(false);
+            }
+            Thread.currentThread().interrupt();
+        } finally {
+            if (acquired) {
+                concurrencyPermits.release();
+            }
+        }
+    }
+
+    /**
+     * @return the number of submitted tasks that have not started running yet
+     */
+    public int getQueueDepth() {
+        return queuedTasks.get();
+    }
+
+    /**
+     * @return the number of tasks currently running
+     */
+    public int getActiveTaskCount() {
+        return activeTasks.get();
+    }
+
+    /**
+     * Stops accepting new tasks. Tasks already submitted still run to completion.
+     */
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    /**
+     * Blocks until all submitted tasks have completed after a shutdown, or the timeout elapses.
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return true if the engine terminated, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    /**
+     * Thrown by the bounded pool's rejection handler when it is full but still running, so execute()
+     * can fall back to running the task on the caller while tryExecute() passes the rejection on.
+     */
+    private static final class SaturatedException extends RejectedExecutionException {
+        private static final long serialVersionUID = 1L;
+
+        private SaturatedException() {
+            super("EnforcementExecutor is saturated");
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "compliance-enforcer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
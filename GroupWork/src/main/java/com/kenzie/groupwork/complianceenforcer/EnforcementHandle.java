@@ -0,0 +1,83 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Completion handle for a pipelined enforcement started with ComplianceEnforcer.enforceCompliance.
+ *
+ * Each device has its own future that completes as soon as that device has been checked and, if it
+ * needed one, updated. Outcomes never complete exceptionally; failures are reported as ERROR outcomes.
+ */
+public final class EnforcementHandle {
+    private final String customerId;
+    private final List<CompletableFuture<DeviceEnforcementOutcome>> deviceOutcomes;
+    private final CompletableFuture<List<DeviceEnforcementOutcome>> completion;
+    private final AtomicInteger completedCount = new AtomicInteger();
+
+    EnforcementHandle(String customerId, List<CompletableFuture<DeviceEnforcementOutcome>> deviceOutcomes) {
+        this.customerId = customerId;
+        this.deviceOutcomes = Collections.unmodifiableList(new ArrayList<>(deviceOutcomes));
+        // Completion waits on stages that count first, so the count is final once the handle is done.
+        List<CompletableFuture<DeviceEnforcementOutcome>> counted = new ArrayList<>(deviceOutcomes.size());
+        deviceOutcomes.forEach(future -> counted.add(future.thenApply(outcome -> {
+            completedCount.incrementAndGet();
+            return outcome;
+        })));
+        this.completion = CompletableFuture
+                .allOf(counted.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<DeviceEnforcementOutcome> outcomes = new ArrayList<>(counted.size());
+                    counted.forEach(future -> outcomes.add(future.join()));
+                    return outcomes;
+                });
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * @return one future per device, in the order the customer's devices were listed
+     */
+    public List<CompletableFuture<DeviceEnforcementOutcome>> getDeviceOutcomes() {
+        return deviceOutcomes;
+    }
+
+    /**
+     * Registers a callback invoked once for each device as soon as its outcome is known. Outcomes that
+     * are already known when this is called are reported right away on the calling thread.
+     * @param listener The callback to invoke with each outcome.
+     * @return this handle
+     */
+    public EnforcementHandle onEachOutcome(Consumer<DeviceEnforcementOutcome> listener) {
+        deviceOutcomes.forEach(future -> future.thenAccept(listener));
+        return this;
+    }
+
+    /**
+     * @return a future that completes with every device's outcome once all of them are known
+     */
+    public CompletableFuture<List<DeviceEnforcementOutcome>> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * @return the number of devices whose outcome is already known
+     */
+    public int getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public int getDeviceCount() {
+        return deviceOutcomes.size();
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+}
@@ -0,0 +1,224 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.TokenBucket;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * A firmware rollout to the non-compliant devices of many customers, released in waves.
+ *
+ * Devices are interleaved round-robin across customers, so every wave reaches as many customers as
+ * possible. Each wave brings the rollout up to its cumulative percentage of all devices, and its
+ * updates are started no faster than a token bucket allows. When a wave's failure rate is above the
+ * threshold, the rollout pauses after that wave; calling run() again resumes with the next wave.
+ *
+ * Only one run() may be in progress at a time. Its progress is published as it goes, so the status,
+ * waves and remaining device count can be read from other threads without waiting for a wave to finish.
+ */
+public class FirmwareRollout {
+    /**
+     * Where the rollout stands.
+     */
+    public enum Status {
+        /** No wave has run yet. */
+        NOT_STARTED,
+        /** run() is releasing waves. */
+        RUNNING,
+        /**
+         * The last wave failed too often, or run() was interrupted partway through a wave; run() resumes
+         * with the devices no wave has reached yet.
+         */
+        PAUSED,
+        /** Every wave has run. */
+        COMPLETED
+    }
+
+    private final RingDeviceCommunicatorService ringClient;
+    private final Executor executor;
+    private final RingDeviceFirmwareVersion latest;
+    private final RolloutOptions options;
+    private final TokenBucket tokenBucket;
+
+    private final List<String> deviceIds;
+    private final List<RolloutWave> waves = new CopyOnWriteArrayList<>();
+    private final Map<String, String> failedDevices = new ConcurrentHashMap<>();
+    private final Object statusLock = new Object();
+    private int nextWave;
+    private volatile int nextDevice;
+    private volatile Status status = Status.NOT_STARTED;
+
+    FirmwareRollout(RingDeviceCommunicatorService ringClient, Executor executor,
+                    Map<String, List<String>> nonCompliantDevicesByCustomer, RingDeviceFirmwareVersion latest,
+                    RolloutOptions options) {
+        this.ringClient = ringClient;
+        this.executor = executor;
+        this.latest = latest;
+        this.options = options;
+        this.tokenBucket = new TokenBucket(options.getUpdatesPerSecond(), options.getBurstSize());
+        this.deviceIds = interleave(nonCompliantDevicesByCustomer);
+    }
+
+    /**
+     * Runs waves until the rollout completes or pauses. Blocks while the waves run.
+     * @return the rollout's status afterwards, PAUSED or COMPLETED
+     * @throws IllegalStateException if another run() is already in progress
+     */
+    public Status run() {
+        Status previous;
+        synchronized (statusLock) {
+            if (status == Status.RUNNING) {
+                throw new IllegalStateException("Rollout is already running");
+            }
+            previous = status;
+            status = Status.RUNNING;
+        }
+        Status result = previous;
+        int firstDevice = nextDevice;
+        try {
+            result = runWaves();
+            return result;
+        } catch (RuntimeException e) {
+            // A wave that throws before sending anything leaves the rollout where it was. One that already
+            // sent updates has recorded them, so the rollout pauses after them instead.
+            if (nextDevice != firstDevice) {
+                result = Status.PAUSED;
+            }
+            throw e;
+        } finally {
+            status = result;
+        }
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the waves that have run so far, in order
+     */
+    public List<RolloutWave> getWaves() {
+        return Collections.unmodifiableList(new ArrayList<>(waves));
+    }
+
+    /**
+     * @return the number of devices the rollout covers
+     */
+    public int getDeviceCount() {
+        return deviceIds.size();
+    }
+
+    /**
+     * @return the number of devices not yet reached by any wave
+     */
+    public int getRemainingDeviceCount() {
+        return deviceIds.size() - nextDevice;
+    }
+
+    /**
+     * @return the devices whose update failed, mapped to the reason
+     */
+    public Map<String, String> getFailedDevices() {
+        return Collections.unmodifiableMap(failedDevices);
+    }
+
+    /**
+     * Only called by the one run() in progress, so the wave and device cursors need no lock.
+     */
+    private Status runWaves() {
+        List<Integer> percentages = options.getWavePercentages();
+        while (nextWave < percentages.size()) {
+            int percentage = percentages.get(nextWave);
+            int waveEnd = (int) Math.ceil(deviceIds.size() * percentage / 100.0);
+            // An interrupted wave throws before nextWave moves on, so the next run() finishes it.
+            RolloutWave wave = waveEnd > nextDevice ? runWave(percentage, waveEnd) : null;
+            nextWave++;
+            if (wave != null && wave.getFailureRate() > options.getMaxWaveFailureRate()
+                    && nextWave < percentages.size()) {
+                return Status.PAUSED;
+            }
+        }
+        return Status.COMPLETED;
+    }
+
+    /**
+     * Updates the devices from the cursor up to waveEnd, then records the wave and moves the cursor past
+     * them. If interrupted, stops releasing updates, waits for the ones already sent, records those as
+     * the wave and moves the cursor past them only, then throws.
+     */
+    private RolloutWave runWave(int percentage, int waveEnd) {
+        List<String> waveDeviceIds = deviceIds.subList(nextDevice, waveEnd);
+        List<CompletableFuture<Boolean>> updates = new ArrayList<>(waveDeviceIds.size());
+        InterruptedException interrupted = null;
+        try {
+            for (String deviceId : waveDeviceIds) {
+                tokenBucket.acquire();
+                updates.add(CompletableFuture
+                        .supplyAsync(() -> ringClient.updateDeviceFirmware(UpdateDeviceFirmwareRequest.builder()
+                                .withDeviceId(deviceId)
+                                .withVersion(latest)
+                                .build()), executor)
+                        .handle((response, error) -> {
+                            if (error != null) {
+                                failedDevices.put(deviceId, String.valueOf(error.getCause() != null
+                                        ? error.getCause() : error));
+                                return false;
+                            }
+                            if (!response.isWasSuccessful()) {
+                                failedDevices.put(deviceId, "Device reported an unsuccessful update");
+                            }
+                            return response.isWasSuccessful();
+                        }));
+            }
+        } catch (InterruptedException e) {
+            interrupted = e;
+        }
+
+        int failed = 0;
+        for (CompletableFuture<Boolean> update : updates) {
+            if (!update.join()) {
+                failed++;
+            }
+        }
+        RolloutWave wave = new RolloutWave(waves.size() + 1, percentage, updates.size(), failed);
+        if (!updates.isEmpty()) {
+            nextDevice += updates.size();
+            waves.add(wave);
+        }
+        if (interrupted != null) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while releasing a rollout wave", interrupted);
+        }
+        return wave;
+    }
+
+    private static List<String> interleave(Map<String, List<String>> devicesByCustomer) {
+        Deque<Iterator<String>> customers = new ArrayDeque<>();
+        int total = 0;
+        for (List<String> devices : devicesByCustomer.values()) {
+            customers.addLast(devices.iterator());
+            total += devices.size();
+        }
+        List<String> interleaved = new ArrayList<>(total);
+        while (!customers.isEmpty()) {
+            Iterator<String> customer = customers.pollFirst();
+            if (customer.hasNext()) {
+                interleaved.add(customer.next());
+                customers.addLast(customer);
+            }
+        }
+        return interleaved;
+    }
+}
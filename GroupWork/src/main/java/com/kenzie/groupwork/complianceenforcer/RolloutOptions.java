@@ -0,0 +1,118 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import java.util.List;
+
+/**
+ * Pacing and safety limits for a firmware rollout.
+ */
+public final class RolloutOptions {
+    public static final List<Integer> DEFAULT_WAVE_PERCENTAGES = List.of(1, 5, 25, 50, 100);
+    public static final double DEFAULT_UPDATES_PER_SECOND = 10.0;
+    public static final int DEFAULT_BURST_SIZE = 10;
+    public static final double DEFAULT_MAX_WAVE_FAILURE_RATE = 0.5;
+
+    private final List<Integer> wavePercentages;
+    private final double updatesPerSecond;
+    private final int burstSize;
+    private final double maxWaveFailureRate;
+
+    private RolloutOptions(Builder builder) {
+        this.wavePercentages = builder.wavePercentages;
+        this.updatesPerSecond = builder.updatesPerSecond;
+        this.burstSize = builder.burstSize;
+        this.maxWaveFailureRate = builder.maxWaveFailureRate;
+    }
+
+    /**
+     * Statically creates a builder instance for RolloutOptions.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return options with every setting at its default
+     */
+    public static RolloutOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * @return the cumulative share of all devices, in percent, updated by the end of each wave
+     */
+    public List<Integer> getWavePercentages() {
+        return wavePercentages;
+    }
+
+    /**
+     * @return the steady rate at which updates are started
+     */
+    public double getUpdatesPerSecond() {
+        return updatesPerSecond;
+    }
+
+    /**
+     * @return the number of updates that may start at once after a quiet period
+     */
+    public int getBurstSize() {
+        return burstSize;
+    }
+
+    /**
+     * @return the share of a wave's updates, between 0 and 1, that may fail before the rollout pauses
+     */
+    public double getMaxWaveFailureRate() {
+        return maxWaveFailureRate;
+    }
+
+    /**
+     * Fluent builder for instances of RolloutOptions.
+     */
+    public static class Builder {
+        private List<Integer> wavePercentages = DEFAULT_WAVE_PERCENTAGES;
+        private double updatesPerSecond = DEFAULT_UPDATES_PER_SECOND;
+        private int burstSize = DEFAULT_BURST_SIZE;
+        private double maxWaveFailureRate = DEFAULT_MAX_WAVE_FAILURE_RATE;
+
+        public Builder withWavePercentages(List<Integer> wavePercentages) {
+            this.wavePercentages = List.copyOf(wavePercentages);
+            return this;
+        }
+
+        public Builder withUpdatesPerSecond(double updatesPerSecond) {
+            this.updatesPerSecond = updatesPerSecond;
+            return this;
+        }
+
+        public Builder withBurstSize(int burstSize) {
+            this.burstSize = burstSize;
+            return this;
+        }
+
+        public Builder withMaxWaveFailureRate(double maxWaveFailureRate) {
+            this.maxWaveFailureRate = maxWaveFailureRate;
+            return this;
+        }
+
+        /**
+         * Builds an instance of RolloutOptions.
+         * @throws IllegalArgumentException if the wave percentages don't rise strictly to 100, or any
+         *                                  other setting is out of range
+         */
+        public RolloutOptions build() {
+            boolean wavesValid = !wavePercentages.isEmpty()
+                    && wavePercentages.get(wavePercentages.size() - 1) == 100;
+            for (int i = 0; wavesValid && i < wavePercentages.size(); i++) {
+                wavesValid = wavePercentages.get(i) > (i == 0 ? 0 : wavePercentages.get(i - 1));
+            }
+            if (!wavesValid || !(updatesPerSecond > 0) || burstSize < 1
+                    || !(maxWaveFailureRate >= 0 && maxWaveFailureRate <= 1)) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid rollout options: wavePercentages %s, updatesPerSecond [%s], burstSize [%d], "
+                                + "maxWaveFailureRate [%s]",
+                        wavePercentages, updatesPerSecond, burstSize, maxWaveFailureRate));
+            }
+            return new RolloutOptions(this);
+        }
+    }
+}
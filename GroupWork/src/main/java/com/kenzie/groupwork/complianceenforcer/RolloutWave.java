@@ -0,0 +1,59 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+/**
+ * The result of one wave of a firmware rollout.
+ */
+public final class RolloutWave {
+    private final int waveNumber;
+    private final int cumulativePercentage;
+    private final int deviceCount;
+    private final int failedCount;
+
+    RolloutWave(int waveNumber, int cumulativePercentage, int deviceCount, int failedCount) {
+        this.waveNumber = waveNumber;
+        this.cumulativePercentage = cumulativePercentage;
+        this.deviceCount = deviceCount;
+        this.failedCount = failedCount;
+    }
+
+    /**
+     * @return the wave's position in the rollout, starting at 1
+     */
+    public int getWaveNumber() {
+        return waveNumber;
+    }
+
+    /**
+     * @return the share of all devices, in percent, updated once this wave finished
+     */
+    public int getCumulativePercentage() {
+        return cumulativePercentage;
+    }
+
+    /**
+     * @return the number of devices this wave tried to update
+     */
+    public int getDeviceCount() {
+        return deviceCount;
+    }
+
+    /**
+     * @return the number of this wave's updates that were unsuccessful or threw
+     */
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    /**
+     * @return the share of this wave's updates that failed, or 0 for an empty wave
+     */
+    public double getFailureRate() {
+        return deviceCount == 0 ? 0 : (double) failedCount / deviceCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RolloutWave(waveNumber=%d, cumulativePercentage=%d, deviceCount=%d, failedCount=%d)",
+                waveNumber, cumulativePercentage, deviceCount, failedCount);
+    }
+}
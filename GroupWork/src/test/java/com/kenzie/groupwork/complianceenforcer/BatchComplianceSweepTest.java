@@ -0,0 +1,207 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerDeviceCache;
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BatchComplianceSweepTest {
+    private static final int NUM_CUSTOMERS = 6;
+    private static final int DEVICES_PER_CUSTOMER = 10;
+
+    private CustomerService customerService;
+    private RingDeviceCommunicatorService ringClient;
+    private ComplianceEnforcer enforcer;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Map<String, AtomicInteger> inFlightPerCustomer = new ConcurrentHashMap<>();
+    private final AtomicInteger maxInFlightPerCustomer = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        customerService = mock(CustomerService.class);
+        ringClient = mock(RingDeviceCommunicatorService.class);
+        enforcer = new ComplianceEnforcer(customerService, ringClient, EnforcementExecutor.fixed(16, 64));
+
+        when(customerService.getCustomerDevices(any(GetCustomerDevicesRequest.class))).thenAnswer(invocation -> {
+            String customerId = invocation.getArgument(0, GetCustomerDevicesRequest.class).getCustomerId();
+            if ("bad".equals(customerId)) {
+                throw new IllegalStateException("no such customer");
+            }
+            return GetCustomerDevicesResponse.builder()
+                    .withCustomerId(customerId)
+                    .withDeviceIds(deviceIdsFor(customerId))
+                    .build();
+        });
+        when(ringClient.getDeviceSystemInfo(any(GetDeviceSystemInfoRequest.class))).thenAnswer(invocation -> {
+            String deviceId = invocation.getArgument(0, GetDeviceSystemInfoRequest.class).getDeviceId();
+            String customerId = deviceId.substring(0, deviceId.indexOf('-'));
+            AtomicInteger customerInFlight = inFlightPerCustomer.computeIfAbsent(customerId,
+                    id -> new AtomicInteger());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            maxInFlightPerCustomer.accumulateAndGet(customerInFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } finally {
+                customerInFlight.decrementAndGet();
+                inFlight.decrementAndGet();
+            }
+            int deviceNumber = Integer.parseInt(deviceId.substring(deviceId.indexOf('-') + 1));
+            return GetDeviceSystemInfoResponse.builder()
+                    .withSystemInfo(RingDeviceSystemInfo.builder()
+                            .withDeviceId(deviceId)
+                            .withDeviceFirmwareVersion(deviceNumber % 2 == 0
+                                    ? KnownRingDeviceFirmwareVersions.PINKY
+                                    : KnownRingDeviceFirmwareVersions.INKY)
+                            .build())
+                    .build();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enforcer.shutdown();
+    }
+
+    @Test
+    public void findUpdatesForCustomers_manyCustomers_reportsEveryNonCompliantDevice() {
+        // WHEN
+        ComplianceReport report = enforcer.findUpdatesForCustomers(
+                IntStream.range(0, NUM_CUSTOMERS).mapToObj(i -> "c" + i),
+                KnownRingDeviceFirmwareVersions.PINKY);
+
+        // THEN
+        assertEquals(NUM_CUSTOMERS, report.getCustomersChecked());
+        assertEquals(NUM_CUSTOMERS * DEVICES_PER_CUSTOMER, report.getDevicesChecked());
+        assertEquals(NUM_CUSTOMERS, report.getNonCompliantDevices().size());
+        assertEquals(NUM_CUSTOMERS * DEVICES_PER_CUSTOMER / 2, report.getNonCompliantDeviceCount());
+        assertTrue(report.getNonCompliantDevices().get("c0").contains("c0-1"));
+        assertEquals(Long.valueOf(NUM_CUSTOMERS * DEVICES_PER_CUSTOMER / 2),
+                report.getDeviceCountsByVersion().get(KnownRingDeviceFirmwareVersions.INKY.getVersionNumber()));
+    }
+
+    @Test
+    public void findUpdatesForCustomers_withLimits_neverExceedsGlobalOrPerCustomerBudget() {
+        // GIVEN
+        BatchSweepOptions options = BatchSweepOptions.builder()
+                .withMaxInFlight(6)
+                .withMaxInFlightPerCustomer(2)
+                .withMaxCustomersInProgress(4)
+                .build();
+
+        // WHEN
+        ComplianceReport report = enforcer.findUpdatesForCustomers(
+                IntStream.range(0, NUM_CUSTOMERS).mapToObj(i -> "c" + i),
+                KnownRingDeviceFirmwareVersions.PINKY, options);
+
+        // THEN
+        assertEquals(NUM_CUSTOMERS * DEVICES_PER_CUSTOMER, report.getDevicesChecked());
+        assertTrue(maxInFlight.get() <= 6, "Global budget exceeded: " + maxInFlight.get());
+        assertTrue(maxInFlightPerCustomer.get() <= 2, "Per-customer cap exceeded: " + maxInFlightPerCustomer.get());
+    }
+
+    @Test
+    public void findUpdatesForCustomers_failedCustomerLookup_isReportedAndOthersContinue() {
+        // WHEN
+        ComplianceReport report = enforcer.findUpdatesForCustomers(
+                IntStream.range(0, 3).mapToObj(i -> i == 1 ? "bad" : "c" + i),
+                KnownRingDeviceFirmwareVersions.PINKY);
+
+        // THEN
+        assertEquals(3, report.getCustomersChecked());
+        assertTrue(report.getFailedCustomers().containsKey("bad"));
+        assertEquals(2 * DEVICES_PER_CUSTOMER, report.getDevicesChecked());
+    }
+
+    @Test
+    public void findUpdatesForCustomers_withCustomerDeviceCache_looksUpEachGroupInBulk() {
+        // GIVEN
+        when(customerService.getDevicesForCustomers(any())).thenAnswer(invocation -> {
+            Map<String, List<String>> devices = new LinkedHashMap<>();
+            for (String customerId : invocation.<Collection<String>>getArgument(0)) {
+                devices.put(customerId, deviceIdsFor(customerId));
+            }
+            return devices;
+        });
+        ComplianceEnforcer cachingEnforcer = new ComplianceEnforcer(customerService, ringClient,
+                EnforcementExecutor.fixed(16, 64), new CustomerDeviceCache(customerService));
+        BatchSweepOptions options = BatchSweepOptions.builder()
+                .withMaxCustomersInProgress(4)
+                .build();
+
+        // WHEN
+        ComplianceReport report;
+        try {
+            report = cachingEnforcer.findUpdatesForCustomers(
+                    IntStream.range(0, NUM_CUSTOMERS).mapToObj(i -> "c" + i),
+                    KnownRingDeviceFirmwareVersions.PINKY, options);
+        } finally {
+            cachingEnforcer.shutdown();
+        }
+
+        // THEN
+        assertEquals(NUM_CUSTOMERS * DEVICES_PER_CUSTOMER, report.getDevicesChecked());
+        verify(customerService, times(2)).getDevicesForCustomers(any());
+        verify(customerService, never()).getCustomerDevices(any(GetCustomerDevicesRequest.class));
+    }
+
+    @Test
+    public void run_withInlineExecutor_doesNotGrowStackPerCall() {
+        // GIVEN - every call runs and completes on the dispatching thread
+        int numDevices = 50_000;
+        List<String> deviceIds = IntStream.range(0, numDevices).mapToObj(i -> "c0-" + i).toList();
+        RingDeviceCommunicatorService inlineClient = mock(RingDeviceCommunicatorService.class);
+        when(inlineClient.getDeviceSystemInfo(any(GetDeviceSystemInfoRequest.class)))
+                .thenReturn(GetDeviceSystemInfoResponse.builder()
+                        .withSystemInfo(RingDeviceSystemInfo.builder()
+                                .withDeviceId("c0-0")
+                                .withDeviceFirmwareVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                                .build())
+                        .build());
+        BatchComplianceSweep sweep = new BatchComplianceSweep(customerId -> deviceIds, inlineClient, Runnable::run,
+                KnownRingDeviceFirmwareVersions.PINKY, BatchSweepOptions.defaults());
+
+        // WHEN
+        ComplianceReport report = sweep.run(Stream.of("c0"));
+
+        // THEN
+        assertEquals(numDevices, report.getDevicesChecked());
+    }
+
+    private static List<String> deviceIdsFor(String customerId) {
+        List<String> deviceIds = new ArrayList<>();
+        for (int i = 0; i < DEVICES_PER_CUSTOMER; i++) {
+            deviceIds.add(customerId + "-" + i);
+        }
+        return deviceIds;
+    }
+}
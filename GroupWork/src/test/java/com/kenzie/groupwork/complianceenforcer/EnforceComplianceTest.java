@@ -0,0 +1,139 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceFirmwareVersion;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EnforceComplianceTest {
+    private static final String CUSTOMER_ID = "CUST1234";
+
+    private CustomerService customerService;
+    private RingDeviceCommunicatorService ringClient;
+    private ComplianceEnforcer enforcer;
+
+    @BeforeEach
+    public void setup() {
+        customerService = mock(CustomerService.class);
+        ringClient = mock(RingDeviceCommunicatorService.class);
+        enforcer = new ComplianceEnforcer(customerService, ringClient, EnforcementExecutor.fixed(4, 16));
+
+        when(customerService.getCustomerDevices(any(GetCustomerDevicesRequest.class)))
+                .thenReturn(GetCustomerDevicesResponse.builder()
+                        .withCustomerId(CUSTOMER_ID)
+                        .withDeviceIds(List.of("current", "old", "broken", "unreachable"))
+                        .build());
+        givenDevice("current", KnownRingDeviceFirmwareVersions.PINKY);
+        givenDevice("old", KnownRingDeviceFirmwareVersions.INKY);
+        givenDevice("broken", KnownRingDeviceFirmwareVersions.BLINKY);
+        when(ringClient.getDeviceSystemInfo(deviceInfoRequest("unreachable")))
+                .thenThrow(new IllegalStateException("device offline"));
+        givenUpdateResult("old", true);
+        givenUpdateResult("broken", false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enforcer.shutdown();
+    }
+
+    @Test
+    public void enforceCompliance_mixedDevices_reportsOutcomePerDevice() throws Exception {
+        // WHEN
+        EnforcementHandle handle = enforcer.enforceCompliance(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, KnownRingDeviceFirmwareVersions.PINKY);
+        List<DeviceEnforcementOutcome> outcomes = handle.getCompletion().get(5, TimeUnit.SECONDS);
+
+        // THEN
+        Map<String, DeviceEnforcementOutcome> byDevice = outcomes.stream()
+                .collect(Collectors.toMap(DeviceEnforcementOutcome::getDeviceId, Function.identity()));
+        assertEquals(4, handle.getCompletedCount());
+        assertEquals(DeviceEnforcementOutcome.Status.COMPLIANT, byDevice.get("current").getStatus());
+        assertEquals(DeviceEnforcementOutcome.Status.UPDATED, byDevice.get("old").getStatus());
+        assertEquals(DeviceEnforcementOutcome.Status.UPDATE_FAILED, byDevice.get("broken").getStatus());
+        assertEquals(DeviceEnforcementOutcome.Status.ERROR, byDevice.get("unreachable").getStatus());
+        assertTrue(byDevice.get("unreachable").getError() instanceof IllegalStateException);
+        verify(ringClient, never()).updateDeviceFirmware(updateRequest("current"));
+    }
+
+    @Test
+    public void enforceCompliance_withListener_reportsEveryDeviceOnce() throws Exception {
+        // GIVEN
+        Map<String, AtomicInteger> reportCounts = new ConcurrentHashMap<>();
+        CountDownLatch allReported = new CountDownLatch(4);
+
+        // WHEN
+        EnforcementHandle handle = enforcer.enforceCompliance(CUSTOMER_ID,
+                        KnownRingDeviceFirmwareVersions.PINKY, KnownRingDeviceFirmwareVersions.PINKY)
+                .onEachOutcome(outcome -> {
+                    reportCounts.computeIfAbsent(outcome.getDeviceId(), deviceId -> new AtomicInteger())
+                            .incrementAndGet();
+                    allReported.countDown();
+                });
+        handle.getCompletion().get(5, TimeUnit.SECONDS);
+        // Listeners are separate stages from the completion, so they may still be running when it completes.
+        assertTrue(allReported.await(5, TimeUnit.SECONDS));
+
+        // THEN
+        assertEquals(handle.getDeviceCount(), reportCounts.size());
+        reportCounts.forEach((deviceId, count) -> assertEquals(1, count.get(), deviceId));
+    }
+
+    private void givenDevice(String deviceId, RingDeviceFirmwareVersion version) {
+        when(ringClient.getDeviceSystemInfo(deviceInfoRequest(deviceId)))
+                .thenReturn(GetDeviceSystemInfoResponse.builder()
+                        .withSystemInfo(RingDeviceSystemInfo.builder()
+                                .withDeviceId(deviceId)
+                                .withDeviceFirmwareVersion(version)
+                                .build())
+                        .build());
+    }
+
+    private void givenUpdateResult(String deviceId, boolean successful) {
+        when(ringClient.updateDeviceFirmware(updateRequest(deviceId)))
+                .thenReturn(UpdateDeviceFirmwareResponse.builder()
+                        .withDeviceId(deviceId)
+                        .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                        .withWasSuccessful(successful)
+                        .build());
+    }
+
+    private static GetDeviceSystemInfoRequest deviceInfoRequest(String deviceId) {
+        return GetDeviceSystemInfoRequest.builder().withDeviceId(deviceId).build();
+    }
+
+    private static UpdateDeviceFirmwareRequest updateRequest(String deviceId) {
+        return UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(deviceId)
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EnforcementExecutorTest {
+
+    @Test
+    public void submit_moreTasksThanThreads_reportsActiveAndQueuedTasks() throws Exception {
+        // GIVEN
+        EnforcementExecutor executor = EnforcementExecutor.fixed(2, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // WHEN
+        for (int i = 0; i < 5; i++) {
+            final int value = i;
+            futures.add(executor.submit(() -> {
+                started.countDown();
+                release.await();
+                return value;
+            }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Expected two tasks to start running");
+
+        // THEN
+        assertEquals(2, executor.getActiveTaskCount());
+        assertEquals(3, executor.getQueueDepth());
+
+        release.countDown();
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getActiveTaskCount());
+        assertEquals(0, executor.getQueueDepth());
+    }
+
+    @Test
+    public void submit_afterShutdown_throwsRejectedExecutionException() {
+        // GIVEN
+        EnforcementExecutor executor = EnforcementExecutor.virtualThreads(4);
+
+        // WHEN
+        executor.shutdown();
+
+        // THEN
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> "too late"));
+        assertEquals(0, executor.getQueueDepth());
+    }
+
+    @Test
+    public void fixed_withNonPositiveLimits_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> EnforcementExecutor.fixed(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> EnforcementExecutor.fixed(10, 0));
+    }
+}
@@ -0,0 +1,173 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.CircuitBreakerOpenException;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.customer.GetCustomerDevicesResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.GetDeviceSystemInfoResponse;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.RingDeviceSystemInfo;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FindUpdatesWithDeadlineTest {
+    private static final String CUSTOMER_ID = "CUST1234";
+
+    private CustomerService customerService;
+    private RingDeviceCommunicatorService ringClient;
+    private ComplianceEnforcer enforcer;
+    private final CountDownLatch hung = new CountDownLatch(1);
+    private final AtomicBoolean hungCallInterrupted = new AtomicBoolean();
+
+    @BeforeEach
+    public void setup() {
+        customerService = mock(CustomerService.class);
+        ringClient = mock(RingDeviceCommunicatorService.class);
+        enforcer = new ComplianceEnforcer(customerService, ringClient, EnforcementExecutor.fixed(8, 64));
+
+        givenDevices("current", "old", "hung");
+        when(ringClient.getDeviceSystemInfo(any(GetDeviceSystemInfoRequest.class))).thenAnswer(invocation -> {
+            String deviceId = invocation.getArgument(0, GetDeviceSystemInfoRequest.class).getDeviceId();
+            switch (deviceId.startsWith("hung") ? "hung" : deviceId) {
+                case "hung":
+                    try {
+                        hung.await();
+                    } catch (InterruptedException e) {
+                        hungCallInterrupted.set(true);
+                        throw e;
+                    }
+                    break;
+                case "offline":
+                    throw new IllegalStateException("device offline");
+                case "breaker":
+                    throw new CircuitBreakerOpenException("open");
+                default:
+                    break;
+            }
+            return GetDeviceSystemInfoResponse.builder()
+                    .withSystemInfo(RingDeviceSystemInfo.builder()
+                            .withDeviceId(deviceId)
+                            .withDeviceFirmwareVersion("old".equals(deviceId)
+                                    ? KnownRingDeviceFirmwareVersions.INKY
+                                    : KnownRingDeviceFirmwareVersions.PINKY)
+                            .build())
+                    .build();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hung.countDown();
+        enforcer.shutdown();
+    }
+
+    @Test
+    public void findUpdatesForCustomer_hungDevice_returnsPartialResultsByDeadline() throws Exception {
+        // WHEN
+        long start = System.nanoTime();
+        CustomerComplianceResult result = enforcer.findUpdatesForCustomer(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, Duration.ofMillis(200));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // THEN
+        assertTrue(elapsedMillis < 1000, "Deadline not enforced: " + elapsedMillis + "ms");
+        assertEquals(List.of("old"), result.getNonCompliantDeviceIds());
+        assertEquals(1, result.getCompliantDeviceCount());
+        assertEquals(1, result.getUnknownDevices().size());
+        assertTrue(result.getUnknownDevices().containsKey("hung"));
+        assertFalse(result.isComplete());
+        Thread.sleep(50);
+        assertTrue(hungCallInterrupted.get(), "Outstanding call was not cancelled");
+    }
+
+    @Test
+    public void findUpdatesForCustomer_failingDevice_isUnknownAndOthersStillReported() {
+        // GIVEN
+        givenDevices("current", "old", "offline");
+
+        // WHEN
+        CustomerComplianceResult result = enforcer.findUpdatesForCustomer(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, Duration.ofSeconds(5));
+
+        // THEN
+        assertEquals(List.of("old"), result.getNonCompliantDeviceIds());
+        assertTrue(result.getUnknownDevices().get("offline").contains("device offline"));
+    }
+
+    @Test
+    public void findUpdatesForCustomer_fatalError_cancelsSiblingsImmediately() {
+        // GIVEN
+        givenDevices("hung", "breaker");
+
+        // WHEN
+        long start = System.nanoTime();
+        CustomerComplianceResult result = enforcer.findUpdatesForCustomer(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, Duration.ofSeconds(10));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // THEN
+        assertTrue(elapsedMillis < 5000, "Siblings were not cancelled: " + elapsedMillis + "ms");
+        assertTrue(result.getUnknownDevices().get("hung").startsWith("Cancelled after fatal error"));
+        assertTrue(result.getUnknownDevices().containsKey("breaker"));
+    }
+
+    @Test
+    public void findUpdatesForCustomer_lookupFails_reportsLookupFailure() {
+        // GIVEN
+        when(customerService.getCustomerDevices(any(GetCustomerDevicesRequest.class)))
+                .thenThrow(new IllegalStateException("no such customer"));
+
+        // WHEN
+        CustomerComplianceResult result = enforcer.findUpdatesForCustomer(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, Duration.ofSeconds(1));
+
+        // THEN
+        assertNotNull(result.getLookupFailure());
+        assertFalse(result.isComplete());
+    }
+
+    @Test
+    public void findUpdatesForCustomer_saturatedExecutor_rejectsInsteadOfRunningOnCaller() {
+        // GIVEN
+        givenDevices("hung-1", "hung-2", "hung-3", "hung-4");
+        enforcer.shutdown();
+        enforcer = new ComplianceEnforcer(customerService, ringClient, EnforcementExecutor.fixed(1, 1));
+
+        // WHEN
+        long start = System.nanoTime();
+        CustomerComplianceResult result = enforcer.findUpdatesForCustomer(CUSTOMER_ID,
+                KnownRingDeviceFirmwareVersions.PINKY, Duration.ofMillis(200));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // THEN
+        assertTrue(elapsedMillis < 1000, "Deadline not enforced: " + elapsedMillis + "ms");
+        assertEquals(4, result.getUnknownDevices().size());
+        assertTrue(result.getUnknownDevices().get("hung-3").contains("saturated"));
+        assertTrue(result.getUnknownDevices().get("hung-4").contains("saturated"));
+    }
+
+    private void givenDevices(String... deviceIds) {
+        when(customerService.getCustomerDevices(any(GetCustomerDevicesRequest.class)))
+                .thenReturn(GetCustomerDevicesResponse.builder()
+                        .withCustomerId(CUSTOMER_ID)
+                        .withDeviceIds(List.of(deviceIds))
+                        .build());
+    }
+}
@@ -0,0 +1,242 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FirmwareRolloutTest {
+    private RingDeviceCommunicatorService ringClient;
+    private ComplianceEnforcer enforcer;
+    private final Set<String> failingDevices = ConcurrentHashMap.newKeySet();
+    private final List<String> updateOrder = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        ringClient = mock(RingDeviceCommunicatorService.class);
+        enforcer = new ComplianceEnforcer(mock(CustomerService.class), ringClient, EnforcementExecutor.fixed(8, 64));
+        when(ringClient.updateDeviceFirmware(any(UpdateDeviceFirmwareRequest.class))).thenAnswer(invocation -> {
+            String deviceId = invocation.getArgument(0, UpdateDeviceFirmwareRequest.class).getDeviceId();
+            synchronized (updateOrder) {
+                updateOrder.add(deviceId);
+            }
+            return UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId(deviceId)
+                    .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                    .withWasSuccessful(!failingDevices.contains(deviceId))
+                    .build();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enforcer.shutdown();
+    }
+
+    @Test
+    public void run_healthyDevices_completesInCumulativeWaves() {
+        // GIVEN
+        FirmwareRollout rollout = enforcer.planRollout(devices(4, 25), KnownRingDeviceFirmwareVersions.PINKY,
+                RolloutOptions.builder()
+                        .withWavePercentages(List.of(10, 50, 100))
+                        .withUpdatesPerSecond(10_000)
+                        .build());
+
+        // WHEN
+        FirmwareRollout.Status status = rollout.run();
+
+        // THEN
+        assertEquals(FirmwareRollout.Status.COMPLETED, status);
+        assertEquals(3, rollout.getWaves().size());
+        assertEquals(10, rollout.getWaves().get(0).getDeviceCount());
+        assertEquals(40, rollout.getWaves().get(1).getDeviceCount());
+        assertEquals(50, rollout.getWaves().get(2).getDeviceCount());
+        assertEquals(0, rollout.getRemainingDeviceCount());
+        assertEquals(100, updateOrder.size());
+    }
+
+    @Test
+    public void run_firstWave_spansAllCustomers() {
+        // GIVEN
+        FirmwareRollout rollout = enforcer.planRollout(devices(4, 25), KnownRingDeviceFirmwareVersions.PINKY,
+                RolloutOptions.builder()
+                        .withWavePercentages(List.of(4, 100))
+                        .withUpdatesPerSecond(10_000)
+                        .build());
+
+        // WHEN
+        rollout.run();
+
+        // THEN
+        Set<String> firstWaveCustomers = ConcurrentHashMap.newKeySet();
+        updateOrder.subList(0, 4).forEach(deviceId -> firstWaveCustomers.add(deviceId.split("-")[0]));
+        assertEquals(4, firstWaveCustomers.size());
+    }
+
+    @Test
+    public void run_waveFailureRateAboveThreshold_pausesAndResumes() {
+        // GIVEN
+        Map<String, List<String>> devices = devices(1, 10);
+        failingDevices.add("c0-0");
+        FirmwareRollout rollout = enforcer.planRollout(devices, KnownRingDeviceFirmwareVersions.PINKY,
+                RolloutOptions.builder()
+                        .withWavePercentages(List.of(10, 100))
+                        .withUpdatesPerSecond(10_000)
+                        .withMaxWaveFailureRate(0.5)
+                        .build());
+
+        // WHEN
+        FirmwareRollout.Status first = rollout.run();
+
+        // THEN
+        assertEquals(FirmwareRollout.Status.PAUSED, first);
+        assertEquals(1, updateOrder.size());
+        assertEquals(9, rollout.getRemainingDeviceCount());
+        assertTrue(rollout.getFailedDevices().containsKey("c0-0"));
+
+        // WHEN
+        FirmwareRollout.Status second = rollout.run();
+
+        // THEN
+        assertEquals(FirmwareRollout.Status.COMPLETED, second);
+        assertEquals(10, updateOrder.size());
+    }
+
+    @Test
+    public void run_rateLimited_spreadsUpdatesOverTime() {
+        // GIVEN
+        FirmwareRollout rollout = enforcer.planRollout(devices(1, 12), KnownRingDeviceFirmwareVersions.PINKY,
+                RolloutOptions.builder()
+                        .withWavePercentages(List.of(100))
+                        .withUpdatesPerSecond(100)
+                        .withBurstSize(2)
+                        .build());
+
+        // WHEN
+        long start = System.nanoTime();
+        rollout.run();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // THEN
+        // Two updates start immediately; the other ten are paced 10ms apart.
+        assertTrue(elapsedMillis >= 90, "Updates were not paced: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    public void run_whileWavesRun_reportsRunningWithoutBlockingReaders() throws Exception {
+        // GIVEN
+        CountDownLatch updateStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpdates = new CountDownLatch(1);
+        when(ringClient.updateDeviceFirmware(any(UpdateDeviceFirmwareRequest.class))).thenAnswer(invocation -> {
+            updateStarted.countDown();
+            releaseUpdates.await(5, TimeUnit.SECONDS);
+            return UpdateDeviceFirmwareResponse.builder()
+                    .withDeviceId(invocation.getArgument(0, UpdateDeviceFirmwareRequest.class).getDeviceId())
+                    .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                    .withWasSuccessful(true)
+                    .build();
+        });
+        FirmwareRollout rollout = enforcer.planRollout(devices(2, 5), KnownRingDeviceFirmwareVersions.PINKY,
+                RolloutOptions.builder()
+                        .withWavePercentages(List.of(50, 100))
+                        .withUpdatesPerSecond(10_000)
+                        .build());
+        CompletableFuture<FirmwareRollout.Status> running = CompletableFuture.supplyAsync(rollout::run);
+        assertTrue(updateStarted.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        FirmwareRollout.Status status = rollout.getStatus();
+        int remaining = rollout.getRemainingDeviceCount();
+
+        // THEN
+        assertEquals(FirmwareRollout.Status.RUNNING, status);
+        assertEquals(10, remaining);
+        assertThrows(IllegalStateException.class, rollout::run);
+        releaseUpdates.countDown();
+        assertEquals(FirmwareRollout.Status.COMPLETED, running.get(5, TimeUnit.SECONDS));
+        assertEquals(FirmwareRollout.Status.COMPLETED, rollout.getStatus());
+    }
+
+    @Test
+    public void run_interruptedMidWave_recordsSentDevicesAndResumesAfterThem() throws Exception {
+        // GIVEN
+        FirmwareRollout rollout = enforcer.planRollout(devices(1, 6), KnownRingDeviceFirmwareVersions.PINKY,
+                RolloutOptions.builder()
+                        .withWavePercentages(List.of(100))
+                        .withUpdatesPerSecond(20)
+                        .withBurstSize(2)
+                        .build());
+        CompletableFuture<Throwable> runFailure = new CompletableFuture<>();
+        Thread runner = new Thread(() -> {
+            try {
+                rollout.run();
+                runFailure.complete(null);
+            } catch (RuntimeException e) {
+                runFailure.complete(e);
+            }
+        });
+
+        // WHEN
+        runner.start();
+        // The burst of two goes out at once; the third update waits 50ms for its token.
+        Thread.sleep(20);
+        runner.interrupt();
+        Throwable failure = runFailure.get(5, TimeUnit.SECONDS);
+        int sentBeforeInterrupt = rollout.getDeviceCount() - rollout.getRemainingDeviceCount();
+        FirmwareRollout.Status interruptedStatus = rollout.getStatus();
+        FirmwareRollout.Status resumedStatus = rollout.run();
+
+        // THEN
+        assertTrue(failure instanceof RuntimeException, "run() wasn't interrupted: " + failure);
+        assertTrue(sentBeforeInterrupt > 0 && sentBeforeInterrupt < 6, "Sent: " + sentBeforeInterrupt);
+        assertEquals(FirmwareRollout.Status.PAUSED, interruptedStatus);
+        assertEquals(FirmwareRollout.Status.COMPLETED, resumedStatus);
+        assertEquals(2, rollout.getWaves().size());
+        assertEquals(sentBeforeInterrupt, rollout.getWaves().get(0).getDeviceCount());
+        assertEquals(6 - sentBeforeInterrupt, rollout.getWaves().get(1).getDeviceCount());
+        assertEquals(6, updateOrder.size());
+        assertEquals(6, Set.copyOf(updateOrder).size());
+    }
+
+    @Test
+    public void build_wavesNotEndingAtOneHundred_throws() {
+        assertThrows(IllegalArgumentException.class, () -> RolloutOptions.builder()
+                .withWavePercentages(List.of(10, 50))
+                .build());
+    }
+
+    private static Map<String, List<String>> devices(int customers, int devicesPerCustomer) {
+        Map<String, List<String>> devices = new LinkedHashMap<>();
+        for (int c = 0; c < customers; c++) {
+            List<String> deviceIds = new ArrayList<>();
+            for (int d = 0; d < devicesPerCustomer; d++) {
+                deviceIds.add("c" + c + "-" + d);
+            }
+            devices.put("c" + c, deviceIds);
+        }
+        return devices;
+    }
+}
@@ -0,0 +1,93 @@
+package com.kenzie.groupwork.complianceenforcer;
+
+import com.kenzie.executorservices.ringupdatescheck.customer.CustomerService;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.FirmwareUpdateOutcome;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RetryPolicy;
+import com.kenzie.executorservices.ringupdatescheck.devicecommunication.RingDeviceCommunicatorService;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareRequest;
+import com.kenzie.executorservices.ringupdatescheck.model.devicecommunication.UpdateDeviceFirmwareResponse;
+import com.kenzie.executorservices.ringupdatescheck.util.KnownRingDeviceFirmwareVersions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UpdateDevicesWithRetriesTest {
+    private static final RetryPolicy FAST_RETRIES = RetryPolicy.builder()
+            .withMaxAttempts(3)
+            .withInitialBackoff(Duration.ofMillis(1))
+            .withMaxBackoff(Duration.ofMillis(5))
+            .build();
+
+    private RingDeviceCommunicatorService ringClient;
+    private ComplianceEnforcer enforcer;
+
+    @BeforeEach
+    public void setup() {
+        ringClient = mock(RingDeviceCommunicatorService.class);
+        enforcer = new ComplianceEnforcer(mock(CustomerService.class), ringClient, EnforcementExecutor.fixed(4, 16));
+
+        givenUpdateResult("old", true);
+        givenUpdateResult("broken", false);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enforcer.shutdown();
+    }
+
+    @Test
+    public void updateDevicesWithRetries_persistentFailure_reportsAttemptsAndReason() {
+        // WHEN
+        List<FirmwareUpdateOutcome> outcomes = enforcer.updateDevicesWithRetries(List.of("old", "broken"),
+                KnownRingDeviceFirmwareVersions.PINKY, FAST_RETRIES);
+
+        // THEN
+        assertEquals("old", outcomes.get(0).getDeviceId());
+        assertTrue(outcomes.get(0).isSuccessful());
+        assertEquals(0, outcomes.get(0).getRetryCount());
+        assertEquals("broken", outcomes.get(1).getDeviceId());
+        assertEquals(2, outcomes.get(1).getRetryCount());
+        assertNotNull(outcomes.get(1).getFailureReason());
+        verify(ringClient, times(3)).updateDeviceFirmware(updateRequest("broken"));
+    }
+
+    @Test
+    public void updateDevicesWithRetries_keepsTheOrderDevicesWereGiven() {
+        // WHEN
+        List<FirmwareUpdateOutcome> outcomes = enforcer.updateDevicesWithRetries(List.of("broken", "old"),
+                KnownRingDeviceFirmwareVersions.PINKY, FAST_RETRIES);
+
+        // THEN
+        assertEquals("broken", outcomes.get(0).getDeviceId());
+        assertEquals("old", outcomes.get(1).getDeviceId());
+        verify(ringClient, times(1)).updateDeviceFirmware(updateRequest("old"));
+    }
+
+    private void givenUpdateResult(String deviceId, boolean successful) {
+        when(ringClient.updateDeviceFirmware(updateRequest(deviceId)))
+                .thenReturn(UpdateDeviceFirmwareResponse.builder()
+                        .withDeviceId(deviceId)
+                        .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                        .withWasSuccessful(successful)
+                        .build());
+    }
+
+    private static UpdateDeviceFirmwareRequest updateRequest(String deviceId) {
+        return UpdateDeviceFirmwareRequest.builder()
+                .withDeviceId(deviceId)
+                .withVersion(KnownRingDeviceFirmwareVersions.PINKY)
+                .build();
+    }
+}
@@ -1,11 +1,29 @@
 package com.kenzie.threadsafety.counter;
 
+import com.kenzie.ata.concurrent.ExecutorProvider;
+import com.kenzie.ata.concurrent.ExecutorProviders;
+
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class RaceCounter {
     private final AtomicInteger counter = new AtomicInteger(0);
+    private final ExecutorProvider executorProvider;
+
+    /**
+     * Creates a counter that counts on the configured threading mode.
+     */
+    public RaceCounter() {
+        this(ExecutorProviders.fromConfiguration());
+    }
+
+    /**
+     * Creates a counter that counts on executors from the given provider.
+     * @param executorProvider Supplies the executor for each run of the counter
+     */
+    public RaceCounter(ExecutorProvider executorProvider) {
+        this.executorProvider = executorProvider;
+    }
 
     /**
      * Initializes the two threads and starts the counter.
@@ -13,7 +31,7 @@ public class RaceCounter {
      * @param countTo The number to count up to. Also the number of threads to create.
      */
     public void startCounter(int countTo) {
-        ExecutorService executorService = Executors.newCachedThreadPool();
+        ExecutorService executorService = executorProvider.newExecutor();
 
         for (int i = 0; i < countTo; i++) {
             executorService.submit(() -> {
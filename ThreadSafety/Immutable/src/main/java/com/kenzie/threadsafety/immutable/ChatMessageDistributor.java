@@ -1,13 +1,31 @@
 package com.kenzie.threadsafety.immutable;
 
+import com.kenzie.ata.concurrent.ExecutorProvider;
+import com.kenzie.ata.concurrent.ExecutorProviders;
+
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * Class representing final state of the coding activity.
  */
 public class ChatMessageDistributor {
+    private final ExecutorProvider executorProvider;
+
+    /**
+     * Creates a distributor that sends messages on the configured threading mode.
+     */
+    public ChatMessageDistributor() {
+        this(ExecutorProviders.fromConfiguration());
+    }
+
+    /**
+     * Creates a distributor that sends messages on executors from the given provider.
+     * @param executorProvider Supplies the executor for each message sent
+     */
+    public ChatMessageDistributor(ExecutorProvider executorProvider) {
+        this.executorProvider = executorProvider;
+    }
 
     /**
      *
@@ -15,7 +33,7 @@ public class ChatMessageDistributor {
      * @param messageContent Message content to be sent.
      */
     public void sendChatMessage(List<ChatUser> chatGroup, ChatMessageContent messageContent) {
-        ExecutorService executor = Executors.newCachedThreadPool();
+        ExecutorService executor = executorProvider.newExecutor();
         for (ChatUser recipient : chatGroup) {
             Runnable messageTask = new ChatMessage(recipient, messageContent);
             executor.execute(messageTask);
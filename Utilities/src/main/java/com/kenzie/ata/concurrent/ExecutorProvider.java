@@ -0,0 +1,20 @@
+package com.kenzie.ata.concurrent;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Supplies the ExecutorService a component runs its concurrent tasks on.
+ *
+ * Components that used to call Executors.newCachedThreadPool() directly take one of these instead,
+ * so the threading model can be swapped without changing the component. See ExecutorProviders for
+ * the platform-thread and virtual-thread implementations, and for picking one from configuration.
+ */
+@FunctionalInterface
+public interface ExecutorProvider {
+
+    /**
+     * Creates a new executor. The caller owns it and is responsible for shutting it down.
+     * @return a new ExecutorService
+     */
+    ExecutorService newExecutor();
+}
@@ -0,0 +1,142 @@
+package com.kenzie.ata.concurrent;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Factory methods for ExecutorProvider.
+ *
+ * Two threading modes are available. PLATFORM gives a cached pool that grows one platform thread per
+ * blocking task, which is what every component used before. VIRTUAL gives an executor that starts a
+ * new virtual thread per task, so thousands of tasks blocked on I/O cost only a little heap each.
+ * Virtual threads need Java 21 or later; on older runtimes VIRTUAL falls back to PLATFORM.
+ *
+ * The mode is read from the {@value #MODE_PROPERTY} system property, or failing that the
+ * {@value #MODE_ENVIRONMENT_VARIABLE} environment variable, and defaults to PLATFORM. A value that
+ * doesn't name a mode is logged as a warning and also falls back to PLATFORM, so a typo in the
+ * environment can't stop every component from being constructed. Virtual threads are always daemon threads.
+ */
+public final class ExecutorProviders {
+    public static final String MODE_PROPERTY = "ata.executor.mode";
+    public static final String MODE_ENVIRONMENT_VARIABLE = "ATA_EXECUTOR_MODE";
+
+    /**
+     * The threading model an ExecutorProvider uses.
+     */
+    public enum Mode {
+        /** A cached pool of platform threads. */
+        PLATFORM,
+        /** One virtual thread per task. */
+        VIRTUAL
+    }
+
+    private static final Logger LOG = LogManager.getLogger(ExecutorProviders.class);
+    private static final Method VIRTUAL_THREAD_FACTORY = findVirtualThreadFactory();
+    private static final Set<String> REPORTED_INVALID_MODES = ConcurrentHashMap.newKeySet();
+
+    private ExecutorProviders() {
+    }
+
+    /**
+     * @return a provider of cached platform-thread pools, the same as Executors.newCachedThreadPool()
+     */
+    public static ExecutorProvider platformThreads() {
+        return Executors::newCachedThreadPool;
+    }
+
+    /**
+     * @param threadFactory The factory the pools create their threads with
+     * @return a provider of cached platform-thread pools using the given thread factory
+     */
+    public static ExecutorProvider platformThreads(ThreadFactory threadFactory) {
+        return () -> Executors.newCachedThreadPool(threadFactory);
+    }
+
+    /**
+     * @return a provider of virtual-thread-per-task executors, or of cached platform-thread pools if
+     *         this runtime has no virtual threads
+     */
+    public static ExecutorProvider virtualThreads() {
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            return platformThreads();
+        }
+        return () -> {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create a virtual thread executor", e);
+            }
+        };
+    }
+
+    /**
+     * @return true if this runtime supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * @param mode The threading model to use
+     * @param platformProvider The provider to use for PLATFORM
+     * @return the provider for the given mode
+     */
+    public static ExecutorProvider forMode(Mode mode, ExecutorProvider platformProvider) {
+        return mode == Mode.VIRTUAL ? virtualThreads() : platformProvider;
+    }
+
+    /**
+     * @return the provider for the configured mode, using plain cached pools for PLATFORM
+     */
+    public static ExecutorProvider fromConfiguration() {
+        return fromConfiguration(platformThreads());
+    }
+
+    /**
+     * @param platformProvider The provider to use if the configured mode is PLATFORM
+     * @return the provider for the configured mode
+     */
+    public static ExecutorProvider fromConfiguration(ExecutorProvider platformProvider) {
+        return forMode(configuredMode(), platformProvider);
+    }
+
+    /**
+     * @return the mode named by the system property or environment variable, or PLATFORM if neither is
+     *         set or the value doesn't name a mode
+     */
+    public static Mode configuredMode() {
+        String value = System.getProperty(MODE_PROPERTY);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getenv(MODE_ENVIRONMENT_VARIABLE);
+        }
+        if (value == null || value.trim().isEmpty()) {
+            return Mode.PLATFORM;
+        }
+        try {
+            return Mode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            if (REPORTED_INVALID_MODES.add(value)) {
+                LOG.warn("Unknown executor mode [{}]; expected one of {}. Using {}", value,
+                        Arrays.toString(Mode.values()), Mode.PLATFORM);
+            }
+            return Mode.PLATFORM;
+        }
+    }
+
+    private static Method findVirtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}